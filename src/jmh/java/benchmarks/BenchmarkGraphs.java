@@ -0,0 +1,36 @@
+package benchmarks;
+
+import algorithms.Graph;
+import generators.GraphGenerator;
+import generators.GraphSink;
+import generators.WeightDistribution;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
+/**
+ * Connected random benchmark inputs, identical across forks and runs for the same parameters.
+ */
+final class BenchmarkGraphs {
+
+    static final long SEED = 20251029L;
+    static final int MAX_WEIGHT = 10_000;
+
+    private BenchmarkGraphs() {
+    }
+
+    /**
+     * Random connected graph with about vertices * averageDegree / 2 edges.
+     */
+    static Graph random(int vertices, int averageDegree, WeightDistribution weights) {
+        GraphGenerator generator = new GraphGenerator(SEED, weights, MAX_WEIGHT, true);
+        GraphSink sink = new GraphSink();
+        long extraEdges = Math.max(0, (long) vertices * averageDegree / 2 - (vertices - 1));
+        try {
+            generator.randomWithEdges(1, vertices, extraEdges, sink);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return sink.getGraph();
+    }
+}
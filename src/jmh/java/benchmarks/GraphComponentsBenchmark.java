@@ -0,0 +1,96 @@
+package benchmarks;
+
+import algorithms.Edge;
+import algorithms.Graph;
+import algorithms.UnionFind;
+import generators.WeightDistribution;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Building blocks of the MST solvers measured in isolation: edge sorting, union-find,
+ * the connectivity DFS and graph construction through addEdge.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Benchmark)
+public class GraphComponentsBenchmark {
+
+    @Param({"1000", "10000", "100000"})
+    int vertices;
+
+    @Param({"4", "32"})
+    int averageDegree;
+
+    @Param({"UNIFORM", "FEW_DISTINCT"})
+    WeightDistribution weights;
+
+    private Graph graph;
+    private int[] from;
+    private int[] to;
+    private int[] weight;
+    private int[] sortedFrom;
+    private int[] sortedTo;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        graph = BenchmarkGraphs.random(vertices, averageDegree, weights);
+
+        List<Edge> edges = graph.getEdges();
+        from = new int[edges.size()];
+        to = new int[edges.size()];
+        weight = new int[edges.size()];
+        for (int i = 0; i < edges.size(); i++) {
+            from[i] = edges.get(i).getFrom();
+            to[i] = edges.get(i).getTo();
+            weight[i] = edges.get(i).getWeight();
+        }
+
+        // Union-find input in Kruskal order, so the benchmark sees the same access pattern
+        Collections.sort(edges);
+        sortedFrom = new int[edges.size()];
+        sortedTo = new int[edges.size()];
+        for (int i = 0; i < edges.size(); i++) {
+            sortedFrom[i] = edges.get(i).getFrom();
+            sortedTo[i] = edges.get(i).getTo();
+        }
+    }
+
+    @Benchmark
+    public List<Edge> edgeSorting() {
+        List<Edge> edges = graph.getEdges();
+        Collections.sort(edges);
+        return edges;
+    }
+
+    @Benchmark
+    public int unionFind() {
+        UnionFind uf = new UnionFind(vertices);
+        for (int i = 0; i < sortedFrom.length; i++) {
+            if (uf.find(sortedFrom[i]) != uf.find(sortedTo[i])) {
+                uf.union(sortedFrom[i], sortedTo[i]);
+            }
+        }
+        return uf.getComponents();
+    }
+
+    @Benchmark
+    public boolean isConnected() {
+        return graph.isConnected();
+    }
+
+    @Benchmark
+    public Graph addEdge() {
+        Graph built = new Graph(vertices);
+        for (int i = 0; i < from.length; i++) {
+            built.addEdge(from[i], to[i], weight[i]);
+        }
+        return built;
+    }
+}
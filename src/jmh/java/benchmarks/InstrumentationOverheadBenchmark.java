@@ -0,0 +1,165 @@
+package benchmarks;
+
+import algorithms.Edge;
+import algorithms.Graph;
+import algorithms.KruskalsAlgorithm;
+import algorithms.PrimsAlgorithm;
+import algorithms.UnionFind;
+import generators.WeightDistribution;
+import metrics.MSTInstrumentation;
+import metrics.PerformanceTracker;
+import metrics.PhaseTimer;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Checks that the instrumented solvers cost nothing when given {@link MSTInstrumentation#NONE}:
+ * the {@code *Reference} benchmarks run hook-free copies of the solvers and the {@code *Untracked}
+ * ones should score the same. With profile=mixed each fork first runs the solvers with a
+ * {@link PerformanceTracker}, a {@link PhaseTimer} and a third implementation, as
+ * {@code MSTBenchmarkRunner} does, so the hook sites are megamorphic when compiled; the untracked
+ * scores should not change. The {@code *Tracked} benchmarks show the price of counting.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Benchmark)
+public class InstrumentationOverheadBenchmark {
+
+    @Param({"10000", "100000"})
+    int vertices;
+
+    @Param({"8"})
+    int averageDegree;
+
+    @Param({"none", "mixed"})
+    String profile;
+
+    private Graph graph;
+    private final PrimsAlgorithm prims = new PrimsAlgorithm();
+    private final KruskalsAlgorithm kruskals = new KruskalsAlgorithm();
+    private final PerformanceTracker tracker = new PerformanceTracker();
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        graph = BenchmarkGraphs.random(vertices, averageDegree, WeightDistribution.UNIFORM);
+        if (profile.equals("mixed")) {
+            polluteProfiles();
+        }
+    }
+
+    // Enough solves per implementation for the types to land in the profiles before C2 compiles
+    private void polluteProfiles() {
+        Graph small = BenchmarkGraphs.random(1000, averageDegree, WeightDistribution.UNIFORM);
+        MSTInstrumentation[] implementations = {tracker, new PhaseTimer(), new MSTInstrumentation() {
+            @Override
+            public void onEdgeScanned() {
+            }
+        }};
+        for (int i = 0; i < 200; i++) {
+            for (MSTInstrumentation instrumentation : implementations) {
+                prims.findMST(small, instrumentation);
+                kruskals.findMST(small, instrumentation);
+            }
+        }
+    }
+
+    @Benchmark
+    public List<Edge> primsReference() {
+        return referencePrim(graph);
+    }
+
+    @Benchmark
+    public List<Edge> primsUntracked() {
+        return prims.findMST(graph);
+    }
+
+    @Benchmark
+    public List<Edge> primsTracked() {
+        tracker.reset();
+        return prims.findMSTWithTracking(graph, tracker);
+    }
+
+    @Benchmark
+    public List<Edge> kruskalsReference() {
+        return referenceKruskal(graph);
+    }
+
+    @Benchmark
+    public List<Edge> kruskalsUntracked() {
+        return kruskals.findMST(graph);
+    }
+
+    @Benchmark
+    public List<Edge> kruskalsTracked() {
+        tracker.reset();
+        return kruskals.findMSTWithTracking(graph, tracker);
+    }
+
+    // Solver bodies as they were before instrumentation was threaded through them
+
+    private static List<Edge> referencePrim(Graph graph) {
+        if (!graph.isConnected()) {
+            throw new IllegalArgumentException("Graph is not connected. MST does not exist.");
+        }
+
+        List<Edge> mst = new ArrayList<>();
+        boolean[] inMST = new boolean[graph.getVertices()];
+        PriorityQueue<Edge> minHeap = new PriorityQueue<>();
+
+        inMST[0] = true;
+        for (Edge edge : graph.getAdjacentEdges(0)) {
+            minHeap.offer(edge);
+        }
+
+        while (!minHeap.isEmpty() && mst.size() < graph.getVertices() - 1) {
+            Edge currentEdge = minHeap.poll();
+            int u = currentEdge.getFrom();
+            int v = currentEdge.getTo();
+            if (inMST[u] && inMST[v]) {
+                continue;
+            }
+
+            mst.add(currentEdge);
+            int newVertex = inMST[u] ? v : u;
+            inMST[newVertex] = true;
+
+            for (Edge edge : graph.getAdjacentEdges(newVertex)) {
+                if (!inMST[edge.getOtherVertex(newVertex)]) {
+                    minHeap.offer(edge);
+                }
+            }
+        }
+
+        return mst;
+    }
+
+    private static List<Edge> referenceKruskal(Graph graph) {
+        if (!graph.isConnected()) {
+            throw new IllegalArgumentException("Graph is not connected. MST does not exist.");
+        }
+
+        List<Edge> mst = new ArrayList<>();
+        List<Edge> allEdges = new ArrayList<>(graph.getEdges());
+        Collections.sort(allEdges);
+        UnionFind uf = new UnionFind(graph.getVertices());
+
+        for (Edge edge : allEdges) {
+            int root1 = uf.find(edge.getFrom());
+            int root2 = uf.find(edge.getTo());
+            if (root1 != root2) {
+                mst.add(edge);
+                uf.union(edge.getFrom(), edge.getTo());
+                if (mst.size() == graph.getVertices() - 1) {
+                    break;
+                }
+            }
+        }
+
+        return mst;
+    }
+}
@@ -0,0 +1,51 @@
+package benchmarks;
+
+import algorithms.Edge;
+import algorithms.Graph;
+import algorithms.KruskalsAlgorithm;
+import algorithms.PrimsAlgorithm;
+import generators.WeightDistribution;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * End-to-end findMST cost per algorithm, graph size, density and weight distribution.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Benchmark)
+public class MSTAlgorithmBenchmark {
+
+    @Param({"1000", "10000", "100000"})
+    int vertices;
+
+    @Param({"4", "32"})
+    int averageDegree;
+
+    @Param({"UNIFORM", "FEW_DISTINCT"})
+    WeightDistribution weights;
+
+    private Graph graph;
+    private final PrimsAlgorithm prims = new PrimsAlgorithm();
+    private final KruskalsAlgorithm kruskals = new KruskalsAlgorithm();
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        graph = BenchmarkGraphs.random(vertices, averageDegree, weights);
+    }
+
+    @Benchmark
+    public List<Edge> primsFindMST() {
+        return prims.findMST(graph);
+    }
+
+    @Benchmark
+    public List<Edge> kruskalsFindMST() {
+        return kruskals.findMST(graph);
+    }
+}
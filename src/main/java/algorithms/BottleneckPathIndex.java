@@ -0,0 +1,268 @@
+package algorithms;
+
+import java.util.*;
+import java.util.stream.IntStream;
+
+/**
+ * Answers "heaviest edge on the tree path between u and v" (minimax / bottleneck) queries
+ * over a spanning tree or forest using binary lifting.
+ * Build time is O(V log V), every query is O(log V). The index is immutable once built,
+ * so it can be shared between threads.
+ */
+public class BottleneckPathIndex {
+
+    public static final int NO_EDGE = -1;
+
+    private static final int PARALLEL_BATCH_CHUNK = 1 << 14;
+
+    private final int vertices;
+    private final int levels;
+    private final Edge[] treeEdges;
+    private final int[] weights;
+    private final int[] depth;
+    private final int[] component;
+
+    // up[k][v] is the 2^k-th ancestor of v (roots point to themselves),
+    // maxEdge[k][v] is the index of the heaviest tree edge on that jump
+    private final int[][] up;
+    private final int[][] maxEdge;
+
+    public BottleneckPathIndex(int vertices, List<Edge> tree) {
+        if (tree.size() > Math.max(0, vertices - 1)) {
+            throw new IllegalArgumentException("Tree has " + tree.size() + " edges but only "
+                    + vertices + " vertices");
+        }
+
+        this.vertices = vertices;
+        this.treeEdges = tree.toArray(new Edge[0]);
+        this.weights = new int[treeEdges.length];
+        for (int i = 0; i < treeEdges.length; i++) {
+            weights[i] = treeEdges[i].getWeight();
+        }
+
+        int log = 1;
+        while ((1 << log) < vertices) {
+            log++;
+        }
+        this.levels = log;
+        this.depth = new int[vertices];
+        this.component = new int[vertices];
+        this.up = new int[levels][vertices];
+        this.maxEdge = new int[levels][vertices];
+
+        buildParents();
+        buildJumpTables();
+    }
+
+    public BottleneckPathIndex(Graph graph, List<Edge> tree) {
+        this(graph.getVertices(), tree);
+    }
+
+    private void buildParents() {
+        // Adjacency of the tree as flat arrays (head / next linked lists)
+        int[] head = new int[vertices];
+        int[] next = new int[2 * treeEdges.length];
+        int[] target = new int[2 * treeEdges.length];
+        Arrays.fill(head, -1);
+
+        for (int i = 0; i < treeEdges.length; i++) {
+            int from = treeEdges[i].getFrom();
+            int to = treeEdges[i].getTo();
+            target[2 * i] = to;
+            next[2 * i] = head[from];
+            head[from] = 2 * i;
+            target[2 * i + 1] = from;
+            next[2 * i + 1] = head[to];
+            head[to] = 2 * i + 1;
+        }
+
+        Arrays.fill(component, -1);
+        int[] parentEdge = new int[vertices];
+        int[] queue = new int[vertices];
+        int components = 0;
+
+        for (int root = 0; root < vertices; root++) {
+            if (component[root] != -1) continue;
+
+            int qHead = 0;
+            int qTail = 0;
+            queue[qTail++] = root;
+            component[root] = components;
+            parentEdge[root] = NO_EDGE;
+            up[0][root] = root;
+            maxEdge[0][root] = NO_EDGE;
+
+            while (qHead < qTail) {
+                int vertex = queue[qHead++];
+
+                for (int slot = head[vertex]; slot != -1; slot = next[slot]) {
+                    int edgeIndex = slot >> 1;
+                    if (edgeIndex == parentEdge[vertex]) continue;
+
+                    int child = target[slot];
+                    if (component[child] != -1) {
+                        throw new IllegalArgumentException("Edge list contains a cycle: " + treeEdges[edgeIndex]);
+                    }
+
+                    component[child] = components;
+                    depth[child] = depth[vertex] + 1;
+                    parentEdge[child] = edgeIndex;
+                    up[0][child] = vertex;
+                    maxEdge[0][child] = edgeIndex;
+                    queue[qTail++] = child;
+                }
+            }
+            components++;
+        }
+    }
+
+    private void buildJumpTables() {
+        for (int k = 1; k < levels; k++) {
+            int[] prevUp = up[k - 1];
+            int[] prevMax = maxEdge[k - 1];
+            int[] curUp = up[k];
+            int[] curMax = maxEdge[k];
+
+            for (int v = 0; v < vertices; v++) {
+                int mid = prevUp[v];
+                curUp[v] = prevUp[mid];
+                curMax[v] = heavier(prevMax[v], prevMax[mid]);
+            }
+        }
+    }
+
+    private int heavier(int edgeA, int edgeB) {
+        if (edgeA == NO_EDGE) return edgeB;
+        if (edgeB == NO_EDGE) return edgeA;
+        return weights[edgeB] > weights[edgeA] ? edgeB : edgeA;
+    }
+
+    /**
+     * Index (into the tree edge list) of the heaviest edge on the path between u and v,
+     * or {@link #NO_EDGE} when u == v.
+     */
+    public int maxEdgeIndex(int u, int v) {
+        if (component[u] != component[v]) {
+            throw new IllegalArgumentException("Vertices " + u + " and " + v + " are not connected in the tree");
+        }
+        if (u == v) {
+            return NO_EDGE;
+        }
+
+        if (depth[u] < depth[v]) {
+            int tmp = u;
+            u = v;
+            v = tmp;
+        }
+
+        int best = NO_EDGE;
+
+        // Lift the deeper vertex to the same depth
+        int diff = depth[u] - depth[v];
+        for (int k = 0; diff > 0; k++, diff >>= 1) {
+            if ((diff & 1) != 0) {
+                best = heavier(best, maxEdge[k][u]);
+                u = up[k][u];
+            }
+        }
+
+        if (u == v) {
+            return best;
+        }
+
+        // Lift both until they sit just below their lowest common ancestor
+        for (int k = levels - 1; k >= 0; k--) {
+            if (up[k][u] != up[k][v]) {
+                best = heavier(best, heavier(maxEdge[k][u], maxEdge[k][v]));
+                u = up[k][u];
+                v = up[k][v];
+            }
+        }
+
+        return heavier(best, heavier(maxEdge[0][u], maxEdge[0][v]));
+    }
+
+    /**
+     * Heaviest edge on the path between u and v, or null when u == v.
+     */
+    public Edge maxEdge(int u, int v) {
+        int index = maxEdgeIndex(u, v);
+        return index == NO_EDGE ? null : treeEdges[index];
+    }
+
+    /**
+     * Weight of the heaviest edge on the path between u and v,
+     * or {@link Integer#MIN_VALUE} when u == v (the path is empty).
+     */
+    public int maxWeight(int u, int v) {
+        int index = maxEdgeIndex(u, v);
+        return index == NO_EDGE ? Integer.MIN_VALUE : weights[index];
+    }
+
+    /**
+     * Batch variant of {@link #maxWeight(int, int)}: out[i] = maxWeight(us[i], vs[i]).
+     */
+    public void maxWeights(int[] us, int[] vs, int[] out) {
+        checkBatch(us, vs, out);
+        for (int i = 0; i < us.length; i++) {
+            out[i] = maxWeight(us[i], vs[i]);
+        }
+    }
+
+    public int[] maxWeights(int[] us, int[] vs) {
+        int[] out = new int[us.length];
+        maxWeights(us, vs, out);
+        return out;
+    }
+
+    /**
+     * Same as {@link #maxWeights(int[], int[], int[])} but splits the batch into chunks
+     * answered on the common fork-join pool. Worth it for batches of millions of queries.
+     */
+    public void maxWeightsParallel(int[] us, int[] vs, int[] out) {
+        checkBatch(us, vs, out);
+        int chunks = (us.length + PARALLEL_BATCH_CHUNK - 1) / PARALLEL_BATCH_CHUNK;
+
+        IntStream.range(0, chunks).parallel().forEach(chunk -> {
+            int start = chunk * PARALLEL_BATCH_CHUNK;
+            int end = Math.min(us.length, start + PARALLEL_BATCH_CHUNK);
+            for (int i = start; i < end; i++) {
+                out[i] = maxWeight(us[i], vs[i]);
+            }
+        });
+    }
+
+    private static void checkBatch(int[] us, int[] vs, int[] out) {
+        if (us.length != vs.length || out.length < us.length) {
+            throw new IllegalArgumentException("Query arrays must have matching lengths");
+        }
+    }
+
+    int parent(int vertex) {
+        return up[0][vertex];
+    }
+
+    int parentEdgeIndex(int vertex) {
+        return maxEdge[0][vertex];
+    }
+
+    int depth(int vertex) {
+        return depth[vertex];
+    }
+
+    public boolean isConnected(int u, int v) {
+        return component[u] == component[v];
+    }
+
+    public Edge getTreeEdge(int index) {
+        return treeEdges[index];
+    }
+
+    public int getTreeEdgesCount() {
+        return treeEdges.length;
+    }
+
+    public int getVertices() {
+        return vertices;
+    }
+}
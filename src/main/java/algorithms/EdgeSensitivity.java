@@ -0,0 +1,120 @@
+package algorithms;
+
+import java.util.*;
+
+/**
+ * Weight tolerance range of every graph edge: the interval its weight can move within
+ * while the current MST stays a minimum spanning tree (ties at the bounds included).
+ * <ul>
+ *   <li>Tree edge: may fall without limit, may rise up to the lightest non-tree edge covering it.</li>
+ *   <li>Non-tree edge: may rise without limit, may fall down to the heaviest edge on its tree path.</li>
+ * </ul>
+ * One MST computation plus O(E log V) work, results are primitive arrays indexed like
+ * {@link Graph#getEdges()}.
+ */
+public class EdgeSensitivity {
+
+    public static final long UNBOUNDED_BELOW = Long.MIN_VALUE;
+    public static final long UNBOUNDED_ABOVE = Long.MAX_VALUE;
+
+    private final KruskalsAlgorithm kruskals = new KruskalsAlgorithm();
+
+    public Result analyze(Graph graph) {
+        return analyze(graph, kruskals.findMST(graph));
+    }
+
+    public Result analyze(Graph graph, List<Edge> mst) {
+        MSTCoverage coverage = new MSTCoverage(graph, mst);
+        Edge[] graphEdges = coverage.getGraphEdges();
+        BottleneckPathIndex index = coverage.getIndex();
+
+        int edgeCount = graphEdges.length;
+        boolean[] inMST = new boolean[edgeCount];
+        long[] lowerBound = new long[edgeCount];
+        long[] upperBound = new long[edgeCount];
+
+        for (int i = 0; i < edgeCount; i++) {
+            Edge edge = graphEdges[i];
+            int treeIndex = coverage.treeIndexOf(i);
+
+            if (treeIndex != MSTCoverage.NONE) {
+                inMST[i] = true;
+                lowerBound[i] = UNBOUNDED_BELOW;
+
+                int cover = coverage.coverOf(treeIndex);
+                upperBound[i] = cover == MSTCoverage.NONE ? UNBOUNDED_ABOVE : graphEdges[cover].getWeight();
+            } else {
+                upperBound[i] = UNBOUNDED_ABOVE;
+
+                int pathMax = index.isConnected(edge.getFrom(), edge.getTo())
+                        ? index.maxEdgeIndex(edge.getFrom(), edge.getTo())
+                        : BottleneckPathIndex.NO_EDGE;
+                lowerBound[i] = pathMax == BottleneckPathIndex.NO_EDGE
+                        ? UNBOUNDED_BELOW
+                        : index.getTreeEdge(pathMax).getWeight();
+            }
+        }
+
+        return new Result(graphEdges, inMST, lowerBound, upperBound);
+    }
+
+    public static class Result {
+        private final Edge[] edges;
+        private final boolean[] inMST;
+        private final long[] lowerBound;
+        private final long[] upperBound;
+
+        private Result(Edge[] edges, boolean[] inMST, long[] lowerBound, long[] upperBound) {
+            this.edges = edges;
+            this.inMST = inMST;
+            this.lowerBound = lowerBound;
+            this.upperBound = upperBound;
+        }
+
+        public int getEdgesCount() {
+            return edges.length;
+        }
+
+        public Edge getEdge(int edgeIndex) {
+            return edges[edgeIndex];
+        }
+
+        public boolean isInMST(int edgeIndex) {
+            return inMST[edgeIndex];
+        }
+
+        /** Lowest weight edge i may take, or {@link #UNBOUNDED_BELOW}. */
+        public long getLowerBound(int edgeIndex) {
+            return lowerBound[edgeIndex];
+        }
+
+        /** Highest weight edge i may take, or {@link #UNBOUNDED_ABOVE}. */
+        public long getUpperBound(int edgeIndex) {
+            return upperBound[edgeIndex];
+        }
+
+        /** How far edge i may rise, or {@link #UNBOUNDED_ABOVE}. */
+        public long getMaxIncrease(int edgeIndex) {
+            long upper = upperBound[edgeIndex];
+            return upper == UNBOUNDED_ABOVE ? UNBOUNDED_ABOVE : upper - edges[edgeIndex].getWeight();
+        }
+
+        /** How far edge i may fall, or {@link #UNBOUNDED_ABOVE}. */
+        public long getMaxDecrease(int edgeIndex) {
+            long lower = lowerBound[edgeIndex];
+            return lower == UNBOUNDED_BELOW ? UNBOUNDED_ABOVE : edges[edgeIndex].getWeight() - lower;
+        }
+
+        public boolean[] getInMST() {
+            return inMST.clone();
+        }
+
+        public long[] getLowerBounds() {
+            return lowerBound.clone();
+        }
+
+        public long[] getUpperBounds() {
+            return upperBound.clone();
+        }
+    }
+}
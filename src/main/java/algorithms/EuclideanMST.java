@@ -0,0 +1,310 @@
+package algorithms;
+
+import java.util.*;
+
+/**
+ * Euclidean MST of 2-D or 3-D point sets without materializing the complete graph.
+ * Uses Borůvka rounds over a k-d tree: in every round each point searches its nearest
+ * neighbour outside its own component, subtrees that lie entirely inside the component are
+ * skipped, and the component's best candidate so far bounds the search. Every component
+ * then takes its shortest outgoing edge, so there are at most log2(n) rounds.
+ * Memory is O(n); ties are broken on point positions so the chosen edges never form a cycle.
+ */
+public class EuclideanMST {
+
+    private static final int LEAF_SIZE = 16;
+
+    /**
+     * @param coordinates flat array of n * dimension coordinates (x0, y0[, z0], x1, y1[, z1], ...)
+     * @param dimension   2 or 3
+     */
+    public SpanningTree findMST(double[] coordinates, int dimension) {
+        if (dimension != 2 && dimension != 3) {
+            throw new IllegalArgumentException("Only 2-D and 3-D points are supported, got dimension " + dimension);
+        }
+        if (coordinates.length % dimension != 0) {
+            throw new IllegalArgumentException("Coordinate array length is not a multiple of " + dimension);
+        }
+
+        int pointCount = coordinates.length / dimension;
+        SpanningTree tree = new SpanningTree(pointCount);
+        if (pointCount < 2) {
+            return tree;
+        }
+
+        KdTreeBoruvka solver = new KdTreeBoruvka(coordinates, dimension);
+        solver.run(tree);
+        return tree;
+    }
+
+    public SpanningTree findMST(double[][] points) {
+        if (points.length == 0) {
+            return new SpanningTree(0);
+        }
+
+        int dim = points[0].length;
+        double[] flat = new double[points.length * dim];
+        for (int i = 0; i < points.length; i++) {
+            System.arraycopy(points[i], 0, flat, i * dim, dim);
+        }
+        return findMST(flat, dim);
+    }
+
+    private static class KdTreeBoruvka {
+        private final int dimension;
+        private final int pointCount;
+        private double[] points;    // coordinates in k-d tree order
+        private int[] originalId;   // tree position -> index in the caller's array
+
+        private int nodeCount;
+        private int[] nodeStart;
+        private int[] nodeEnd;
+        private int[] nodeLeft;
+        private int[] nodeRight;
+        private double[] nodeMin;
+        private double[] nodeMax;
+        private int[] nodeComponent; // component shared by all points of the node, or -1
+
+        private int[] component;
+        private double[] bestDistance;
+        private int[] bestFrom;
+        private int[] bestTo;
+
+        KdTreeBoruvka(double[] coordinates, int dimension) {
+            this.dimension = dimension;
+            this.pointCount = coordinates.length / dimension;
+            buildTree(coordinates);
+        }
+
+        // ========== K-D TREE ==========
+
+        private void buildTree(double[] coordinates) {
+            int[] perm = new int[pointCount];
+            for (int i = 0; i < pointCount; i++) {
+                perm[i] = i;
+            }
+
+            int capacity = countNodes(pointCount);
+            nodeStart = new int[capacity];
+            nodeEnd = new int[capacity];
+            nodeLeft = new int[capacity];
+            nodeRight = new int[capacity];
+            nodeMin = new double[capacity * dimension];
+            nodeMax = new double[capacity * dimension];
+            nodeComponent = new int[capacity];
+            nodeCount = 0;
+
+            build(coordinates, perm, 0, pointCount);
+
+            // Copy coordinates into tree order so leaf scans read contiguous memory
+            points = new double[pointCount * dimension];
+            originalId = perm;
+            for (int p = 0; p < pointCount; p++) {
+                System.arraycopy(coordinates, perm[p] * dimension, points, p * dimension, dimension);
+            }
+        }
+
+        private static int countNodes(int size) {
+            if (size <= LEAF_SIZE) return 1;
+            int half = size / 2;
+            return 1 + countNodes(half) + countNodes(size - half);
+        }
+
+        private int build(double[] coordinates, int[] perm, int start, int end) {
+            int node = nodeCount++;
+            nodeStart[node] = start;
+            nodeEnd[node] = end;
+            nodeLeft[node] = -1;
+            nodeRight[node] = -1;
+
+            int base = node * dimension;
+            for (int d = 0; d < dimension; d++) {
+                nodeMin[base + d] = Double.POSITIVE_INFINITY;
+                nodeMax[base + d] = Double.NEGATIVE_INFINITY;
+            }
+            for (int i = start; i < end; i++) {
+                int offset = perm[i] * dimension;
+                for (int d = 0; d < dimension; d++) {
+                    double value = coordinates[offset + d];
+                    if (value < nodeMin[base + d]) nodeMin[base + d] = value;
+                    if (value > nodeMax[base + d]) nodeMax[base + d] = value;
+                }
+            }
+
+            if (end - start <= LEAF_SIZE) {
+                return node;
+            }
+
+            // Split the widest dimension at the median
+            int splitDim = 0;
+            double widest = -1;
+            for (int d = 0; d < dimension; d++) {
+                double extent = nodeMax[base + d] - nodeMin[base + d];
+                if (extent > widest) {
+                    widest = extent;
+                    splitDim = d;
+                }
+            }
+
+            int mid = start + (end - start) / 2;
+            select(coordinates, perm, start, end - 1, mid, splitDim);
+
+            nodeLeft[node] = build(coordinates, perm, start, mid);
+            nodeRight[node] = build(coordinates, perm, mid, end);
+            return node;
+        }
+
+        // Quickselect: places the k-th smallest point along dimension d at perm[k]
+        private void select(double[] coordinates, int[] perm, int left, int right, int k, int d) {
+            while (right > left) {
+                double pivot = coordinates[perm[(left + right) >>> 1] * dimension + d];
+                int i = left;
+                int j = right;
+
+                while (i <= j) {
+                    while (coordinates[perm[i] * dimension + d] < pivot) i++;
+                    while (coordinates[perm[j] * dimension + d] > pivot) j--;
+                    if (i <= j) {
+                        int tmp = perm[i];
+                        perm[i] = perm[j];
+                        perm[j] = tmp;
+                        i++;
+                        j--;
+                    }
+                }
+
+                if (k <= j) {
+                    right = j;
+                } else if (k >= i) {
+                    left = i;
+                } else {
+                    return;
+                }
+            }
+        }
+
+        // ========== BORŮVKA ROUNDS ==========
+
+        void run(SpanningTree tree) {
+            UnionFind uf = new UnionFind(pointCount);
+            component = new int[pointCount];
+            bestDistance = new double[pointCount];
+            bestFrom = new int[pointCount];
+            bestTo = new int[pointCount];
+
+            while (uf.getComponents() > 1) {
+                for (int p = 0; p < pointCount; p++) {
+                    component[p] = uf.find(p);
+                    bestDistance[p] = Double.POSITIVE_INFINITY;
+                    bestFrom[p] = -1;
+                    bestTo[p] = -1;
+                }
+                updateNodeComponents();
+
+                for (int p = 0; p < pointCount; p++) {
+                    search(0, p, component[p]);
+                }
+
+                for (int c = 0; c < pointCount; c++) {
+                    if (component[c] != c || bestFrom[c] == -1) continue;
+
+                    int p = bestFrom[c];
+                    int q = bestTo[c];
+                    if (uf.union(p, q)) {
+                        tree.add(originalId[p], originalId[q], Math.sqrt(bestDistance[c]));
+                    }
+                }
+            }
+        }
+
+        private void updateNodeComponents() {
+            // Children are always created after their parent, so a reverse scan is bottom-up
+            for (int node = nodeCount - 1; node >= 0; node--) {
+                if (nodeLeft[node] == -1) {
+                    int shared = component[nodeStart[node]];
+                    for (int p = nodeStart[node] + 1; p < nodeEnd[node]; p++) {
+                        if (component[p] != shared) {
+                            shared = -1;
+                            break;
+                        }
+                    }
+                    nodeComponent[node] = shared;
+                } else {
+                    int left = nodeComponent[nodeLeft[node]];
+                    nodeComponent[node] = left == nodeComponent[nodeRight[node]] ? left : -1;
+                }
+            }
+        }
+
+        private void search(int node, int p, int c) {
+            if (nodeComponent[node] == c) return;
+            if (boxDistance(node, p) > bestDistance[c]) return;
+
+            if (nodeLeft[node] == -1) {
+                for (int q = nodeStart[node]; q < nodeEnd[node]; q++) {
+                    if (component[q] == c) continue;
+
+                    double distance = pointDistance(p, q);
+                    if (isBetter(distance, p, q, c)) {
+                        bestDistance[c] = distance;
+                        bestFrom[c] = p;
+                        bestTo[c] = q;
+                    }
+                }
+                return;
+            }
+
+            int left = nodeLeft[node];
+            int right = nodeRight[node];
+            if (boxDistance(left, p) <= boxDistance(right, p)) {
+                search(left, p, c);
+                search(right, p, c);
+            } else {
+                search(right, p, c);
+                search(left, p, c);
+            }
+        }
+
+        // Total order on candidate edges: distance, then the lower and higher endpoint position
+        private boolean isBetter(double distance, int p, int q, int c) {
+            if (distance != bestDistance[c]) {
+                return distance < bestDistance[c];
+            }
+            if (bestFrom[c] == -1) return true;
+
+            int lo = Math.min(p, q);
+            int hi = Math.max(p, q);
+            int bestLo = Math.min(bestFrom[c], bestTo[c]);
+            int bestHi = Math.max(bestFrom[c], bestTo[c]);
+            return lo < bestLo || (lo == bestLo && hi < bestHi);
+        }
+
+        private double pointDistance(int p, int q) {
+            int a = p * dimension;
+            int b = q * dimension;
+            double sum = 0;
+            for (int d = 0; d < dimension; d++) {
+                double diff = points[a + d] - points[b + d];
+                sum += diff * diff;
+            }
+            return sum;
+        }
+
+        private double boxDistance(int node, int p) {
+            int base = node * dimension;
+            int offset = p * dimension;
+            double sum = 0;
+            for (int d = 0; d < dimension; d++) {
+                double value = points[offset + d];
+                double diff = 0;
+                if (value < nodeMin[base + d]) {
+                    diff = nodeMin[base + d] - value;
+                } else if (value > nodeMax[base + d]) {
+                    diff = value - nodeMax[base + d];
+                }
+                sum += diff * diff;
+            }
+            return sum;
+        }
+    }
+}
@@ -55,13 +55,22 @@ public class Graph {
         return true;
     }
 
-    private void dfs(int vertex, boolean[] visited) {
-        visited[vertex] = true;
-
-        for (Edge edge : adjacencyList.get(vertex)) {
-            int nextVertex = (edge.getFrom() == vertex) ? edge.getTo() : edge.getFrom();
-            if (!visited[nextVertex]) {
-                dfs(nextVertex, visited);
+    // Iterative so large graphs don't overflow the call stack
+    private void dfs(int start, boolean[] visited) {
+        int[] stack = new int[vertices];
+        int top = 0;
+        stack[top++] = start;
+        visited[start] = true;
+
+        while (top > 0) {
+            int vertex = stack[--top];
+
+            for (Edge edge : adjacencyList.get(vertex)) {
+                int nextVertex = (edge.getFrom() == vertex) ? edge.getTo() : edge.getFrom();
+                if (!visited[nextVertex]) {
+                    visited[nextVertex] = true;
+                    stack[top++] = nextVertex;
+                }
             }
         }
     }
@@ -135,44 +144,6 @@ public class Graph {
         return false;
     }
 
-    private static class UnionFind {
-        private int[] parent;
-        private int[] rank;
-
-        public UnionFind(int n) {
-            parent = new int[n];
-            rank = new int[n];
-            for (int i = 0; i < n; i++) {
-                parent[i] = i;
-                rank[i] = 0;
-            }
-        }
-
-        public int find(int x) {
-            if (parent[x] != x) {
-                parent[x] = find(parent[x]); // Path compression
-            }
-            return parent[x];
-        }
-
-        public void union(int x, int y) {
-            int rootX = find(x);
-            int rootY = find(y);
-
-            if (rootX == rootY) return;
-
-            // Union by rank
-            if (rank[rootX] < rank[rootY]) {
-                parent[rootX] = rootY;
-            } else if (rank[rootX] > rank[rootY]) {
-                parent[rootY] = rootX;
-            } else {
-                parent[rootY] = rootX;
-                rank[rootX]++;
-            }
-        }
-    }
-
     @Override
     public String toString() {
         StringBuilder sb = new StringBuilder();
@@ -0,0 +1,51 @@
+package algorithms;
+
+/**
+ * Complete graph defined only by its vertex count and a weight function, so no edges are stored.
+ * A weight of {@link Double#POSITIVE_INFINITY} means the two vertices are not adjacent.
+ */
+public interface ImplicitGraph {
+
+    int getVertices();
+
+    double weight(int u, int v);
+
+    @FunctionalInterface
+    interface WeightFunction {
+        double weight(int u, int v);
+    }
+
+    static ImplicitGraph of(int vertices, WeightFunction weightFunction) {
+        return new ImplicitGraph() {
+            @Override
+            public int getVertices() {
+                return vertices;
+            }
+
+            @Override
+            public double weight(int u, int v) {
+                return weightFunction.weight(u, v);
+            }
+        };
+    }
+
+    /**
+     * Euclidean distances between feature vectors stored as a flat array of n * dimension values.
+     */
+    static ImplicitGraph euclidean(double[] vectors, int dimension) {
+        if (dimension <= 0 || vectors.length % dimension != 0) {
+            throw new IllegalArgumentException("Vector array length is not a multiple of " + dimension);
+        }
+
+        return of(vectors.length / dimension, (u, v) -> {
+            int a = u * dimension;
+            int b = v * dimension;
+            double sum = 0;
+            for (int d = 0; d < dimension; d++) {
+                double diff = vectors[a + d] - vectors[b + d];
+                sum += diff * diff;
+            }
+            return Math.sqrt(sum);
+        });
+    }
+}
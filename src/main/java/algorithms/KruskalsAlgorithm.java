@@ -1,92 +1,75 @@
 package algorithms;
 
+import metrics.MSTInstrumentation;
+import metrics.Phase;
 import metrics.PerformanceTracker;
 import java.util.*;
 
 public class KruskalsAlgorithm {
 
     public List<Edge> findMST(Graph graph) {
-        if (graph == null || graph.getVertices() == 0) {
-            return new ArrayList<>();
-        }
-
-        if (!graph.isConnected()) {
-            throw new IllegalArgumentException("Graph is not connected. MST does not exist.");
-        }
-
-        List<Edge> mst = new ArrayList<>();
-        List<Edge> allEdges = new ArrayList<>(graph.getEdges());
-
-        // Sort edges by weight
-        Collections.sort(allEdges);
-
-        // Use Union-Find to detect cycles
-        UnionFind uf = new UnionFind(graph.getVertices());
-
-        // Process edges in order of increasing weight
-        for (Edge edge : allEdges) {
-            int root1 = uf.find(edge.getFrom());
-            int root2 = uf.find(edge.getTo());
-
-            // If adding this edge doesn't create a cycle
-            if (root1 != root2) {
-                mst.add(edge);
-                uf.union(edge.getFrom(), edge.getTo());
-
-                // Stop when we have V-1 edges
-                if (mst.size() == graph.getVertices() - 1) {
-                    break;
-                }
-            }
-        }
-
-        return mst;
+        return findMST(graph, MSTInstrumentation.NONE);
     }
 
     public List<Edge> findMSTWithTracking(Graph graph, PerformanceTracker tracker) {
+        return findMST(graph, tracker);
+    }
+
+    /**
+     * The single Kruskal implementation; production callers pass {@link MSTInstrumentation#NONE}.
+     */
+    public List<Edge> findMST(Graph graph, MSTInstrumentation instrumentation) {
         if (graph == null || graph.getVertices() == 0) {
             return new ArrayList<>();
         }
 
+        instrumentation.onPhaseStart(Phase.CONNECTIVITY);
         if (!graph.isConnected()) {
             throw new IllegalArgumentException("Graph is not connected. MST does not exist.");
         }
+        instrumentation.onPhaseEnd(Phase.CONNECTIVITY);
 
-        tracker.incrementComparisons(); // Check for connectivity
-
+        instrumentation.onPhaseStart(Phase.PREPARATION);
+        // Read once so uncounted runs only test a local flag, whatever else went through this code
+        boolean counting = instrumentation.countsOperations();
         List<Edge> mst = new ArrayList<>();
         List<Edge> allEdges = new ArrayList<>(graph.getEdges());
 
-        // Sort edges by weight
-        Collections.sort(allEdges);
-        tracker.incrementComparisons(); // Sort operation
+        // Sort edges by weight, counting comparisons only when someone is listening
+        if (!counting || !instrumentation.countsComparisons()) {
+            Collections.sort(allEdges);
+        } else {
+            allEdges.sort((a, b) -> {
+                instrumentation.onSortComparison();
+                return a.compareTo(b);
+            });
+        }
 
         // Use Union-Find to detect cycles
-        UnionFind uf = new UnionFind(graph.getVertices());
+        UnionFind uf = new UnionFind(graph.getVertices(), instrumentation);
+
+        instrumentation.onPhaseEnd(Phase.PREPARATION);
 
         // Process edges in order of increasing weight
+        instrumentation.onPhaseStart(Phase.MAIN_LOOP);
         for (Edge edge : allEdges) {
-            tracker.incrementComparisons(); // Loop iteration
+            if (counting) instrumentation.onEdgeScanned();
 
             int root1 = uf.find(edge.getFrom());
             int root2 = uf.find(edge.getTo());
 
-            tracker.incrementComparisons(); // Find operations
-            tracker.incrementComparisons(); // Comparison root1 != root2
-
             // If adding this edge doesn't create a cycle
             if (root1 != root2) {
                 mst.add(edge);
-                uf.union(edge.getFrom(), edge.getTo());
-                tracker.incrementComparisons(); // Union operation
+                uf.link(root1, root2);
 
                 // Stop when we have V-1 edges
-                tracker.incrementComparisons();
                 if (mst.size() == graph.getVertices() - 1) {
                     break;
                 }
             }
         }
+        instrumentation.onPhaseEnd(Phase.MAIN_LOOP);
 
         return mst;
     }
@@ -126,46 +109,4 @@ public class KruskalsAlgorithm {
 
         return false;
     }
-
-    /**
-     * Optimized Union-Find implementation with path compression and union by rank
-     */
-    private static class UnionFind {
-        private int[] parent;
-        private int[] rank;
-
-        public UnionFind(int n) {
-            parent = new int[n];
-            rank = new int[n];
-            for (int i = 0; i < n; i++) {
-                parent[i] = i;
-                rank[i] = 0;
-            }
-        }
-
-        public int find(int x) {
-            if (parent[x] != x) {
-                parent[x] = find(parent[x]); // Path compression
-            }
-            return parent[x];
-        }
-
-        public void union(int x, int y) {
-            int rootX = find(x);
-            int rootY = find(y);
-
-            if (rootX == rootY) return;
-
-            // Union by rank
-            if (rank[rootX] < rank[rootY]) {
-                parent[rootX] = rootY;
-            } else if (rank[rootX] > rank[rootY]) {
-                parent[rootY] = rootX;
-            } else {
-                parent[rootY] = rootX;
-                rank[rootX]++;
-            }
-        }
-
-    }
 }
@@ -0,0 +1,289 @@
+package algorithms;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.*;
+import java.util.function.Function;
+
+/**
+ * MSTs keyed by the content of the graph, so tools that load the same input file do not solve
+ * the same graph again.
+ * <p>
+ * The key is the XXH64 hash of the packed graph (vertex count, edge count, then from, to and weight
+ * of every edge as little-endian ints, in insertion order) plus the algorithm name. Entries also
+ * record the vertex and edge counts, which are checked on every hit. Two tiers:
+ * <ul>
+ *   <li>memory: an LRU map bounded by the total number of cached tree edges</li>
+ *   <li>disk (optional): one file per entry, "&lt;hash&gt;-&lt;algorithm&gt;.mst" (little-endian,
+ *   header magic "MSTC" and version, hash, vertices, edges, tree size, total weight, then from, to
+ *   and weight per tree edge). Files are written under a temporary name and moved into place, so
+ *   readers never see a partial entry. A file that does not match its key or whose weights do not
+ *   add up is treated as a miss and removed.</li>
+ * </ul>
+ * Disk errors never fail a lookup or a store; the cache just behaves as if the entry were absent.
+ * Safe for concurrent use.
+ */
+public class MSTCache {
+
+    /** Memory tier size used by the command-line tools: about 40 MB of tree edges. */
+    public static final long DEFAULT_MEMORY_EDGES = 1_000_000;
+
+    static final int MAGIC = 0x4D535443; // "MSTC"
+    static final int VERSION = 1;
+
+    private static final int HEADER_BYTES = 40;
+    private static final int HASH_BUFFER_BYTES = 8192;
+
+    private static class Entry {
+        final int vertices;
+        final int edges;
+        final List<Edge> mst;
+
+        Entry(int vertices, int edges, List<Edge> mst) {
+            this.vertices = vertices;
+            this.edges = edges;
+            this.mst = mst;
+        }
+    }
+
+    private final File directory;
+    private final long maxMemoryEdges;
+    private final LinkedHashMap<String, Entry> memory = new LinkedHashMap<>(16, 0.75f, true);
+    private long memoryEdges;
+
+    private long memoryHits;
+    private long diskHits;
+    private long misses;
+
+    /**
+     * @param directory      disk tier, created if needed; null keeps entries in memory only
+     * @param maxMemoryEdges total tree edges kept in memory before least recently used entries are evicted
+     */
+    public MSTCache(File directory, long maxMemoryEdges) throws IOException {
+        if (maxMemoryEdges < 0) {
+            throw new IllegalArgumentException("Memory capacity must be non-negative: " + maxMemoryEdges);
+        }
+        this.directory = directory;
+        this.maxMemoryEdges = maxMemoryEdges;
+        if (directory != null) {
+            Files.createDirectories(directory.toPath());
+        }
+    }
+
+    /** XXH64 of the packed graph; equal graphs with edges in the same order hash equally. */
+    public static long hash(Graph graph) {
+        XxHash64 hasher = new XxHash64();
+        ByteBuffer buffer = ByteBuffer.allocate(HASH_BUFFER_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+        buffer.putInt(graph.getVertices());
+        buffer.putInt(graph.getEdgesCount());
+
+        for (Edge edge : graph.getEdges()) {
+            if (buffer.remaining() < 12) {
+                hasher.update(buffer.flip());
+                buffer.clear();
+            }
+            buffer.putInt(edge.getFrom());
+            buffer.putInt(edge.getTo());
+            buffer.putInt(edge.getWeight());
+        }
+        hasher.update(buffer.flip());
+        return hasher.digest();
+    }
+
+    /** Cached MST of the graph computed by the algorithm, or null. The list is unmodifiable. */
+    public List<Edge> get(Graph graph, String algorithm) {
+        return get(hash(graph), graph, algorithm);
+    }
+
+    public void put(Graph graph, String algorithm, List<Edge> mst) {
+        put(hash(graph), graph, algorithm, mst);
+    }
+
+    /**
+     * Cached MST, or the solver's result, which is then cached. Concurrent callers missing on the
+     * same graph may both solve it.
+     */
+    public List<Edge> computeIfAbsent(Graph graph, String algorithm, Function<Graph, List<Edge>> solver) {
+        long hash = hash(graph);
+        List<Edge> mst = get(hash, graph, algorithm);
+        if (mst == null) {
+            mst = put(hash, graph, algorithm, solver.apply(graph));
+        }
+        return mst;
+    }
+
+    private List<Edge> get(long hash, Graph graph, String algorithm) {
+        String key = key(hash, algorithm);
+        synchronized (this) {
+            Entry entry = memory.get(key);
+            if (entry != null && matches(entry, graph)) {
+                memoryHits++;
+                return entry.mst;
+            }
+        }
+
+        Entry entry = directory == null ? null : read(hash, key);
+        synchronized (this) {
+            if (entry == null || !matches(entry, graph)) {
+                misses++;
+                return null;
+            }
+            diskHits++;
+            remember(key, entry);
+        }
+        return entry.mst;
+    }
+
+    private List<Edge> put(long hash, Graph graph, String algorithm, List<Edge> mst) {
+        String key = key(hash, algorithm);
+        Entry entry = new Entry(graph.getVertices(), graph.getEdgesCount(),
+                Collections.unmodifiableList(new ArrayList<>(mst)));
+        synchronized (this) {
+            remember(key, entry);
+        }
+        if (directory != null) {
+            write(hash, key, entry);
+        }
+        return entry.mst;
+    }
+
+    public synchronized long getMemoryHits() {
+        return memoryHits;
+    }
+
+    public synchronized long getDiskHits() {
+        return diskHits;
+    }
+
+    public synchronized long getMisses() {
+        return misses;
+    }
+
+    public synchronized int getMemoryEntries() {
+        return memory.size();
+    }
+
+    @Override
+    public synchronized String toString() {
+        return String.format("MSTCache(%d in memory, %d memory hits, %d disk hits, %d misses)",
+                memory.size(), memoryHits, diskHits, misses);
+    }
+
+    private static String key(long hash, String algorithm) {
+        if (!algorithm.matches("[A-Za-z0-9_]+")) {
+            throw new IllegalArgumentException("Algorithm name must be alphanumeric: " + algorithm);
+        }
+        return String.format("%016x-%s", hash, algorithm);
+    }
+
+    private static boolean matches(Entry entry, Graph graph) {
+        return entry.vertices == graph.getVertices() && entry.edges == graph.getEdgesCount();
+    }
+
+    // Callers hold the lock
+    private void remember(String key, Entry entry) {
+        Entry previous = memory.remove(key);
+        if (previous != null) {
+            memoryEdges -= previous.mst.size();
+        }
+        if (entry.mst.size() > maxMemoryEdges) return;
+
+        memory.put(key, entry);
+        memoryEdges += entry.mst.size();
+        Iterator<Entry> eldest = memory.values().iterator();
+        while (memoryEdges > maxMemoryEdges) {
+            memoryEdges -= eldest.next().mst.size();
+            eldest.remove();
+        }
+    }
+
+    private File file(String key) {
+        return new File(directory, key + ".mst");
+    }
+
+    private Entry read(long hash, String key) {
+        Path path = file(key).toPath();
+        if (!Files.exists(path)) return null;
+
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size >= HEADER_BYTES && size <= Integer.MAX_VALUE) {
+                ByteBuffer data = ByteBuffer.allocate((int) size).order(ByteOrder.LITTLE_ENDIAN);
+                while (data.hasRemaining() && channel.read(data) >= 0) {
+                    // Keep reading until the whole file is in the buffer
+                }
+                Entry entry = decode(data.flip(), hash);
+                if (entry != null) return entry;
+            }
+        } catch (IOException e) {
+            return null;
+        }
+
+        // Truncated or foreign file: drop it so the next store replaces it
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException e) {
+            // Left for the next store to overwrite
+        }
+        return null;
+    }
+
+    private static Entry decode(ByteBuffer data, long hash) {
+        if (data.getInt() != MAGIC || data.getInt() != VERSION || data.getLong() != hash) return null;
+        int vertices = data.getInt();
+        int edges = data.getInt();
+        int size = data.getInt();
+        data.getInt(); // Padding
+        long weight = data.getLong();
+        if (size < 0 || data.remaining() != 12L * size) return null;
+
+        List<Edge> mst = new ArrayList<>(size);
+        long total = 0;
+        for (int i = 0; i < size; i++) {
+            Edge edge = new Edge(data.getInt(), data.getInt(), data.getInt());
+            total += edge.getWeight();
+            mst.add(edge);
+        }
+        return total == weight ? new Entry(vertices, edges, Collections.unmodifiableList(mst)) : null;
+    }
+
+    private void write(long hash, String key, Entry entry) {
+        ByteBuffer data = ByteBuffer.allocate(HEADER_BYTES + 12 * entry.mst.size()).order(ByteOrder.LITTLE_ENDIAN);
+        long weight = 0;
+        for (Edge edge : entry.mst) {
+            weight += edge.getWeight();
+        }
+        data.putInt(MAGIC).putInt(VERSION).putLong(hash);
+        data.putInt(entry.vertices).putInt(entry.edges).putInt(entry.mst.size()).putInt(0).putLong(weight);
+        for (Edge edge : entry.mst) {
+            data.putInt(edge.getFrom()).putInt(edge.getTo()).putInt(edge.getWeight());
+        }
+        data.flip();
+
+        Path temporary = null;
+        try {
+            temporary = Files.createTempFile(directory.toPath(), key, ".tmp");
+            try (FileChannel channel = FileChannel.open(temporary, StandardOpenOption.WRITE)) {
+                while (data.hasRemaining()) {
+                    channel.write(data);
+                }
+            }
+            Files.move(temporary, file(key).toPath(), StandardCopyOption.REPLACE_EXISTING,
+                    StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            System.err.println("Could not store MST " + key + " in " + directory + ": " + e.getMessage());
+            try {
+                if (temporary != null) Files.deleteIfExists(temporary);
+            } catch (IOException ignored) {
+                // Nothing more to clean up
+            }
+        }
+    }
+}
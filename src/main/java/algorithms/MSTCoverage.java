@@ -0,0 +1,139 @@
+package algorithms;
+
+import java.util.*;
+
+/**
+ * Relates every edge of a graph to a spanning tree of it: which edges are tree edges,
+ * and for each tree edge the lightest non-tree edge whose tree path covers it.
+ * Covering edges are found by processing non-tree edges in weight order and skipping
+ * already covered tree edges with a union-find over the tree, so the whole pass is
+ * O(E log E) for the sort plus near-linear work afterwards.
+ */
+final class MSTCoverage {
+
+    static final int NONE = -1;
+
+    private final Edge[] graphEdges;
+    private final BottleneckPathIndex index;
+    private final int[] treeIndexOf;  // per graph edge: position in the tree list, or NONE
+    private final int[] coverOf;      // per tree edge: graph edge index of the lightest cover, or NONE
+
+    MSTCoverage(Graph graph, List<Edge> tree) {
+        this.graphEdges = graph.getEdges().toArray(new Edge[0]);
+        this.index = new BottleneckPathIndex(graph, tree);
+        this.treeIndexOf = matchTreeEdges(graphEdges, tree);
+        this.coverOf = new int[tree.size()];
+        Arrays.fill(coverOf, NONE);
+
+        computeCovers(graph.getVertices());
+    }
+
+    private static int[] matchTreeEdges(Edge[] graphEdges, List<Edge> tree) {
+        // Equal edges (same endpoints and weight) are interchangeable, so match them as a multiset
+        Map<Edge, Deque<Integer>> pending = new HashMap<>();
+        for (int i = 0; i < tree.size(); i++) {
+            pending.computeIfAbsent(tree.get(i), k -> new ArrayDeque<>()).add(i);
+        }
+
+        int[] treeIndexOf = new int[graphEdges.length];
+        int matched = 0;
+        for (int i = 0; i < graphEdges.length; i++) {
+            Deque<Integer> positions = pending.get(graphEdges[i]);
+            if (positions != null && !positions.isEmpty()) {
+                treeIndexOf[i] = positions.poll();
+                matched++;
+            } else {
+                treeIndexOf[i] = NONE;
+            }
+        }
+
+        if (matched != tree.size()) {
+            throw new IllegalArgumentException("Tree contains edges that are not part of the graph");
+        }
+        return treeIndexOf;
+    }
+
+    private void computeCovers(int vertices) {
+        long[] order = sortedNonTreeEdges();
+
+        // jump[v] leads to the nearest ancestor-or-self whose parent edge is still uncovered
+        int[] jump = new int[vertices];
+        for (int v = 0; v < vertices; v++) {
+            jump[v] = v;
+        }
+
+        int uncovered = index.getTreeEdgesCount();
+        for (long key : order) {
+            if (uncovered == 0) break;
+
+            int edgeIndex = (int) key;
+            Edge edge = graphEdges[edgeIndex];
+            if (!index.isConnected(edge.getFrom(), edge.getTo())) continue;
+
+            int a = find(jump, edge.getFrom());
+            int b = find(jump, edge.getTo());
+
+            while (a != b) {
+                if (index.depth(a) < index.depth(b)) {
+                    int tmp = a;
+                    a = b;
+                    b = tmp;
+                }
+
+                coverOf[index.parentEdgeIndex(a)] = edgeIndex;
+                uncovered--;
+                jump[a] = index.parent(a);
+                a = find(jump, a);
+            }
+        }
+    }
+
+    private long[] sortedNonTreeEdges() {
+        int count = 0;
+        for (int t : treeIndexOf) {
+            if (t == NONE) count++;
+        }
+
+        // Pack (weight, edge index) into one long so the sort runs on primitives
+        long[] keys = new long[count];
+        int k = 0;
+        for (int i = 0; i < graphEdges.length; i++) {
+            if (treeIndexOf[i] == NONE) {
+                keys[k++] = ((long) graphEdges[i].getWeight() << 32) | i;
+            }
+        }
+        Arrays.sort(keys);
+        return keys;
+    }
+
+    private static int find(int[] jump, int x) {
+        int root = x;
+        while (jump[root] != root) {
+            root = jump[root];
+        }
+        while (jump[x] != root) {
+            int next = jump[x];
+            jump[x] = root;
+            x = next;
+        }
+        return root;
+    }
+
+    Edge[] getGraphEdges() {
+        return graphEdges;
+    }
+
+    BottleneckPathIndex getIndex() {
+        return index;
+    }
+
+    /** Position of graph edge i in the tree list, or {@link #NONE} for a non-tree edge. */
+    int treeIndexOf(int graphEdgeIndex) {
+        return treeIndexOf[graphEdgeIndex];
+    }
+
+    /** Graph edge index of the lightest non-tree edge covering tree edge t, or {@link #NONE} for a bridge. */
+    int coverOf(int treeEdgeIndex) {
+        return coverOf[treeEdgeIndex];
+    }
+}
@@ -1,5 +1,7 @@
 package algorithms;
 
+import metrics.MSTInstrumentation;
+import metrics.Phase;
 import metrics.PerformanceTracker;
 import java.util.*;
 
@@ -7,35 +9,68 @@ import java.util.*;
 public class PrimsAlgorithm {
 
     public List<Edge> findMST(Graph graph) {
+        return findMST(graph, MSTInstrumentation.NONE);
+    }
+
+    public List<Edge> findMSTWithTracking(Graph graph, PerformanceTracker tracker) {
+        return findMST(graph, tracker);
+    }
+
+    /**
+     * The single Prim implementation; production callers pass {@link MSTInstrumentation#NONE}.
+     */
+    public List<Edge> findMST(Graph graph, MSTInstrumentation instrumentation) {
         if (graph == null || graph.getVertices() == 0) {
             return new ArrayList<>();
         }
 
+        instrumentation.onPhaseStart(Phase.CONNECTIVITY);
         if (!graph.isConnected()) {
             throw new IllegalArgumentException("Graph is not connected. MST does not exist.");
         }
+        instrumentation.onPhaseEnd(Phase.CONNECTIVITY);
 
+        instrumentation.onPhaseStart(Phase.PREPARATION);
+        // Read once so uncounted runs only test a local flag, whatever else went through this code
+        boolean counting = instrumentation.countsOperations();
         List<Edge> mst = new ArrayList<>();
         boolean[] inMST = new boolean[graph.getVertices()];
-        PriorityQueue<Edge> minHeap = new PriorityQueue<>();
+        // Natural ordering unless someone is counting comparisons
+        Comparator<Edge> order = null;
+        if (counting && instrumentation.countsComparisons()) {
+            order = (a, b) -> {
+                instrumentation.onComparison();
+                return a.compareTo(b);
+            };
+        }
+        PriorityQueue<Edge> minHeap = new PriorityQueue<>(11, order);
 
         // Start with vertex 0
         inMST[0] = true;
+        if (counting) instrumentation.onArrayAccess(1);
 
         // Add all edges from vertex 0 to the priority queue
         for (Edge edge : graph.getAdjacentEdges(0)) {
+            if (counting) instrumentation.onEdgeScanned();
             minHeap.offer(edge);
+            if (counting) instrumentation.onHeapPush(minHeap.size());
         }
 
+        instrumentation.onPhaseEnd(Phase.PREPARATION);
+
         // Process edges until we have V-1 edges in MST
+        instrumentation.onPhaseStart(Phase.MAIN_LOOP);
         while (!minHeap.isEmpty() && mst.size() < graph.getVertices() - 1) {
             Edge currentEdge = minHeap.poll();
+            if (counting) instrumentation.onHeapPop();
 
             int u = currentEdge.getFrom();
             int v = currentEdge.getTo();
 
             // Skip if both vertices are already in MST (would create cycle)
+            if (counting) instrumentation.onArrayAccess(2);
             if (inMST[u] && inMST[v]) {
+                if (counting) instrumentation.onStaleEntry();
                 continue;
             }
 
@@ -44,83 +79,75 @@ public class PrimsAlgorithm {
 
             // Mark the new vertex as in MST
             int newVertex = inMST[u] ? v : u;
+            if (counting) instrumentation.onArrayAccess(1);
             inMST[newVertex] = true;
 
             // Add all edges from the new vertex to the priority queue
             for (Edge edge : graph.getAdjacentEdges(newVertex)) {
+                if (counting) instrumentation.onEdgeScanned();
                 int otherVertex = edge.getOtherVertex(newVertex);
+                if (counting) instrumentation.onArrayAccess(1);
                 if (!inMST[otherVertex]) {
                     minHeap.offer(edge);
+                    if (counting) instrumentation.onHeapPush(minHeap.size());
                 }
             }
         }
+        instrumentation.onPhaseEnd(Phase.MAIN_LOOP);
 
         return mst;
     }
 
-    public List<Edge> findMSTWithTracking(Graph graph, PerformanceTracker tracker) {
-        if (graph == null || graph.getVertices() == 0) {
-            return new ArrayList<>();
+    /**
+     * Dense Prim over an implicit complete graph: O(V²) weight evaluations and O(V) memory,
+     * no edge objects or priority queue. Each step relaxes the remaining vertices against the
+     * newly added one and picks the next closest vertex in the same pass.
+     */
+    public SpanningTree findMST(ImplicitGraph graph) {
+        int vertices = graph.getVertices();
+        SpanningTree tree = new SpanningTree(vertices);
+        if (vertices <= 1) {
+            return tree;
         }
 
-        if (!graph.isConnected()) {
-            throw new IllegalArgumentException("Graph is not connected. MST does not exist.");
+        double[] key = new double[vertices];
+        int[] parent = new int[vertices];
+        // Vertices not yet in the tree, kept compact by swap-removal
+        int[] remaining = new int[vertices - 1];
+        for (int v = 1; v < vertices; v++) {
+            remaining[v - 1] = v;
+            key[v] = Double.POSITIVE_INFINITY;
         }
-
-        tracker.incrementComparisons(); // Check for connectivity
-
-        List<Edge> mst = new ArrayList<>();
-        boolean[] inMST = new boolean[graph.getVertices()];
-        PriorityQueue<Edge> minHeap = new PriorityQueue<>();
-
-        // Start with vertex 0
-        inMST[0] = true;
-        tracker.incrementArrayAccesses(1);
-
-        // Add all edges from vertex 0 to the priority queue
-        for (Edge edge : graph.getAdjacentEdges(0)) {
-            minHeap.offer(edge);
-            tracker.incrementComparisons(); // Priority queue operations
-        }
-
-        // Process edges until we have V-1 edges in MST
-        while (!minHeap.isEmpty() && mst.size() < graph.getVertices() - 1) {
-            tracker.incrementComparisons(); // Loop condition check
-
-            Edge currentEdge = minHeap.poll();
-            tracker.incrementComparisons(); // Priority queue poll operation
-
-            int u = currentEdge.getFrom();
-            int v = currentEdge.getTo();
-
-            // Skip if both vertices are already in MST (would create cycle)
-            tracker.incrementArrayAccesses(2);
-            tracker.incrementComparisons();
-            if (inMST[u] && inMST[v]) {
-                continue;
+        int remainingCount = vertices - 1;
+
+        int current = 0;
+        while (remainingCount > 0) {
+            int bestSlot = -1;
+            double bestKey = Double.POSITIVE_INFINITY;
+
+            for (int slot = 0; slot < remainingCount; slot++) {
+                int v = remaining[slot];
+                double w = graph.weight(current, v);
+                if (w < key[v]) {
+                    key[v] = w;
+                    parent[v] = current;
+                }
+                if (key[v] < bestKey || bestSlot == -1) {
+                    bestKey = key[v];
+                    bestSlot = slot;
+                }
             }
 
-            // Add edge to MST
-            mst.add(currentEdge);
-
-            // Mark the new vertex as in MST
-            int newVertex = inMST[u] ? v : u;
-            tracker.incrementArrayAccesses(1);
-            inMST[newVertex] = true;
-
-            // Add all edges from the new vertex to the priority queue
-            for (Edge edge : graph.getAdjacentEdges(newVertex)) {
-                int otherVertex = edge.getOtherVertex(newVertex);
-                tracker.incrementArrayAccesses(1);
-                tracker.incrementComparisons();
-                if (!inMST[otherVertex]) {
-                    minHeap.offer(edge);
-                    tracker.incrementComparisons(); // Priority queue offer operation
-                }
+            if (bestKey == Double.POSITIVE_INFINITY) {
+                throw new IllegalArgumentException("Graph is not connected. MST does not exist.");
             }
+
+            current = remaining[bestSlot];
+            remaining[bestSlot] = remaining[--remainingCount];
+            tree.add(parent[current], current, bestKey);
         }
 
-        return mst;
+        return tree;
     }
 
     public int calculateMSTWeight(List<Edge> mstEdges) {
@@ -158,42 +185,4 @@ public class PrimsAlgorithm {
 
         return false;
     }
-
-    private static class UnionFind {
-        private int[] parent;
-        private int[] rank;
-
-        public UnionFind(int n) {
-            parent = new int[n];
-            rank = new int[n];
-            for (int i = 0; i < n; i++) {
-                parent[i] = i;
-                rank[i] = 0;
-            }
-        }
-
-        public int find(int x) {
-            if (parent[x] != x) {
-                parent[x] = find(parent[x]); // Path compression
-            }
-            return parent[x];
-        }
-
-        public void union(int x, int y) {
-            int rootX = find(x);
-            int rootY = find(y);
-
-            if (rootX == rootY) return;
-
-            // Union by rank
-            if (rank[rootX] < rank[rootY]) {
-                parent[rootX] = rootY;
-            } else if (rank[rootX] > rank[rootY]) {
-                parent[rootY] = rootX;
-            } else {
-                parent[rootY] = rootX;
-                rank[rootX]++;
-            }
-        }
-    }
 }
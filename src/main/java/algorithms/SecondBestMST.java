@@ -0,0 +1,138 @@
+package algorithms;
+
+import java.util.*;
+
+/**
+ * Second-best spanning tree and per-edge replacement costs, computed from a single
+ * Kruskal MST instead of re-running findMST once per removed tree edge.
+ * The second-best tree comes from path-maximum queries on a {@link BottleneckPathIndex}
+ * (O(E log V)); replacement costs come from the lightest non-tree edge covering each tree edge.
+ */
+public class SecondBestMST {
+
+    /** Replacement cost of a tree edge whose removal disconnects the graph (a bridge). */
+    public static final long NO_REPLACEMENT = Long.MAX_VALUE;
+
+    private final KruskalsAlgorithm kruskals = new KruskalsAlgorithm();
+
+    public Result compute(Graph graph) {
+        return compute(graph, kruskals.findMST(graph));
+    }
+
+    public Result compute(Graph graph, List<Edge> mst) {
+        MSTCoverage coverage = new MSTCoverage(graph, mst);
+        Edge[] graphEdges = coverage.getGraphEdges();
+        BottleneckPathIndex index = coverage.getIndex();
+
+        long mstWeight = 0;
+        for (Edge edge : mst) {
+            mstWeight += edge.getWeight();
+        }
+
+        // Replacement cost of every tree edge: lightest covering edge minus the edge itself
+        long[] replacementCost = new long[mst.size()];
+        Edge[] replacementEdge = new Edge[mst.size()];
+        for (int t = 0; t < mst.size(); t++) {
+            int cover = coverage.coverOf(t);
+            if (cover == MSTCoverage.NONE) {
+                replacementCost[t] = NO_REPLACEMENT;
+            } else {
+                replacementEdge[t] = graphEdges[cover];
+                replacementCost[t] = (long) graphEdges[cover].getWeight() - mst.get(t).getWeight();
+            }
+        }
+
+        // Second-best tree: the non-tree edge whose weight exceeds its path maximum the least
+        long bestDelta = NO_REPLACEMENT;
+        int bestAdded = MSTCoverage.NONE;
+        int bestRemoved = BottleneckPathIndex.NO_EDGE;
+
+        for (int i = 0; i < graphEdges.length; i++) {
+            if (coverage.treeIndexOf(i) != MSTCoverage.NONE) continue;
+
+            Edge edge = graphEdges[i];
+            if (!index.isConnected(edge.getFrom(), edge.getTo())) continue;
+
+            int removed = index.maxEdgeIndex(edge.getFrom(), edge.getTo());
+            if (removed == BottleneckPathIndex.NO_EDGE) continue; // self-loop
+
+            long delta = (long) edge.getWeight() - mst.get(removed).getWeight();
+            if (delta < bestDelta) {
+                bestDelta = delta;
+                bestAdded = i;
+                bestRemoved = removed;
+            }
+        }
+
+        List<Edge> secondBest = null;
+        long secondBestWeight = NO_REPLACEMENT;
+        if (bestAdded != MSTCoverage.NONE) {
+            secondBest = new ArrayList<>(mst);
+            secondBest.set(bestRemoved, graphEdges[bestAdded]);
+            secondBestWeight = mstWeight + bestDelta;
+        }
+
+        return new Result(mst, mstWeight, secondBest, secondBestWeight, replacementCost, replacementEdge);
+    }
+
+    public static class Result {
+        private final List<Edge> mst;
+        private final long mstWeight;
+        private final List<Edge> secondBest;
+        private final long secondBestWeight;
+        private final long[] replacementCost;
+        private final Edge[] replacementEdge;
+
+        private Result(List<Edge> mst, long mstWeight, List<Edge> secondBest, long secondBestWeight,
+                       long[] replacementCost, Edge[] replacementEdge) {
+            this.mst = mst;
+            this.mstWeight = mstWeight;
+            this.secondBest = secondBest;
+            this.secondBestWeight = secondBestWeight;
+            this.replacementCost = replacementCost;
+            this.replacementEdge = replacementEdge;
+        }
+
+        public List<Edge> getMST() {
+            return mst;
+        }
+
+        public long getMSTWeight() {
+            return mstWeight;
+        }
+
+        public boolean hasSecondBest() {
+            return secondBest != null;
+        }
+
+        /**
+         * Cheapest spanning tree different from the MST, or null when the graph itself is a tree.
+         */
+        public List<Edge> getSecondBest() {
+            return secondBest;
+        }
+
+        public long getSecondBestWeight() {
+            return secondBestWeight;
+        }
+
+        /**
+         * How much the total weight rises if tree edge i (in MST order) fails,
+         * or {@link #NO_REPLACEMENT} if no other edge can reconnect the tree.
+         */
+        public long getReplacementCost(int treeEdgeIndex) {
+            return replacementCost[treeEdgeIndex];
+        }
+
+        public long[] getReplacementCosts() {
+            return replacementCost.clone();
+        }
+
+        /**
+         * Edge that takes over when tree edge i fails, or null for a bridge.
+         */
+        public Edge getReplacementEdge(int treeEdgeIndex) {
+            return replacementEdge[treeEdgeIndex];
+        }
+    }
+}
@@ -0,0 +1,156 @@
+package algorithms;
+
+import java.util.*;
+
+/**
+ * Single-linkage clustering as an early-stopping Kruskal: edges are merged in weight order
+ * and the union-find loop stops once k components remain or the next edge is longer than
+ * the distance threshold, instead of building the whole MST first.
+ * Works on primitive arrays only; the graph does not need to be connected.
+ */
+public class SingleLinkageClustering {
+
+    /**
+     * Clusters the graph into (at least) k components. Fewer merges happen if the graph
+     * has more than k connected components to begin with.
+     */
+    public Result clusterIntoK(Graph graph, int k, boolean withDendrogram) {
+        if (k < 1) {
+            throw new IllegalArgumentException("Number of clusters must be positive: " + k);
+        }
+        return run(graph, k, Long.MAX_VALUE, withDendrogram);
+    }
+
+    /**
+     * Merges every pair of clusters joined by an edge of weight at most maxDistance.
+     */
+    public Result clusterByThreshold(Graph graph, int maxDistance, boolean withDendrogram) {
+        return run(graph, 1, maxDistance, withDendrogram);
+    }
+
+    /**
+     * Full merge hierarchy (runs until one component per connected component is left).
+     */
+    public Result dendrogram(Graph graph) {
+        return run(graph, 1, Long.MAX_VALUE, true);
+    }
+
+    private Result run(Graph graph, int targetComponents, long threshold, boolean withDendrogram) {
+        int vertices = graph.getVertices();
+        List<Edge> edges = graph.getEdges();
+        int edgeCount = edges.size();
+
+        int[] from = new int[edgeCount];
+        int[] to = new int[edgeCount];
+        long[] order = new long[edgeCount];
+        for (int i = 0; i < edgeCount; i++) {
+            Edge edge = edges.get(i);
+            from[i] = edge.getFrom();
+            to[i] = edge.getTo();
+            // Pack (weight, edge index) into one long so the sort runs on primitives
+            order[i] = ((long) edge.getWeight() << 32) | i;
+        }
+        Arrays.sort(order);
+
+        UnionFind uf = new UnionFind(vertices);
+
+        int maxMerges = Math.max(0, vertices - 1);
+        int[] mergeParent = null;
+        int[] mergeHeight = null;
+        int[] clusterNode = null;
+        if (withDendrogram) {
+            mergeParent = new int[vertices + maxMerges];
+            mergeHeight = new int[maxMerges];
+            Arrays.fill(mergeParent, -1);
+            // Dendrogram node currently representing each union-find root
+            clusterNode = new int[vertices];
+            for (int v = 0; v < vertices; v++) {
+                clusterNode[v] = v;
+            }
+        }
+
+        int merges = 0;
+        for (long key : order) {
+            if (uf.getComponents() <= targetComponents) break;
+
+            int weight = (int) (key >> 32);
+            if (weight > threshold) break;
+
+            int edgeIndex = (int) key;
+            int rootA = uf.find(from[edgeIndex]);
+            int rootB = uf.find(to[edgeIndex]);
+            if (rootA == rootB) continue;
+
+            uf.union(rootA, rootB);
+
+            if (withDendrogram) {
+                int node = vertices + merges;
+                mergeParent[clusterNode[rootA]] = node;
+                mergeParent[clusterNode[rootB]] = node;
+                mergeHeight[merges] = weight;
+                clusterNode[uf.find(rootA)] = node;
+            }
+            merges++;
+        }
+
+        // Compact labels 0..clusters-1 in order of the lowest vertex in each cluster
+        int[] labels = new int[vertices];
+        int[] labelOfRoot = new int[vertices];
+        Arrays.fill(labelOfRoot, -1);
+        int clusters = 0;
+        for (int v = 0; v < vertices; v++) {
+            int root = uf.find(v);
+            if (labelOfRoot[root] == -1) {
+                labelOfRoot[root] = clusters++;
+            }
+            labels[v] = labelOfRoot[root];
+        }
+
+        if (withDendrogram) {
+            mergeParent = Arrays.copyOf(mergeParent, vertices + merges);
+            mergeHeight = Arrays.copyOf(mergeHeight, merges);
+        }
+
+        return new Result(labels, clusters, mergeParent, mergeHeight);
+    }
+
+    public static class Result {
+        private final int[] labels;
+        private final int clusterCount;
+        private final int[] mergeParent;
+        private final int[] mergeHeight;
+
+        private Result(int[] labels, int clusterCount, int[] mergeParent, int[] mergeHeight) {
+            this.labels = labels;
+            this.clusterCount = clusterCount;
+            this.mergeParent = mergeParent;
+            this.mergeHeight = mergeHeight;
+        }
+
+        /** Cluster label (0..clusterCount-1) of every vertex; a copy. */
+        public int[] getLabels() {
+            return labels.clone();
+        }
+
+        public int getClusterCount() {
+            return clusterCount;
+        }
+
+        public boolean hasDendrogram() {
+            return mergeParent != null;
+        }
+
+        /**
+         * Dendrogram as a parent array: nodes 0..V-1 are the vertices, node V+i is the i-th merge.
+         * Entry -1 marks a node that was never merged further. A copy; null without a dendrogram.
+         */
+        public int[] getMergeParent() {
+            return mergeParent == null ? null : mergeParent.clone();
+        }
+
+        /** Edge weight at which merge i (node V+i) happened, non-decreasing. A copy; null without a dendrogram. */
+        public int[] getMergeHeight() {
+            return mergeHeight == null ? null : mergeHeight.clone();
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package algorithms;
+
+/**
+ * Spanning tree stored as parallel primitive arrays (from, to, weight) for inputs
+ * where one {@link Edge} object per tree edge is too expensive or weights are not integral.
+ */
+public class SpanningTree {
+    private final int vertices;
+    private final int[] from;
+    private final int[] to;
+    private final double[] weight;
+    private int size;
+
+    SpanningTree(int vertices) {
+        int capacity = Math.max(0, vertices - 1);
+        this.vertices = vertices;
+        this.from = new int[capacity];
+        this.to = new int[capacity];
+        this.weight = new double[capacity];
+    }
+
+    void add(int u, int v, double w) {
+        from[size] = Math.min(u, v);
+        to[size] = Math.max(u, v);
+        weight[size] = w;
+        size++;
+    }
+
+    public int getVertices() {
+        return vertices;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public int getFrom(int index) {
+        return from[index];
+    }
+
+    public int getTo(int index) {
+        return to[index];
+    }
+
+    public double getWeight(int index) {
+        return weight[index];
+    }
+
+    public double getTotalWeight() {
+        double total = 0;
+        for (int i = 0; i < size; i++) {
+            total += weight[i];
+        }
+        return total;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("SpanningTree(%d vertices, %d edges, weight=%.4f)", vertices, size, getTotalWeight());
+    }
+}
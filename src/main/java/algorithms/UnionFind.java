@@ -0,0 +1,87 @@
+package algorithms;
+
+import metrics.MSTInstrumentation;
+
+/**
+ * Optimized Union-Find implementation with path compression and union by rank
+ */
+public class UnionFind {
+    private int[] parent;
+    private int[] rank;
+    private int components;
+    private final MSTInstrumentation instrumentation;
+    private final boolean counting;
+
+    public UnionFind(int n) {
+        this(n, MSTInstrumentation.NONE);
+    }
+
+    public UnionFind(int n, MSTInstrumentation instrumentation) {
+        this.instrumentation = instrumentation;
+        this.counting = instrumentation.countsOperations();
+        parent = new int[n];
+        rank = new int[n];
+        components = n;
+        for (int i = 0; i < n; i++) {
+            parent[i] = i;
+            rank[i] = 0;
+        }
+    }
+
+    public int find(int x) {
+        int root = x;
+        int pathLength = 0;
+        while (parent[root] != root) {
+            root = parent[root];
+            pathLength++;
+        }
+
+        // Path compression
+        while (parent[x] != root) {
+            int next = parent[x];
+            parent[x] = root;
+            x = next;
+        }
+
+        if (counting) instrumentation.onFind(pathLength);
+        return root;
+    }
+
+    /**
+     * Merges the sets containing x and y. Returns false if they were already in the same set.
+     */
+    public boolean union(int x, int y) {
+        int rootX = find(x);
+        int rootY = find(y);
+
+        if (rootX == rootY) return false;
+
+        link(rootX, rootY);
+        return true;
+    }
+
+    /**
+     * Merges two distinct roots, for callers that already ran find.
+     */
+    void link(int rootX, int rootY) {
+        // Union by rank
+        if (rank[rootX] < rank[rootY]) {
+            parent[rootX] = rootY;
+        } else if (rank[rootX] > rank[rootY]) {
+            parent[rootY] = rootX;
+        } else {
+            parent[rootY] = rootX;
+            rank[rootX]++;
+        }
+        components--;
+        if (counting) instrumentation.onUnion();
+    }
+
+    public boolean connected(int x, int y) {
+        return find(x) == find(y);
+    }
+
+    public int getComponents() {
+        return components;
+    }
+}
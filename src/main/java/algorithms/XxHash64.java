@@ -0,0 +1,98 @@
+package algorithms;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+/**
+ * Streaming XXH64 (seed 0), fed in chunks of any size. Matches the reference implementation on
+ * the concatenation of all chunks; {@link #digest()} may be called once.
+ */
+final class XxHash64 {
+
+    private static final long P1 = 0x9E3779B185EBCA87L;
+    private static final long P2 = 0xC2B2AE3D27D4EB4FL;
+    private static final long P3 = 0x165667B19E3779F9L;
+    private static final long P4 = 0x85EBCA77C2B2AE63L;
+    private static final long P5 = 0x27D4EB2F165667C5L;
+
+    private long v1 = P1 + P2;
+    private long v2 = P2;
+    private long v3 = 0;
+    private long v4 = -P1;
+    private long length;
+
+    // Bytes of an unfinished 32-byte stripe
+    private final ByteBuffer pending = ByteBuffer.allocate(32).order(ByteOrder.LITTLE_ENDIAN);
+
+    /** Consumes the remaining bytes of data. */
+    void update(ByteBuffer data) {
+        data.order(ByteOrder.LITTLE_ENDIAN);
+        length += data.remaining();
+
+        if (pending.position() > 0) {
+            while (pending.hasRemaining() && data.hasRemaining()) {
+                pending.put(data.get());
+            }
+            if (pending.hasRemaining()) return;
+            stripe(pending.flip());
+            pending.clear();
+        }
+        while (data.remaining() >= 32) {
+            stripe(data);
+        }
+        pending.put(data);
+    }
+
+    long digest() {
+        long hash;
+        if (length >= 32) {
+            hash = Long.rotateLeft(v1, 1) + Long.rotateLeft(v2, 7) + Long.rotateLeft(v3, 12) + Long.rotateLeft(v4, 18);
+            hash = merge(hash, v1);
+            hash = merge(hash, v2);
+            hash = merge(hash, v3);
+            hash = merge(hash, v4);
+        } else {
+            hash = P5;
+        }
+        hash += length;
+
+        ByteBuffer tail = pending.flip();
+        while (tail.remaining() >= 8) {
+            hash ^= round(0, tail.getLong());
+            hash = Long.rotateLeft(hash, 27) * P1 + P4;
+        }
+        if (tail.remaining() >= 4) {
+            hash ^= (tail.getInt() & 0xFFFFFFFFL) * P1;
+            hash = Long.rotateLeft(hash, 23) * P2 + P3;
+        }
+        while (tail.hasRemaining()) {
+            hash ^= (tail.get() & 0xFFL) * P5;
+            hash = Long.rotateLeft(hash, 11) * P1;
+        }
+
+        hash ^= hash >>> 33;
+        hash *= P2;
+        hash ^= hash >>> 29;
+        hash *= P3;
+        hash ^= hash >>> 32;
+        return hash;
+    }
+
+    private void stripe(ByteBuffer data) {
+        v1 = round(v1, data.getLong());
+        v2 = round(v2, data.getLong());
+        v3 = round(v3, data.getLong());
+        v4 = round(v4, data.getLong());
+    }
+
+    private static long round(long accumulator, long input) {
+        accumulator += input * P2;
+        accumulator = Long.rotateLeft(accumulator, 31);
+        return accumulator * P1;
+    }
+
+    private static long merge(long hash, long accumulator) {
+        hash ^= round(0, accumulator);
+        return hash * P1 + P4;
+    }
+}
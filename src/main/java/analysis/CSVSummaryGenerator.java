@@ -1,38 +1,80 @@
 package analysis;
 
-import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import metrics.BenchmarkHistory;
+import metrics.Phase;
+import metrics.TimingStatistics;
 
 import java.io.File;
 import java.io.FileWriter;
 import java.io.IOException;
 import java.io.PrintWriter;
-import java.util.ArrayList;
-import java.util.List;
-
+import java.time.Instant;
+import java.util.*;
+
+/**
+ * Writes detailed_comparison.csv (one row per result) and summary_statistics.csv (one row per
+ * graph, one column group per algorithm) from a benchmark results file.
+ * <p>
+ * The results file is read in a single streaming pass: each result is parsed on its own (edge
+ * lists and sample arrays are skipped, not loaded), written to the detailed CSV straight away and
+ * folded into a per-graph, per-algorithm aggregate. Memory therefore depends on the number of
+ * distinct graphs and algorithms, not on the number of runs or the size of the MSTs.
+ * Any number of algorithms is supported; a result with a "variant" field is grouped as
+ * "algorithm/variant". Repeated runs of the same graph and algorithm are averaged, with a 95%
+ * confidence interval over the run medians.
+ * <p>
+ * Usage: {@code CSVSummaryGenerator [results.json [output-directory]] [--history F [--algorithm A] [--graph N]]},
+ * by default performance-data/assign_3_output.json and performance-data. With --history the runs
+ * in a {@link BenchmarkHistory} log, optionally filtered, are also written to history_trend.csv.
+ */
 public class CSVSummaryGenerator {
 
     private static final ObjectMapper objectMapper = new ObjectMapper();
 
     public static void main(String[] args) {
-        try {
-            System.out.println("Generating CSV performance summary...");
+        List<String> paths = new ArrayList<>();
+        String historyPath = null;
+        String historyAlgorithm = null;
+        int historyGraph = -1;
+        for (int i = 0; i < args.length; i++) {
+            if (args[i].equals("--history") && i + 1 < args.length) {
+                historyPath = args[++i];
+            } else if (args[i].equals("--algorithm") && i + 1 < args.length) {
+                historyAlgorithm = args[++i];
+            } else if (args[i].equals("--graph") && i + 1 < args.length) {
+                historyGraph = Integer.parseInt(args[++i]);
+            } else {
+                paths.add(args[i]);
+            }
+        }
+        File input = new File(paths.size() > 0 ? paths.get(0) : "performance-data/assign_3_output.json");
+        File outputDirectory = new File(paths.size() > 1 ? paths.get(1) : "performance-data");
+        if (historyPath != null && !new File(historyPath).isFile()) {
+            System.err.println("History file not found: " + historyPath);
+            return;
+        }
 
-            // Read results from JSON
-            JsonNode outputData = objectMapper.readTree(
-                    new File("performance-data/assign_3_output.json")
-            );
-            JsonNode results = outputData.get("results");
+        try {
+            if (historyPath != null) {
+                File trend = new File(outputDirectory, "history_trend.csv");
+                try (BenchmarkHistory history = new BenchmarkHistory(new File(historyPath), true)) {
+                    int rows = writeHistoryCSV(history, historyAlgorithm, historyGraph, trend);
+                    System.out.println("History: " + rows + " of " + history.size() + " runs written to " + trend.getPath());
+                }
+            }
 
-            // Generate detailed comparison CSV
-            generateDetailedCSV(results);
+            System.out.println("Generating CSV performance summary...");
 
-            // Generate summary statistics CSV
-            generateSummaryCSV(results);
+            Summary summary = generate(input, outputDirectory);
 
             System.out.println("\n✅ CSV files generated successfully!");
-            System.out.println("   - performance-data/detailed_comparison.csv");
-            System.out.println("   - performance-data/summary_statistics.csv");
+            System.out.println("   - " + new File(outputDirectory, "detailed_comparison.csv").getPath());
+            System.out.println("   - " + new File(outputDirectory, "summary_statistics.csv").getPath());
+
+            printSummaryStatistics(summary);
 
         } catch (IOException e) {
             System.err.println("Error generating CSV: " + e.getMessage());
@@ -40,151 +82,413 @@ public class CSVSummaryGenerator {
         }
     }
 
-    private static void generateDetailedCSV(JsonNode results) throws IOException {
-        File csvFile = new File("performance-data/detailed_comparison.csv");
+    /**
+     * Reads the results once, writing the detailed CSV while reading and the summary CSV at the end.
+     */
+    static Summary generate(File input, File outputDirectory) throws IOException {
+        Summary summary = new Summary();
 
-        try (PrintWriter writer = new PrintWriter(new FileWriter(csvFile))) {
-            // Write header
-            writer.println("Graph_ID,Graph_Name,Algorithm,Vertices,Edges,MST_Weight," +
-                    "Execution_Time_ms,Comparisons,Unions,Valid_MST");
-
-            // Write data rows
-            for (JsonNode result : results) {
-                writer.printf("%d,%s,%s,%d,%d,%d,%d,%d,%d,%s%n",
-                        result.get("graphId").asInt(),
-                        result.get("graphName").asText(),
-                        result.get("algorithm").asText(),
-                        result.get("vertices").asInt(),
-                        result.get("edges").asInt(),
-                        result.get("mstWeight").asInt(),
-                        result.get("executionTimeMs").asInt(),
-                        result.get("comparisons").asInt(),
-                        result.get("unions").asInt(),
-                        result.get("isValidMST").asBoolean()
-                );
+        try (JsonParser parser = objectMapper.getFactory().createParser(input);
+             PrintWriter detailed = new PrintWriter(new FileWriter(new File(outputDirectory, "detailed_comparison.csv")))) {
+
+            detailed.println("Graph_ID,Graph_Name,Algorithm,Vertices,Edges,MST_Weight," +
+                    "Execution_Time_ms,Comparisons,Unions,Valid_MST," +
+                    "Repetitions,Min_ns,Median_ns,Mean_ns,P90_ns,P99_ns,Stddev_ns,CI95_Low_ns,CI95_High_ns,Outliers," +
+                    "Allocated_Bytes,Allocated_Bytes_Total,GC_Count,GC_Time_ms" + phaseHeader(""));
+
+            moveToResults(parser, input);
+            while (parser.nextToken() == JsonToken.START_OBJECT) {
+                Map<String, Object> result = new HashMap<>();
+                readFields(parser, "", result);
+
+                writeDetailedRow(detailed, result);
+                summary.add(result);
+            }
+        }
+
+        writeSummaryCSV(summary, new File(outputDirectory, "summary_statistics.csv"));
+        return summary;
+    }
+
+    // Leaves the parser on the START_ARRAY of the top-level "results" field
+    private static void moveToResults(JsonParser parser, File input) throws IOException {
+        if (parser.nextToken() != JsonToken.START_OBJECT) {
+            throw new IOException("Expected a JSON object in " + input);
+        }
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String name = parser.getCurrentName();
+            JsonToken value = parser.nextToken();
+            if ("results".equals(name) && value == JsonToken.START_ARRAY) {
+                return;
             }
+            parser.skipChildren();
         }
+        throw new IOException("No \"results\" array in " + input);
     }
 
-    private static void generateSummaryCSV(JsonNode results) throws IOException {
-        // Collect data by graph
-        List<GraphComparison> comparisons = new ArrayList<>();
+    /**
+     * Flattens one result object into dotted keys ("timing.medianNs"). Numbers keep long or double
+     * precision; nested objects below the first level and all arrays are skipped.
+     */
+    private static void readFields(JsonParser parser, String prefix, Map<String, Object> into) throws IOException {
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String name = prefix + parser.getCurrentName();
+            JsonToken value = parser.nextToken();
+
+            switch (value) {
+                case START_OBJECT:
+                    if (prefix.isEmpty()) {
+                        readFields(parser, name + ".", into);
+                    } else {
+                        parser.skipChildren();
+                    }
+                    break;
+                case START_ARRAY:
+                    parser.skipChildren();
+                    break;
+                case VALUE_NUMBER_INT:
+                    into.put(name, parser.getLongValue());
+                    break;
+                case VALUE_NUMBER_FLOAT:
+                    into.put(name, parser.getDoubleValue());
+                    break;
+                case VALUE_TRUE:
+                case VALUE_FALSE:
+                    into.put(name, value == JsonToken.VALUE_TRUE);
+                    break;
+                case VALUE_STRING:
+                    into.put(name, parser.getText());
+                    break;
+                default:
+                    break;
+            }
+        }
+    }
+
+    private static void writeDetailedRow(PrintWriter writer, Map<String, Object> result) {
+        writer.printf("%d,%s,%s,%d,%d,%d,%.3f,%d,%d,%s,%d,%d,%.0f,%.0f,%.0f,%.0f,%.0f,%.0f,%.0f,%d,%d,%d,%d,%d",
+                longValue(result, "graphId", 0),
+                text(result, "graphName", ""),
+                label(result),
+                longValue(result, "vertices", 0),
+                longValue(result, "edges", 0),
+                longValue(result, "mstWeight", 0),
+                doubleValue(result, "executionTimeMs", 0),
+                longValue(result, "comparisons", 0),
+                longValue(result, "unions", 0),
+                result.getOrDefault("isValidMST", false),
+                longValue(result, "timing.repetitions", 1),
+                longValue(result, "timing.minNs", 0),
+                medianNs(result),
+                doubleValue(result, "timing.meanNs", 0),
+                doubleValue(result, "timing.p90Ns", 0),
+                doubleValue(result, "timing.p99Ns", 0),
+                doubleValue(result, "timing.stddevNs", 0),
+                ciLowNs(result),
+                ciHighNs(result),
+                longValue(result, "timing.outlierCount", 0),
+                longValue(result, "memory.allocatedBytes", -1),
+                longValue(result, "memory.allocatedBytesTotal", -1),
+                longValue(result, "memory.gcCount", 0),
+                longValue(result, "memory.gcTimeMs", 0)
+        );
+        for (Phase phase : Phase.values()) {
+            writer.print(',');
+            writer.print(longValue(result, "phases." + phase.getJsonName(), 0));
+        }
+        writer.println();
+    }
+
+    /**
+     * Writes the matching history runs, oldest first. Returns the number of rows.
+     */
+    static int writeHistoryCSV(BenchmarkHistory history, String algorithm, int graphId, File csvFile) throws IOException {
+        List<BenchmarkHistory.Run> runs = history.query(algorithm, graphId);
+        try (PrintWriter writer = new PrintWriter(new FileWriter(csvFile))) {
+            writer.println("Timestamp,Revision,JVM,JVM_Flags,Graph_ID,Algorithm,Vertices,Edges,MST_Weight," +
+                    "Repetitions,Median_ns,Mean_ns,P99_ns,CI95_Low_ns,CI95_High_ns,Comparisons,Unions," +
+                    "Allocated_Bytes,GC_Count,GC_Time_ms");
+            for (BenchmarkHistory.Run run : runs) {
+                writer.printf("%s,%s,\"%s\",\"%s\",%d,%s,%d,%d,%d,%d,%.0f,%.0f,%.0f,%.0f,%.0f,%d,%d,%d,%d,%d%n",
+                        Instant.ofEpochMilli(run.timestampMs), run.revision, run.jvm,
+                        run.jvmFlags.replace("\"", "\"\""), run.graphId, run.algorithm, run.vertices, run.edges,
+                        run.mstWeight, run.repetitions, run.medianNs, run.meanNs, run.p99Ns, run.ci95LowNs,
+                        run.ci95HighNs, run.comparisons, run.unions, run.allocatedBytes, run.gcCount, run.gcTimeMs);
+            }
+        }
+        return runs.size();
+    }
 
-        for (int i = 0; i < results.size(); i += 2) {
-            JsonNode primResult = results.get(i);
-            JsonNode kruskalResult = results.get(i + 1);
+    private static void writeSummaryCSV(Summary summary, File csvFile) throws IOException {
+        try (PrintWriter writer = new PrintWriter(new FileWriter(csvFile))) {
+            StringBuilder header = new StringBuilder("Graph_ID,Vertices,Edges,MST_Weight");
+            for (String algorithm : summary.algorithms) {
+                String prefix = algorithm.replace('/', '_') + "_";
+                header.append(',').append(prefix).append("Runs")
+                        .append(',').append(prefix).append("Median_ns")
+                        .append(',').append(prefix).append("Comparisons")
+                        .append(',').append(prefix).append("Unions")
+                        .append(',').append(prefix).append("Allocated_Bytes")
+                        .append(',').append(prefix).append("GC_Count")
+                        .append(phaseHeader(prefix));
+            }
+            header.append(",Faster_Algorithm,Time_Diff_ns,MST_Weights_Match");
+            writer.println(header);
+
+            for (int graphId : summary.graphs.sortedKeys()) {
+                GraphSummary graph = summary.graphs.get(graphId);
+                StringBuilder row = new StringBuilder();
+                row.append(graphId).append(',').append(graph.vertices).append(',').append(graph.edges)
+                        .append(',').append(graph.mstWeight());
+
+                for (String algorithm : summary.algorithms) {
+                    AlgorithmSummary runs = graph.algorithms.get(algorithm);
+                    if (runs == null) {
+                        row.append(",".repeat(6 + Phase.values().length));
+                        continue;
+                    }
+                    row.append(',').append(runs.runs)
+                            .append(',').append(String.format("%.0f", runs.meanMedianNs))
+                            .append(',').append(Math.round(runs.comparisons / (double) runs.runs))
+                            .append(',').append(Math.round(runs.unions / (double) runs.runs))
+                            .append(',').append(runs.allocatedBytes < 0 ? -1 : Math.round(runs.allocatedBytes / (double) runs.runs))
+                            .append(',').append(runs.gcCount);
+                    for (Phase phase : Phase.values()) {
+                        row.append(',').append(Math.round(runs.phaseNs[phase.ordinal()] / runs.runs));
+                    }
+                }
+
+                AlgorithmSummary[] ranked = graph.rankedByTime();
+                double timeDiff = ranked.length > 1 ? ranked[1].meanMedianNs - ranked[0].meanMedianNs : 0;
+                row.append(',').append(fasterAlgorithm(ranked))
+                        .append(',').append(String.format("%.0f", timeDiff))
+                        .append(',').append(graph.weightsMatch());
+                writer.println(row);
+            }
+        }
+    }
 
-            GraphComparison comp = new GraphComparison();
-            comp.graphId = primResult.get("graphId").asInt();
-            comp.vertices = primResult.get("vertices").asInt();
-            comp.edges = primResult.get("edges").asInt();
-            comp.mstWeight = primResult.get("mstWeight").asInt();
+    // Only call a winner when the 95% confidence intervals of the two fastest do not overlap
+    private static String fasterAlgorithm(AlgorithmSummary[] ranked) {
+        if (ranked.length == 0) return "";
+        if (ranked.length == 1) return ranked[0].name;
 
-            comp.primTime = primResult.get("executionTimeMs").asInt();
-            comp.primComparisons = primResult.get("comparisons").asInt();
+        AlgorithmSummary best = ranked[0];
+        AlgorithmSummary second = ranked[1];
+        boolean overlapping = best.ciLow() <= second.ciHigh() && second.ciLow() <= best.ciHigh();
+        boolean hasInterval = best.ciLow() < best.ciHigh() || second.ciLow() < second.ciHigh();
 
-            comp.kruskalTime = kruskalResult.get("executionTimeMs").asInt();
-            comp.kruskalComparisons = kruskalResult.get("comparisons").asInt();
-            comp.kruskalUnions = kruskalResult.get("unions").asInt();
+        if (hasInterval && overlapping) return "Inconclusive";
+        if (best.meanMedianNs < second.meanMedianNs) return best.name;
+        return "Equal";
+    }
 
-            comparisons.add(comp);
+    private static String phaseHeader(String prefix) {
+        StringBuilder header = new StringBuilder();
+        for (Phase phase : Phase.values()) {
+            header.append(',').append(prefix).append(phase.getCsvName()).append("_ns");
         }
+        return header.toString();
+    }
 
-        // Write summary CSV
-        File csvFile = new File("performance-data/summary_statistics.csv");
+    private static String label(Map<String, Object> result) {
+        String algorithm = text(result, "algorithm", "Unknown");
+        Object variant = result.get("variant");
+        return variant == null ? algorithm : algorithm + "/" + variant;
+    }
 
-        try (PrintWriter writer = new PrintWriter(new FileWriter(csvFile))) {
-            // Write header
-            writer.println("Graph_ID,Vertices,Edges,MST_Weight," +
-                    "Prim_Time_ms,Prim_Comparisons," +
-                    "Kruskal_Time_ms,Kruskal_Comparisons,Kruskal_Unions," +
-                    "Time_Diff_ms,Comparison_Diff,Faster_Algorithm");
-
-            // Write data rows
-            for (GraphComparison comp : comparisons) {
-                int timeDiff = comp.primTime - comp.kruskalTime;
-                int compDiff = comp.primComparisons - comp.kruskalComparisons;
-                String faster = timeDiff > 0 ? "Kruskal" :
-                        (timeDiff < 0 ? "Prim" : "Equal");
-
-                writer.printf("%d,%d,%d,%d,%d,%d,%d,%d,%d,%d,%d,%s%n",
-                        comp.graphId,
-                        comp.vertices,
-                        comp.edges,
-                        comp.mstWeight,
-                        comp.primTime,
-                        comp.primComparisons,
-                        comp.kruskalTime,
-                        comp.kruskalComparisons,
-                        comp.kruskalUnions,
-                        timeDiff,
-                        compDiff,
-                        faster
-                );
-            }
+    // Older result files only carry executionTimeMs, newer ones a "timing" block in nanoseconds
+    private static double medianNs(Map<String, Object> result) {
+        if (result.containsKey("timing.medianNs")) {
+            return doubleValue(result, "timing.medianNs", 0);
         }
+        return doubleValue(result, "executionTimeMs", 0) * 1_000_000.0;
+    }
+
+    private static double ciLowNs(Map<String, Object> result) {
+        return doubleValue(result, "timing.ci95LowNs", medianNs(result));
+    }
+
+    private static double ciHighNs(Map<String, Object> result) {
+        return doubleValue(result, "timing.ci95HighNs", medianNs(result));
+    }
+
+    private static long longValue(Map<String, Object> result, String key, long defaultValue) {
+        Object value = result.get(key);
+        return value instanceof Number ? ((Number) value).longValue() : defaultValue;
+    }
+
+    private static double doubleValue(Map<String, Object> result, String key, double defaultValue) {
+        Object value = result.get(key);
+        return value instanceof Number ? ((Number) value).doubleValue() : defaultValue;
+    }
 
-        // Print summary statistics to console
-        printSummaryStatistics(comparisons);
+    private static String text(Map<String, Object> result, String key, String defaultValue) {
+        Object value = result.get(key);
+        return value == null ? defaultValue : value.toString();
     }
 
-    private static void printSummaryStatistics(List<GraphComparison> comparisons) {
+    // One pass over the per-graph aggregates
+    private static void printSummaryStatistics(Summary summary) {
         System.out.println("\n" + "=".repeat(70));
         System.out.println("PERFORMANCE SUMMARY STATISTICS");
         System.out.println("=".repeat(70));
 
-        // Calculate averages
-        double avgPrimComparisons = comparisons.stream()
-                .mapToInt(c -> c.primComparisons)
-                .average()
-                .orElse(0);
-
-        double avgKruskalComparisons = comparisons.stream()
-                .mapToInt(c -> c.kruskalComparisons)
-                .average()
-                .orElse(0);
+        int algorithmCount = summary.algorithms.size();
+        List<String> algorithms = new ArrayList<>(summary.algorithms);
+        double[] comparisonSums = new double[algorithmCount];
+        int[] graphsRun = new int[algorithmCount];
+        int[] fewestComparisons = new int[algorithmCount];
+        int[] fastest = new int[algorithmCount];
+        long minVertices = Long.MAX_VALUE, maxVertices = 0, minEdges = Long.MAX_VALUE, maxEdges = 0;
+
+        for (int graphId : summary.graphs.sortedKeys()) {
+            GraphSummary graph = summary.graphs.get(graphId);
+            minVertices = Math.min(minVertices, graph.vertices);
+            maxVertices = Math.max(maxVertices, graph.vertices);
+            minEdges = Math.min(minEdges, graph.edges);
+            maxEdges = Math.max(maxEdges, graph.edges);
+
+            int fewest = -1;
+            double fewestValue = Double.MAX_VALUE;
+            boolean tie = false;
+            for (int a = 0; a < algorithmCount; a++) {
+                AlgorithmSummary runs = graph.algorithms.get(algorithms.get(a));
+                if (runs == null) continue;
+
+                double averageComparisons = runs.comparisons / (double) runs.runs;
+                comparisonSums[a] += averageComparisons;
+                graphsRun[a]++;
+                if (averageComparisons < fewestValue) {
+                    fewest = a;
+                    fewestValue = averageComparisons;
+                    tie = false;
+                } else if (averageComparisons == fewestValue) {
+                    tie = true;
+                }
+            }
+            if (fewest >= 0 && !tie) fewestComparisons[fewest]++;
 
-        // Count wins
-        long primWins = comparisons.stream()
-                .filter(c -> c.primComparisons < c.kruskalComparisons)
-                .count();
+            String winner = fasterAlgorithm(graph.rankedByTime());
+            int winnerIndex = algorithms.indexOf(winner);
+            if (winnerIndex >= 0) fastest[winnerIndex]++;
+        }
 
-        long kruskalWins = comparisons.stream()
-                .filter(c -> c.kruskalComparisons < c.primComparisons)
-                .count();
+        System.out.println("\nTotal Graphs Tested: " + summary.graphs.size());
+        System.out.println("Total Results Read:  " + summary.resultCount);
 
-        System.out.println("\nTotal Graphs Tested: " + comparisons.size());
         System.out.println("\nAverage Comparisons:");
-        System.out.printf("  Prim's Algorithm:    %.2f\n", avgPrimComparisons);
-        System.out.printf("  Kruskal's Algorithm: %.2f\n", avgKruskalComparisons);
-
-        System.out.println("\nComparison Efficiency:");
-        System.out.println("  Prim's fewer comparisons:    " + primWins + " graphs");
-        System.out.println("  Kruskal's fewer comparisons: " + kruskalWins + " graphs");
+        for (int a = 0; a < algorithmCount; a++) {
+            System.out.printf("  %-20s %.2f%n", algorithms.get(a) + ":", graphsRun[a] == 0 ? 0 : comparisonSums[a] / graphsRun[a]);
+        }
 
-        // Graph size ranges
-        int minVertices = comparisons.stream().mapToInt(c -> c.vertices).min().orElse(0);
-        int maxVertices = comparisons.stream().mapToInt(c -> c.vertices).max().orElse(0);
-        int minEdges = comparisons.stream().mapToInt(c -> c.edges).min().orElse(0);
-        int maxEdges = comparisons.stream().mapToInt(c -> c.edges).max().orElse(0);
+        System.out.println("\nGraphs won (fewest comparisons / significantly fastest):");
+        for (int a = 0; a < algorithmCount; a++) {
+            System.out.printf("  %-20s %d / %d%n", algorithms.get(a) + ":", fewestComparisons[a], fastest[a]);
+        }
 
-        System.out.println("\nGraph Size Range:");
-        System.out.println("  Vertices: " + minVertices + " - " + maxVertices);
-        System.out.println("  Edges:    " + minEdges + " - " + maxEdges);
+        if (summary.graphs.size() > 0) {
+            System.out.println("\nGraph Size Range:");
+            System.out.println("  Vertices: " + minVertices + " - " + maxVertices);
+            System.out.println("  Edges:    " + minEdges + " - " + maxEdges);
+        }
 
         System.out.println("\n" + "=".repeat(70));
     }
 
-    private static class GraphComparison {
-        int graphId;
-        int vertices;
-        int edges;
-        int mstWeight;
-        int primTime;
-        int primComparisons;
-        int kruskalTime;
-        int kruskalComparisons;
-        int kruskalUnions;
+    static class Summary {
+        final IntObjectMap<GraphSummary> graphs = new IntObjectMap<>();
+        final Set<String> algorithms = new LinkedHashSet<>();
+        long resultCount;
+
+        void add(Map<String, Object> result) {
+            String algorithm = label(result);
+            algorithms.add(algorithm);
+            resultCount++;
+
+            int graphId = (int) longValue(result, "graphId", 0);
+            GraphSummary graph = graphs.computeIfAbsent(graphId, id -> new GraphSummary());
+            graph.vertices = longValue(result, "vertices", graph.vertices);
+            graph.edges = longValue(result, "edges", graph.edges);
+            graph.algorithms.computeIfAbsent(algorithm, AlgorithmSummary::new).add(result);
+        }
     }
-}
 
+    static class GraphSummary {
+        long vertices;
+        long edges;
+        final Map<String, AlgorithmSummary> algorithms = new LinkedHashMap<>();
+
+        long mstWeight() {
+            return algorithms.values().iterator().next().mstWeight;
+        }
+
+        boolean weightsMatch() {
+            long weight = mstWeight();
+            return algorithms.values().stream().allMatch(runs -> runs.mstWeight == weight && !runs.weightsDiffer);
+        }
+
+        AlgorithmSummary[] rankedByTime() {
+            AlgorithmSummary[] ranked = algorithms.values().toArray(new AlgorithmSummary[0]);
+            Arrays.sort(ranked, Comparator.comparingDouble(runs -> runs.meanMedianNs));
+            return ranked;
+        }
+    }
+
+    /** Running totals over the runs of one algorithm on one graph (Welford mean/variance of medians). */
+    static class AlgorithmSummary {
+        final String name;
+        int runs;
+        double meanMedianNs;
+        double squaredDeviations;
+        double singleRunCiLow;
+        double singleRunCiHigh;
+        long comparisons;
+        long unions;
+        long allocatedBytes;
+        long gcCount;
+        final double[] phaseNs = new double[Phase.values().length];
+        long mstWeight;
+        boolean weightsDiffer;
+
+        AlgorithmSummary(String name) {
+            this.name = name;
+        }
+
+        void add(Map<String, Object> result) {
+            double median = medianNs(result);
+            runs++;
+            double delta = median - meanMedianNs;
+            meanMedianNs += delta / runs;
+            squaredDeviations += delta * (median - meanMedianNs);
+
+            singleRunCiLow = ciLowNs(result);
+            singleRunCiHigh = ciHighNs(result);
+            comparisons += longValue(result, "comparisons", 0);
+            unions += longValue(result, "unions", 0);
+            long allocated = longValue(result, "memory.allocatedBytes", -1);
+            allocatedBytes = allocated < 0 || allocatedBytes < 0 ? -1 : allocatedBytes + allocated;
+            gcCount += longValue(result, "memory.gcCount", 0);
+            for (Phase phase : Phase.values()) {
+                phaseNs[phase.ordinal()] += longValue(result, "phases." + phase.getJsonName(), 0);
+            }
+
+            long weight = longValue(result, "mstWeight", 0);
+            if (runs > 1 && weight != mstWeight) weightsDiffer = true;
+            mstWeight = weight;
+        }
+
+        double ciLow() {
+            return runs == 1 ? singleRunCiLow : meanMedianNs - halfWidth();
+        }
+
+        double ciHigh() {
+            return runs == 1 ? singleRunCiHigh : meanMedianNs + halfWidth();
+        }
+
+        private double halfWidth() {
+            double stddev = Math.sqrt(squaredDeviations / (runs - 1));
+            return TimingStatistics.criticalT95(runs - 1) * stddev / Math.sqrt(runs);
+        }
+    }
+}
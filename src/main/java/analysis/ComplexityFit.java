@@ -0,0 +1,189 @@
+package analysis;
+
+import metrics.TimingStatistics;
+
+/**
+ * Power-law fit y = c * x^b by least squares on log y = log c + b log x, where x is one of the
+ * size measures V, E or E log V. The exponent b says how the cost really scales: a run time fitted
+ * against E log V with b close to 1 matches the textbook bound, b well above 1 means something
+ * grows faster (cache misses, GC) than the model accounts for.
+ * Residuals are in log space, so the residual standard error s gives a multiplicative spread.
+ * {@link #getPredictionFactor} turns it into a 95% prediction interval for a new size x0:
+ * exp(t s sqrt(1 + 1/n + (log x0 - mean log x)^2 / Sxx)) with Student's t for n - 2 degrees of
+ * freedom. The interval widens with few points and with distance from the measured sizes, which
+ * is where extrapolations and budget predictions live.
+ */
+public class ComplexityFit {
+
+    public enum Predictor {
+        V("V"), E("E"), E_LOG_V("E log V");
+
+        private final String label;
+
+        Predictor(String label) {
+            this.label = label;
+        }
+
+        public double value(double vertices, double edges) {
+            switch (this) {
+                case V:
+                    return vertices;
+                case E:
+                    return edges;
+                default:
+                    return edges * Math.log(Math.max(2, vertices)) / Math.log(2);
+            }
+        }
+
+        public String getLabel() {
+            return label;
+        }
+    }
+
+    private final Predictor predictor;
+    private final double logCoefficient;
+    private final double exponent;
+    private final double rSquared;
+    private final double residualStdError;
+    private final double[] residuals;
+    private final double meanLogX;
+    private final double sxx;
+
+    private ComplexityFit(Predictor predictor, double logCoefficient, double exponent, double rSquared,
+                          double residualStdError, double[] residuals, double meanLogX, double sxx) {
+        this.predictor = predictor;
+        this.logCoefficient = logCoefficient;
+        this.exponent = exponent;
+        this.rSquared = rSquared;
+        this.residualStdError = residualStdError;
+        this.residuals = residuals;
+        this.meanLogX = meanLogX;
+        this.sxx = sxx;
+    }
+
+    /**
+     * Fits the measurements y (positive) taken on graphs with the given vertex and edge counts.
+     * Needs at least three points with at least two distinct predictor values.
+     */
+    public static ComplexityFit fit(Predictor predictor, double[] vertices, double[] edges, double[] y) {
+        int n = y.length;
+        if (vertices.length != n || edges.length != n) {
+            throw new IllegalArgumentException("Vertices, edges and measurements must have the same length");
+        }
+        if (n < 3) {
+            throw new IllegalArgumentException("At least 3 measurements are needed for a fit, got " + n);
+        }
+
+        double[] logX = new double[n];
+        double[] logY = new double[n];
+        double meanX = 0;
+        double meanY = 0;
+        for (int i = 0; i < n; i++) {
+            double x = predictor.value(vertices[i], edges[i]);
+            if (x <= 0 || y[i] <= 0) {
+                throw new IllegalArgumentException("Sizes and measurements must be positive for a log-log fit");
+            }
+            logX[i] = Math.log(x);
+            logY[i] = Math.log(y[i]);
+            meanX += logX[i];
+            meanY += logY[i];
+        }
+        meanX /= n;
+        meanY /= n;
+
+        double sxx = 0;
+        double sxy = 0;
+        double syy = 0;
+        for (int i = 0; i < n; i++) {
+            sxx += (logX[i] - meanX) * (logX[i] - meanX);
+            sxy += (logX[i] - meanX) * (logY[i] - meanY);
+            syy += (logY[i] - meanY) * (logY[i] - meanY);
+        }
+        if (sxx == 0) {
+            throw new IllegalArgumentException("All graphs have the same " + predictor.getLabel() + "; nothing to fit");
+        }
+
+        double exponent = sxy / sxx;
+        double logCoefficient = meanY - exponent * meanX;
+
+        double[] residuals = new double[n];
+        double sse = 0;
+        for (int i = 0; i < n; i++) {
+            residuals[i] = logY[i] - (logCoefficient + exponent * logX[i]);
+            sse += residuals[i] * residuals[i];
+        }
+        double rSquared = syy == 0 ? 1 : 1 - sse / syy;
+        double residualStdError = Math.sqrt(sse / (n - 2));
+
+        return new ComplexityFit(predictor, logCoefficient, exponent, rSquared, residualStdError, residuals,
+                meanX, sxx);
+    }
+
+    public double predict(double vertices, double edges) {
+        return Math.exp(logCoefficient + exponent * Math.log(predictor.value(vertices, edges)));
+    }
+
+    /**
+     * Smallest vertex count, at the given average degree (E / V), whose predicted value exceeds
+     * the budget; Long.MAX_VALUE if it never does below 2^40 vertices.
+     */
+    public long sizeExceeding(double budget, double edgesPerVertex) {
+        long low = 1;
+        long high = 1L << 40;
+        if (predict(high, high * edgesPerVertex) <= budget) return Long.MAX_VALUE;
+
+        while (low < high) {
+            long mid = low + (high - low) / 2;
+            if (predict(mid, mid * edgesPerVertex) > budget) {
+                high = mid;
+            } else {
+                low = mid + 1;
+            }
+        }
+        return low;
+    }
+
+    public Predictor getPredictor() {
+        return predictor;
+    }
+
+    public double getExponent() {
+        return exponent;
+    }
+
+    public double getCoefficient() {
+        return Math.exp(logCoefficient);
+    }
+
+    public double getRSquared() {
+        return rSquared;
+    }
+
+    public double getResidualStdError() {
+        return residualStdError;
+    }
+
+    /** Multiplicative spread of the measurements around the fit, exp(t s); not a prediction interval. */
+    public double getErrorFactor() {
+        return Math.exp(TimingStatistics.criticalT95(residuals.length - 2) * residualStdError);
+    }
+
+    /** Multiplicative 95% prediction interval at the given size: a new run lies within [y / f, y * f]. */
+    public double getPredictionFactor(double vertices, double edges) {
+        int n = residuals.length;
+        double distance = Math.log(predictor.value(vertices, edges)) - meanLogX;
+        return Math.exp(TimingStatistics.criticalT95(n - 2) * residualStdError
+                * Math.sqrt(1 + 1.0 / n + distance * distance / sxx));
+    }
+
+    /** log(measured / fitted) per point, in input order. */
+    public double[] getResiduals() {
+        return residuals.clone();
+    }
+
+    @Override
+    public String toString() {
+        return String.format("y = %.4g * (%s)^%.3f, R^2=%.4f, error factor x%.2f",
+                getCoefficient(), predictor.getLabel(), exponent, rSquared, getErrorFactor());
+    }
+}
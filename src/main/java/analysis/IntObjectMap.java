@@ -0,0 +1,98 @@
+package analysis;
+
+import java.util.Arrays;
+import java.util.function.IntFunction;
+
+/**
+ * Open-addressing int -> object hash map (linear probing, no boxing of keys), for grouping
+ * results by graph id.
+ */
+final class IntObjectMap<V> {
+
+    private int[] keys;
+    private Object[] values;
+    private boolean[] used;
+    private int size;
+
+    IntObjectMap() {
+        this(16);
+    }
+
+    IntObjectMap(int expectedSize) {
+        int capacity = Integer.highestOneBit(Math.max(4, expectedSize * 2 - 1)) << 1;
+        keys = new int[capacity];
+        values = new Object[capacity];
+        used = new boolean[capacity];
+    }
+
+    @SuppressWarnings("unchecked")
+    V get(int key) {
+        int slot = find(key);
+        return used[slot] ? (V) values[slot] : null;
+    }
+
+    @SuppressWarnings("unchecked")
+    V computeIfAbsent(int key, IntFunction<V> factory) {
+        int slot = find(key);
+        if (used[slot]) {
+            return (V) values[slot];
+        }
+
+        V value = factory.apply(key);
+        keys[slot] = key;
+        values[slot] = value;
+        used[slot] = true;
+        if (++size * 2 > keys.length) {
+            grow();
+        }
+        return value;
+    }
+
+    int size() {
+        return size;
+    }
+
+    /** All keys in ascending order. */
+    int[] sortedKeys() {
+        int[] sorted = new int[size];
+        int n = 0;
+        for (int slot = 0; slot < keys.length; slot++) {
+            if (used[slot]) sorted[n++] = keys[slot];
+        }
+        Arrays.sort(sorted);
+        return sorted;
+    }
+
+    private int find(int key) {
+        int mask = keys.length - 1;
+        int slot = mix(key) & mask;
+        while (used[slot] && keys[slot] != key) {
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+
+    private void grow() {
+        int[] oldKeys = keys;
+        Object[] oldValues = values;
+        boolean[] oldUsed = used;
+
+        keys = new int[oldKeys.length * 2];
+        values = new Object[oldKeys.length * 2];
+        used = new boolean[oldKeys.length * 2];
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldUsed[i]) {
+                int slot = find(oldKeys[i]);
+                keys[slot] = oldKeys[i];
+                values[slot] = oldValues[i];
+                used[slot] = true;
+            }
+        }
+    }
+
+    // Graph ids are usually consecutive; spread them so probing stays short
+    private static int mix(int key) {
+        int h = key * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+}
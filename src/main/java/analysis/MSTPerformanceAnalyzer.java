@@ -2,17 +2,54 @@ package analysis;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.JsonNode;
+import metrics.BenchmarkHistory;
+import metrics.LatencyRecorder;
+import metrics.Phase;
+import org.HdrHistogram.Histogram;
 import java.io.File;
 import java.io.IOException;
 import java.util.*;
 
 
+/**
+ * Prints the analysis of performance-data/assign_3_output.json.
+ * Optional arguments: a latency log written by the benchmark runner (default
+ * performance-data/assign_3_latency.hlog) and a baseline latency log to compare it against, plus
+ * <pre>
+ *   --extrapolate V[:E],...  sizes to predict run times for (E defaults to the measured average degree)
+ *   --budget-ms T            report the graph size at which each algorithm exceeds T milliseconds
+ *   --history F              benchmark history log to show trends from (default
+ *                            performance-data/assign_3_history.bin, skipped if absent)
+ * </pre>
+ */
 public class MSTPerformanceAnalyzer {
 
     private static final ObjectMapper objectMapper = new ObjectMapper();
 
+    private static final long[] DEFAULT_EXTRAPOLATION_VERTICES = {100_000, 1_000_000, 10_000_000};
+
     public static void main(String[] args) {
         try {
+            List<String> logs = new ArrayList<>();
+            List<double[]> extrapolationSizes = new ArrayList<>();
+            double budgetMs = 0;
+            File historyLog = new File("performance-data/assign_3_history.bin");
+            for (int i = 0; i < args.length; i++) {
+                if (args[i].equals("--extrapolate") && i + 1 < args.length) {
+                    for (String size : args[++i].split(",")) {
+                        String[] parts = size.split(":");
+                        extrapolationSizes.add(new double[]{Double.parseDouble(parts[0]),
+                                parts.length > 1 ? Double.parseDouble(parts[1]) : -1});
+                    }
+                } else if (args[i].equals("--budget-ms") && i + 1 < args.length) {
+                    budgetMs = Double.parseDouble(args[++i]);
+                } else if (args[i].equals("--history") && i + 1 < args.length) {
+                    historyLog = new File(args[++i]);
+                } else {
+                    logs.add(args[i]);
+                }
+            }
+
             System.out.println("=== MST Algorithm Performance Analysis ===\n");
 
             // Load results from output JSON
@@ -25,11 +62,24 @@ public class MSTPerformanceAnalyzer {
             // Generate performance comparison
             generatePerformanceComparison(results);
 
+            // Tail latencies from the HdrHistogram log, if the runner wrote one
+            File latencyLog = new File(logs.size() > 0 ? logs.get(0) : "performance-data/assign_3_latency.hlog");
+            File baselineLog = logs.size() > 1 ? new File(logs.get(1)) : null;
+            generateLatencyAnalysis(latencyLog, baselineLog);
+
+            // Trends across earlier runs of the benchmark
+            generateHistoryTrend(historyLog);
+
+            // Fit measured scaling and extrapolate
+            generateEmpiricalComplexity(results, extrapolationSizes, budgetMs);
+
             // Generate theoretical analysis
             generateTheoreticalAnalysis();
 
         } catch (IOException e) {
             System.err.println("Error reading output file: " + e.getMessage());
+        } catch (NumberFormatException e) {
+            System.err.println("Invalid size or budget: " + e.getMessage());
         }
     }
 
@@ -64,11 +114,11 @@ public class MSTPerformanceAnalyzer {
                 int vertices = result.get("vertices").asInt();
                 int edges = result.get("edges").asInt();
                 int mstWeight = result.get("mstWeight").asInt();
-                long executionTime = result.get("executionTimeMs").asLong();
+                double executionTime = result.get("executionTimeMs").asDouble();
                 long comparisons = result.get("comparisons").asLong();
                 long unions = result.get("unions").asLong();
 
-                System.out.printf("Graph %d: V=%d, E=%d, Weight=%d, Time=%dms, Comparisons=%d, Unions=%d%n",
+                System.out.printf("Graph %d: V=%d, E=%d, Weight=%d, Time=%.3fms, Comparisons=%d, Unions=%d%n",
                         graphId, vertices, edges, mstWeight, executionTime, comparisons, unions);
 
                 totalTime += executionTime;
@@ -107,15 +157,17 @@ public class MSTPerformanceAnalyzer {
             JsonNode kruskalResult = algorithms.get("Kruskal");
 
             if (primResult != null && kruskalResult != null) {
-                System.out.printf("%8d | %-8s | %8d | %5d | %10d | %7d | %11d | %6d%n",
+                System.out.printf("%8d | %-8s | %8d | %5d | %10d | %8.3f | %11d | %6d%n",
                         graphId, "Prim", primResult.get("vertices").asInt(), primResult.get("edges").asInt(),
-                        primResult.get("mstWeight").asInt(), primResult.get("executionTimeMs").asLong(),
+                        primResult.get("mstWeight").asInt(), primResult.get("executionTimeMs").asDouble(),
                         primResult.get("comparisons").asLong(), primResult.get("unions").asLong());
+                printPhaseBreakdown(primResult);
 
-                System.out.printf("%8d | %-8s | %8d | %5d | %10d | %7d | %11d | %6d%n",
+                System.out.printf("%8d | %-8s | %8d | %5d | %10d | %8.3f | %11d | %6d%n",
                         graphId, "Kruskal", kruskalResult.get("vertices").asInt(), kruskalResult.get("edges").asInt(),
-                        kruskalResult.get("mstWeight").asInt(), kruskalResult.get("executionTimeMs").asLong(),
+                        kruskalResult.get("mstWeight").asInt(), kruskalResult.get("executionTimeMs").asDouble(),
                         kruskalResult.get("comparisons").asLong(), kruskalResult.get("unions").asLong());
+                printPhaseBreakdown(kruskalResult);
 
                 // Verify MST weights are identical
                 int primWeight = primResult.get("mstWeight").asInt();
@@ -135,6 +187,25 @@ public class MSTPerformanceAnalyzer {
         calculateAverageMetrics(graphResults);
     }
 
+    // Median time per phase and its share of the phased run; absent in older result files
+    private static void printPhaseBreakdown(JsonNode result) {
+        JsonNode phases = result.get("phases");
+        if (phases == null) return;
+
+        long total = 0;
+        for (Phase phase : Phase.values()) {
+            total += phases.path(phase.getJsonName()).asLong();
+        }
+        if (total == 0) return;
+
+        StringBuilder line = new StringBuilder("         phases:");
+        for (Phase phase : Phase.values()) {
+            long nanos = phases.path(phase.getJsonName()).asLong();
+            line.append(String.format(" %s %.3fms (%.0f%%)", phase.getCsvName(), nanos / 1e6, 100.0 * nanos / total));
+        }
+        System.out.println(line);
+    }
+
     private static void calculateAverageMetrics(Map<Integer, Map<String, JsonNode>> graphResults) {
         System.out.println("\nAverage Performance Metrics:");
         System.out.println("-".repeat(40));
@@ -152,8 +223,8 @@ public class MSTPerformanceAnalyzer {
             JsonNode kruskalResult = algorithms.get("Kruskal");
 
             if (primResult != null && kruskalResult != null) {
-                primAvgTime += primResult.get("executionTimeMs").asLong();
-                kruskalAvgTime += kruskalResult.get("executionTimeMs").asLong();
+                primAvgTime += primResult.get("executionTimeMs").asDouble();
+                kruskalAvgTime += kruskalResult.get("executionTimeMs").asDouble();
                 primAvgComparisons += primResult.get("comparisons").asLong();
                 kruskalAvgComparisons += kruskalResult.get("comparisons").asLong();
                 primAvgUnions += primResult.get("unions").asLong();
@@ -184,8 +255,187 @@ public class MSTPerformanceAnalyzer {
         }
     }
 
+    private static void generateLatencyAnalysis(File latencyLog, File baselineLog) throws IOException {
+        if (!latencyLog.exists()) return;
+
+        Map<String, Histogram> histograms = LatencyRecorder.readLog(latencyLog);
+        System.out.println("\nLatency Distribution (us, " + latencyLog.getPath() + "):");
+        System.out.println("-".repeat(40));
+        System.out.printf("%-16s | %9s | %9s | %9s | %9s | %9s%n", "Algorithm/Size", "Solves", "p50", "p99", "p99.9", "Max");
+        for (Map.Entry<String, Histogram> entry : histograms.entrySet()) {
+            Histogram histogram = entry.getValue();
+            System.out.printf("%-16s | %9d | %9d | %9d | %9d | %9d%n", entry.getKey(), histogram.getTotalCount(),
+                    histogram.getValueAtPercentile(50), histogram.getValueAtPercentile(99),
+                    histogram.getValueAtPercentile(99.9), histogram.getMaxValue());
+        }
+
+        // Prim vs Kruskal tail latency within each size class
+        for (Map.Entry<String, Histogram> entry : histograms.entrySet()) {
+            if (!entry.getKey().startsWith("Prim/")) continue;
+
+            String sizeClass = entry.getKey().substring("Prim/".length());
+            Histogram kruskal = histograms.get("Kruskal/" + sizeClass);
+            if (kruskal == null) continue;
+
+            long primP99 = entry.getValue().getValueAtPercentile(99);
+            long kruskalP99 = kruskal.getValueAtPercentile(99);
+            System.out.printf("V %s: p99 Prim=%dus, Kruskal=%dus -> %s has the lower tail%n", sizeClass,
+                    primP99, kruskalP99, primP99 < kruskalP99 ? "Prim" : kruskalP99 < primP99 ? "Kruskal" : "neither");
+        }
+
+        if (baselineLog == null) return;
+
+        Map<String, Histogram> baseline = LatencyRecorder.readLog(baselineLog);
+        System.out.println("\nLatency vs baseline " + baselineLog.getPath() + " (p99 / p99.9 change):");
+        for (Map.Entry<String, Histogram> entry : histograms.entrySet()) {
+            Histogram before = baseline.get(entry.getKey());
+            if (before == null) {
+                System.out.printf("%-16s | not in baseline%n", entry.getKey());
+                continue;
+            }
+            System.out.printf("%-16s | p99 %+.1f%% | p99.9 %+.1f%%%n", entry.getKey(),
+                    percentChange(before.getValueAtPercentile(99), entry.getValue().getValueAtPercentile(99)),
+                    percentChange(before.getValueAtPercentile(99.9), entry.getValue().getValueAtPercentile(99.9)));
+        }
+    }
+
+    private static double percentChange(long before, long after) {
+        return before == 0 ? 0 : 100.0 * (after - before) / before;
+    }
+
+    private static void generateHistoryTrend(File historyLog) throws IOException {
+        if (!historyLog.exists()) return;
+
+        long start = System.nanoTime();
+        try (BenchmarkHistory history = new BenchmarkHistory(historyLog, true)) {
+            System.out.printf("%nHistory Trend (%s, %d runs):%n", historyLog.getPath(), history.size());
+            System.out.println("-".repeat(40));
+            System.out.printf("%-10s | %5s | %4s | %12s | %12s | %8s | %12s | %s%n", "Algorithm", "Graph", "Runs",
+                    "First (ms)", "Latest (ms)", "Change", "Best (ms)", "Best / latest revision");
+
+            for (String algorithm : history.getAlgorithms()) {
+                for (int graphId : history.getGraphIds()) {
+                    List<BenchmarkHistory.Run> runs = history.query(algorithm, graphId);
+                    if (runs.isEmpty()) continue;
+
+                    BenchmarkHistory.Run first = runs.get(0);
+                    BenchmarkHistory.Run latest = runs.get(runs.size() - 1);
+                    BenchmarkHistory.Run best = first;
+                    for (BenchmarkHistory.Run run : runs) {
+                        if (run.medianNs < best.medianNs) best = run;
+                    }
+                    System.out.printf("%-10s | %5d | %4d | %12.3f | %12.3f | %+7.1f%% | %12.3f | %s / %s%n",
+                            algorithm, graphId, runs.size(), first.medianNs / 1e6, latest.medianNs / 1e6,
+                            (latest.medianNs / first.medianNs - 1) * 100, best.medianNs / 1e6,
+                            best.revision, latest.revision);
+                    if (!first.jvm.equals(latest.jvm) || !first.jvmFlags.equals(latest.jvmFlags)) {
+                        System.out.printf("%-10s   JVM changed: [%s %s] -> [%s %s]%n", "", first.jvm,
+                                first.jvmFlags, latest.jvm, latest.jvmFlags);
+                    }
+                }
+            }
+            System.out.printf("History queried in %.1fms%n", (System.nanoTime() - start) / 1e6);
+        }
+    }
+
+    private static void generateEmpiricalComplexity(JsonNode results, List<double[]> extrapolationSizes, double budgetMs) {
+        System.out.println("\n\n3. EMPIRICAL COMPLEXITY");
+        System.out.println("=======================");
+        System.out.println("Log-log least squares fits y = c * x^b; b close to 1 for the right x means the model holds.");
+
+        Map<String, List<JsonNode>> byAlgorithm = new LinkedHashMap<>();
+        for (JsonNode result : results) {
+            byAlgorithm.computeIfAbsent(result.get("algorithm").asText(), k -> new ArrayList<>()).add(result);
+        }
+
+        for (Map.Entry<String, List<JsonNode>> entry : byAlgorithm.entrySet()) {
+            List<JsonNode> runs = entry.getValue();
+            int n = runs.size();
+            double[] vertices = new double[n];
+            double[] edges = new double[n];
+            double[] timeNs = new double[n];
+            double[] comparisons = new double[n];
+            double edgesPerVertex = 0;
+            for (int i = 0; i < n; i++) {
+                JsonNode run = runs.get(i);
+                vertices[i] = run.get("vertices").asDouble();
+                edges[i] = run.get("edges").asDouble();
+                JsonNode timing = run.get("timing");
+                timeNs[i] = timing != null && timing.has("medianNs")
+                        ? timing.get("medianNs").asDouble() : run.get("executionTimeMs").asDouble() * 1e6;
+                comparisons[i] = run.get("comparisons").asDouble();
+                edgesPerVertex += edges[i] / vertices[i] / n;
+            }
+
+            System.out.println("\n" + entry.getKey() + "'s Algorithm (" + n + " graphs):");
+            System.out.printf("  %-12s | %-8s | %8s | %8s | %12s%n", "Metric", "x", "Exponent", "R^2", "Error factor");
+
+            ComplexityFit bestTimeFit = null;
+            try {
+                for (ComplexityFit.Predictor predictor : ComplexityFit.Predictor.values()) {
+                    ComplexityFit timeFit = ComplexityFit.fit(predictor, vertices, edges, timeNs);
+                    printFit("Time", timeFit);
+                    if (bestTimeFit == null || timeFit.getRSquared() > bestTimeFit.getRSquared()) {
+                        bestTimeFit = timeFit;
+                    }
+                }
+            } catch (IllegalArgumentException e) {
+                System.out.println("  Cannot fit time: " + e.getMessage());
+                continue;
+            }
+            // Counts can be zero (e.g. no comparisons counted), which only rules out these fits
+            try {
+                for (ComplexityFit.Predictor predictor : ComplexityFit.Predictor.values()) {
+                    printFit("Comparisons", ComplexityFit.fit(predictor, vertices, edges, comparisons));
+                }
+            } catch (IllegalArgumentException e) {
+                System.out.println("  Cannot fit comparisons: " + e.getMessage());
+            }
+
+            System.out.println("  Best time model: " + bestTimeFit);
+            System.out.println("  Residuals (measured vs fitted):");
+            double[] residuals = bestTimeFit.getResiduals();
+            for (int i = 0; i < n; i++) {
+                System.out.printf("    Graph %d: V=%.0f, E=%.0f, %.3fms measured, %.3fms fitted (%+.1f%%)%n",
+                        runs.get(i).get("graphId").asInt(), vertices[i], edges[i], timeNs[i] / 1e6,
+                        bestTimeFit.predict(vertices[i], edges[i]) / 1e6, 100 * (Math.exp(residuals[i]) - 1));
+            }
+
+            System.out.printf("  Extrapolated run time (avg degree %.1f unless E given):%n", 2 * edgesPerVertex);
+            List<double[]> sizes = new ArrayList<>(extrapolationSizes);
+            if (sizes.isEmpty()) {
+                for (long v : DEFAULT_EXTRAPOLATION_VERTICES) {
+                    sizes.add(new double[]{v, -1});
+                }
+            }
+            for (double[] size : sizes) {
+                double v = size[0];
+                double e = size[1] >= 0 ? size[1] : v * edgesPerVertex;
+                double predicted = bestTimeFit.predict(v, e);
+                double factor = bestTimeFit.getPredictionFactor(v, e);
+                System.out.printf("    V=%.0f, E=%.0f: %.3fms (95%%: %.3f - %.3fms)%n",
+                        v, e, predicted / 1e6, predicted / factor / 1e6, predicted * factor / 1e6);
+            }
+
+            if (budgetMs > 0) {
+                long limit = bestTimeFit.sizeExceeding(budgetMs * 1e6, edgesPerVertex);
+                if (limit == Long.MAX_VALUE) {
+                    System.out.printf("  Budget %.3fms: not exceeded at any practical size%n", budgetMs);
+                } else {
+                    System.out.printf("  Budget %.3fms: exceeded from about V=%d (E=%.0f)%n",
+                            budgetMs, limit, limit * edgesPerVertex);
+                }
+            }
+        }
+    }
+
+    private static void printFit(String metric, ComplexityFit fit) {
+        System.out.printf("  %-12s | %-8s | %8.3f | %8.4f | %11.2fx%n", metric, fit.getPredictor().getLabel(),
+                fit.getExponent(), fit.getRSquared(), fit.getErrorFactor());
+    }
+
     private static void generateTheoreticalAnalysis() {
-        System.out.println("\n\n3. THEORETICAL ANALYSIS");
+        System.out.println("\n\n4. THEORETICAL ANALYSIS");
         System.out.println("=======================");
 
         System.out.println("\nPrim's Algorithm:");
@@ -212,7 +462,7 @@ public class MSTPerformanceAnalyzer {
         System.out.println("  * Requires sorting all edges");
         System.out.println("  * Union-Find operations add overhead");
 
-        System.out.println("\n\n4. CONCLUSIONS");
+        System.out.println("\n\n5. CONCLUSIONS");
         System.out.println("===============");
         System.out.println("1. Both algorithms produce identical MST weights (verified in tests)");
         System.out.println("2. Choice depends on graph characteristics:");
@@ -0,0 +1,320 @@
+package analysis;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.File;
+import java.io.IOException;
+import java.util.*;
+
+/**
+ * Compares a current results file against a baseline and reports significant slowdowns.
+ * Runs are matched by graph and algorithm (algorithm/variant when a variant is given). For each
+ * pair the per-repetition samples (timing.samplesNs, and memory.allocatedBytesPerRun when the JVM
+ * measured allocation) are compared with a two-sided Mann-Whitney U test. A metric is a regression
+ * when the test is significant and the median grew by more than the threshold, an improvement
+ * when it shrank by more than the threshold.
+ * <p>
+ * Usage: {@code baseline.json current.json [--threshold 0.05] [--alpha 0.05]}. Exits with 1 when
+ * any regression is found and 2 when the input cannot be read, so it can gate a build.
+ * Run the benchmark with {@code --repetitions 5} or more; with fewer samples per side no
+ * difference can reach significance at alpha 0.05.
+ */
+public class RegressionDetector {
+
+    private static final ObjectMapper objectMapper = new ObjectMapper();
+
+    // Above this many pooled samples the exact distribution is replaced by the normal approximation
+    private static final int EXACT_LIMIT = 50;
+
+    public enum Verdict {
+        REGRESSION, IMPROVEMENT, UNCHANGED, NOT_TESTED
+    }
+
+    /** One metric of one graph/algorithm pair. */
+    public static class Comparison {
+        public final String key;
+        public final String metric;
+        public final int baselineCount;
+        public final int currentCount;
+        public final double baselineMedian;
+        public final double currentMedian;
+        public final double change;
+        public final double pValue;
+        public final Verdict verdict;
+
+        Comparison(String key, String metric, long[] baseline, long[] current, double threshold, double alpha) {
+            this.key = key;
+            this.metric = metric;
+            this.baselineCount = baseline.length;
+            this.currentCount = current.length;
+            this.baselineMedian = median(baseline);
+            this.currentMedian = median(current);
+            this.change = currentMedian / baselineMedian - 1;
+            this.pValue = mannWhitneyPValue(baseline, current);
+
+            if (pValue >= alpha) {
+                verdict = Verdict.UNCHANGED;
+            } else if (change > threshold) {
+                verdict = Verdict.REGRESSION;
+            } else if (change < -threshold) {
+                verdict = Verdict.IMPROVEMENT;
+            } else {
+                verdict = Verdict.UNCHANGED;
+            }
+        }
+
+        Comparison(String key, String metric) {
+            this.key = key;
+            this.metric = metric;
+            this.baselineCount = 0;
+            this.currentCount = 0;
+            this.baselineMedian = Double.NaN;
+            this.currentMedian = Double.NaN;
+            this.change = Double.NaN;
+            this.pValue = Double.NaN;
+            this.verdict = Verdict.NOT_TESTED;
+        }
+    }
+
+    public static void main(String[] args) {
+        List<String> files = new ArrayList<>();
+        double threshold = 0.05;
+        double alpha = 0.05;
+        try {
+            for (int i = 0; i < args.length; i++) {
+                if (args[i].equals("--threshold") && i + 1 < args.length) {
+                    threshold = Double.parseDouble(args[++i]);
+                } else if (args[i].equals("--alpha") && i + 1 < args.length) {
+                    alpha = Double.parseDouble(args[++i]);
+                } else {
+                    files.add(args[i]);
+                }
+            }
+            if (files.size() != 2 || threshold < 0 || alpha <= 0 || alpha >= 1) {
+                throw new IllegalArgumentException(
+                        "Usage: RegressionDetector baseline.json current.json [--threshold 0.05] [--alpha 0.05]");
+            }
+
+            JsonNode baseline = objectMapper.readTree(new File(files.get(0))).get("results");
+            JsonNode current = objectMapper.readTree(new File(files.get(1))).get("results");
+            List<Comparison> comparisons = compare(baseline, current, threshold, alpha);
+
+            System.out.printf("Baseline: %s%nCurrent:  %s%nThreshold %.1f%%, alpha %.3f%n%n",
+                    files.get(0), files.get(1), threshold * 100, alpha);
+            int regressions = printReport(comparisons);
+            System.exit(regressions > 0 ? 1 : 0);
+
+        } catch (IOException e) {
+            System.err.println("Error reading results file: " + e.getMessage());
+            System.exit(2);
+        } catch (IllegalArgumentException e) {
+            System.err.println(e.getMessage());
+            System.exit(2);
+        }
+    }
+
+    /**
+     * Matches the two result arrays and compares every metric present on both sides. Repeated
+     * runs of the same graph and algorithm are pooled. Pairs found on one side only come back as
+     * NOT_TESTED with metric "missing".
+     */
+    static List<Comparison> compare(JsonNode baseline, JsonNode current, double threshold, double alpha) {
+        if (baseline == null || current == null) {
+            throw new IllegalArgumentException("Both files need a \"results\" array");
+        }
+        Map<String, Map<String, List<Long>>> baselineSamples = collectSamples(baseline);
+        Map<String, Map<String, List<Long>>> currentSamples = collectSamples(current);
+
+        Set<String> keys = new LinkedHashSet<>(baselineSamples.keySet());
+        keys.addAll(currentSamples.keySet());
+
+        List<Comparison> comparisons = new ArrayList<>();
+        for (String key : keys) {
+            Map<String, List<Long>> before = baselineSamples.get(key);
+            Map<String, List<Long>> after = currentSamples.get(key);
+            if (before == null || after == null) {
+                comparisons.add(new Comparison(key, "missing"));
+                continue;
+            }
+            for (Map.Entry<String, List<Long>> metric : before.entrySet()) {
+                List<Long> afterSamples = after.get(metric.getKey());
+                if (afterSamples == null) continue;
+
+                comparisons.add(new Comparison(key, metric.getKey(), toArray(metric.getValue()),
+                        toArray(afterSamples), threshold, alpha));
+            }
+        }
+        return comparisons;
+    }
+
+    private static Map<String, Map<String, List<Long>>> collectSamples(JsonNode results) {
+        Map<String, Map<String, List<Long>>> samples = new LinkedHashMap<>();
+        for (JsonNode result : results) {
+            String algorithm = result.get("algorithm").asText();
+            JsonNode variant = result.get("variant");
+            String key = "Graph " + result.get("graphId").asInt() + " "
+                    + (variant == null ? algorithm : algorithm + "/" + variant.asText());
+            Map<String, List<Long>> metrics = samples.computeIfAbsent(key, k -> new LinkedHashMap<>());
+
+            JsonNode timing = result.get("timing");
+            if (timing != null && timing.has("samplesNs")) {
+                addSamples(metrics, "time", timing.get("samplesNs"));
+            } else {
+                // Results from before repeated timing only have the single median
+                metrics.computeIfAbsent("time", k -> new ArrayList<>())
+                        .add(Math.round(result.get("executionTimeMs").asDouble() * 1e6));
+            }
+
+            JsonNode memory = result.get("memory");
+            if (memory != null && memory.has("allocatedBytesPerRun") && memory.get("allocatedBytes").asLong() >= 0) {
+                addSamples(metrics, "allocation", memory.get("allocatedBytesPerRun"));
+            }
+        }
+        return samples;
+    }
+
+    private static void addSamples(Map<String, List<Long>> metrics, String metric, JsonNode values) {
+        List<Long> list = metrics.computeIfAbsent(metric, k -> new ArrayList<>());
+        for (JsonNode value : values) {
+            list.add(value.asLong());
+        }
+    }
+
+    private static int printReport(List<Comparison> comparisons) {
+        System.out.printf("%-22s | %-10s | %7s | %14s | %14s | %8s | %7s | %s%n",
+                "Run", "Metric", "n", "Baseline", "Current", "Change", "p", "Verdict");
+        int regressions = 0;
+        int improvements = 0;
+        for (Comparison c : comparisons) {
+            if (c.verdict == Verdict.NOT_TESTED) {
+                System.out.printf("%-22s | %-10s | only in one of the files%n", c.key, c.metric);
+                continue;
+            }
+            String unit = c.metric.equals("time") ? "ns" : "B";
+            System.out.printf("%-22s | %-10s | %3d/%-3d | %12.0f%s | %12.0f%s | %+7.1f%% | %7.4f | %s%n",
+                    c.key, c.metric, c.baselineCount, c.currentCount, c.baselineMedian, unit,
+                    c.currentMedian, unit, c.change * 100, c.pValue, c.verdict);
+            if (c.verdict == Verdict.REGRESSION) regressions++;
+            if (c.verdict == Verdict.IMPROVEMENT) improvements++;
+        }
+        System.out.printf("%n%d regression(s), %d improvement(s), %d comparison(s)%n",
+                regressions, improvements, comparisons.size());
+        return regressions;
+    }
+
+    /**
+     * Two-sided p-value of the Mann-Whitney U test that a and b come from the same distribution.
+     * Uses the exact null distribution for small samples without ties, otherwise the normal
+     * approximation with tie and continuity correction.
+     */
+    public static double mannWhitneyPValue(long[] a, long[] b) {
+        int n1 = a.length;
+        int n2 = b.length;
+        if (n1 == 0 || n2 == 0) {
+            throw new IllegalArgumentException("Both samples must be non-empty");
+        }
+
+        // Midranks of the pooled samples; ties share the average of their ranks
+        int n = n1 + n2;
+        long[] pooled = new long[n];
+        System.arraycopy(a, 0, pooled, 0, n1);
+        System.arraycopy(b, 0, pooled, n1, n2);
+        Integer[] order = new Integer[n];
+        for (int i = 0; i < n; i++) {
+            order[i] = i;
+        }
+        Arrays.sort(order, Comparator.comparingLong(i -> pooled[i]));
+
+        double rankSumA = 0;
+        double tieCorrection = 0;
+        for (int start = 0; start < n; ) {
+            int end = start;
+            while (end + 1 < n && pooled[order[end + 1]] == pooled[order[start]]) {
+                end++;
+            }
+            double rank = (start + end) / 2.0 + 1;
+            for (int k = start; k <= end; k++) {
+                if (order[k] < n1) rankSumA += rank;
+            }
+            int ties = end - start + 1;
+            tieCorrection += (double) ties * ties * ties - ties;
+            start = end + 1;
+        }
+
+        double u = rankSumA - n1 * (n1 + 1) / 2.0;
+        double meanU = n1 * (double) n2 / 2;
+
+        if (tieCorrection == 0 && n <= EXACT_LIMIT) {
+            double[] distribution = exactDistribution(n1, n2);
+            double total = 0;
+            for (double count : distribution) {
+                total += count;
+            }
+            // Distribution is symmetric, so take the smaller tail and double it
+            int tail = (int) Math.round(Math.min(u, n1 * (double) n2 - u));
+            double tailCount = 0;
+            for (int i = 0; i <= tail; i++) {
+                tailCount += distribution[i];
+            }
+            return Math.min(1, 2 * tailCount / total);
+        }
+
+        double variance = n1 * (double) n2 / 12 * ((n + 1) - tieCorrection / ((double) n * (n - 1)));
+        if (variance == 0) return 1;
+
+        double z = (Math.abs(u - meanU) - 0.5) / Math.sqrt(variance);
+        return Math.min(1, 2 * (1 - normalCdf(Math.max(0, z))));
+    }
+
+    /** Number of orderings giving each U value, for sample sizes n1 and n2 without ties. */
+    private static double[] exactDistribution(int n1, int n2) {
+        // previous[j][u]: orderings of i - 1 values from a and j from b with statistic u, built row by row
+        double[][] previous = new double[n2 + 1][];
+        for (int j = 0; j <= n2; j++) {
+            previous[j] = new double[]{1};
+        }
+        for (int i = 1; i <= n1; i++) {
+            double[][] next = new double[n2 + 1][];
+            next[0] = new double[]{1};
+            for (int j = 1; j <= n2; j++) {
+                // The largest value comes from a (adding j to U) or from b
+                double[] fromA = previous[j];
+                double[] fromB = next[j - 1];
+                double[] counts = new double[i * j + 1];
+                for (int u = 0; u < fromA.length; u++) {
+                    counts[u + j] += fromA[u];
+                }
+                for (int u = 0; u < fromB.length; u++) {
+                    counts[u] += fromB[u];
+                }
+                next[j] = counts;
+            }
+            previous = next;
+        }
+        return previous[n2];
+    }
+
+    // Abramowitz and Stegun 7.1.26, absolute error below 1.5e-7
+    private static double normalCdf(double z) {
+        double x = Math.abs(z) / Math.sqrt(2);
+        double t = 1 / (1 + 0.3275911 * x);
+        double erf = 1 - ((((1.061405429 * t - 1.453152027) * t + 1.421413741) * t - 0.284496736) * t
+                + 0.254829592) * t * Math.exp(-x * x);
+        return z >= 0 ? (1 + erf) / 2 : (1 - erf) / 2;
+    }
+
+    private static long[] toArray(List<Long> values) {
+        long[] array = new long[values.size()];
+        for (int i = 0; i < array.length; i++) {
+            array[i] = values.get(i);
+        }
+        return array;
+    }
+
+    private static double median(long[] values) {
+        long[] sorted = values.clone();
+        Arrays.sort(sorted);
+        int mid = sorted.length / 2;
+        return sorted.length % 2 == 1 ? sorted[mid] : (sorted[mid - 1] + sorted[mid]) / 2.0;
+    }
+}
@@ -0,0 +1,109 @@
+package cli;
+
+import generators.BinaryGraphWriter;
+import generators.EdgeSink;
+import generators.GraphGenerator;
+import generators.JsonGraphWriter;
+import generators.WeightDistribution;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.*;
+
+/**
+ * Writes synthetic benchmark inputs, e.g.
+ * <pre>
+ *   GraphGeneratorRunner --type rmat --vertices 1000000 --edges 100000000 --output big.bin
+ *   GraphGeneratorRunner --type random --count 10 --vertices 1000 --edges 5000 --output performance-data/random.json
+ * </pre>
+ * Graph sizes grow geometrically (x2 per graph) when --count is greater than 1.
+ * Files ending in .bin use the binary format, anything else the JSON input format.
+ */
+public class GraphGeneratorRunner {
+
+    public static void main(String[] args) {
+        try {
+            run(parseOptions(args));
+        } catch (IOException e) {
+            System.err.println("Error writing generated graphs: " + e.getMessage());
+        } catch (IllegalArgumentException e) {
+            System.err.println("Invalid generator options: " + e.getMessage());
+        }
+    }
+
+    private static void run(Map<String, String> options) throws IOException {
+        String type = options.getOrDefault("type", "random");
+        File output = new File(options.getOrDefault("output", "performance-data/generated_input.json"));
+        int count = Integer.parseInt(options.getOrDefault("count", "1"));
+        int vertices = Integer.parseInt(options.getOrDefault("vertices", "1000"));
+        long edges = Long.parseLong(options.getOrDefault("edges", String.valueOf(4L * vertices)));
+        long seed = Long.parseLong(options.getOrDefault("seed", "42"));
+        int maxWeight = Integer.parseInt(options.getOrDefault("max-weight", "1000"));
+        WeightDistribution distribution = WeightDistribution.valueOf(
+                options.getOrDefault("weights", "UNIFORM").toUpperCase());
+
+        GraphGenerator generator = new GraphGenerator(seed, distribution, maxWeight, true);
+
+        try (EdgeSink sink = openSink(output)) {
+            long started = System.nanoTime();
+            long totalEdges = 0;
+
+            for (int i = 0; i < count; i++) {
+                int id = i + 1;
+                int graphVertices = (int) Math.min(Integer.MAX_VALUE, (long) vertices << i);
+                long graphEdges = edges << i;
+
+                long written = generate(generator, type, id, graphVertices, graphEdges, sink);
+                totalEdges += written;
+                System.out.printf("Graph %d (%s): V=%d, requested E=%d, written E=%d%n",
+                        id, type, graphVertices, graphEdges, written);
+            }
+
+            System.out.printf("Wrote %d edges to %s in %.2fs%n",
+                    totalEdges, output.getPath(), (System.nanoTime() - started) / 1e9);
+        }
+    }
+
+    private static long generate(GraphGenerator generator, String type, int id, int vertices, long edges,
+                                 EdgeSink sink) throws IOException {
+        switch (type) {
+            case "random":
+            case "er":
+                return generator.randomWithEdges(id, vertices, edges, sink);
+            case "grid":
+                int side = (int) Math.max(1, Math.round(Math.sqrt(vertices)));
+                return generator.grid(id, side, side, sink);
+            case "complete":
+                return generator.complete(id, vertices, sink);
+            case "rmat":
+                int scale = 32 - Integer.numberOfLeadingZeros(Math.max(1, vertices - 1));
+                return generator.rmat(id, Math.max(1, scale), edges, sink);
+            case "geometric":
+                // Expected edge count of a unit-square geometric graph is about n² * pi * r² / 2
+                double radius = Math.sqrt(2.0 * edges / (Math.PI * (double) vertices * vertices));
+                return generator.geometric(id, vertices, radius, sink);
+            default:
+                throw new IllegalArgumentException("Unknown graph type: " + type);
+        }
+    }
+
+    private static EdgeSink openSink(File output) throws IOException {
+        File parent = output.getAbsoluteFile().getParentFile();
+        if (parent != null && !parent.exists()) {
+            parent.mkdirs();
+        }
+        return output.getName().endsWith(".bin") ? new BinaryGraphWriter(output) : new JsonGraphWriter(output);
+    }
+
+    private static Map<String, String> parseOptions(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (int i = 0; i < args.length; i++) {
+            if (args[i].startsWith("--") && i + 1 < args.length) {
+                options.put(args[i].substring(2), args[++i]);
+            } else {
+                throw new IllegalArgumentException("Unexpected argument: " + args[i]);
+            }
+        }
+        return options;
+    }
+}
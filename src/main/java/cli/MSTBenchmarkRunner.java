@@ -1,50 +1,136 @@
 package cli;
 
 import algorithms.*;
+import metrics.AllocationMeter;
+import metrics.BenchmarkHistory;
+import metrics.JfrInstrumentation;
+import metrics.JfrThroughputMonitor;
+import metrics.LatencyRecorder;
 import metrics.PerformanceTracker;
+import metrics.Phase;
+import metrics.PhaseTimer;
+import metrics.TimingStatistics;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.JsonNode;
 import java.io.File;
 import java.io.IOException;
+import java.time.Duration;
 import java.util.*;
-
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ * Runs Prim's and Kruskal's algorithm on every input graph.
+ * Options:
+ * <pre>
+ *   --warmup N        untimed runs per algorithm and graph before measuring (default 0)
+ *   --repetitions M   measured runs per algorithm and graph (default 1)
+ *   --input FILE      input graphs (default performance-data/assign_3_input.json)
+ *   --output FILE     results (default performance-data/assign_3_output.json)
+ *   --jfr true|false  run the measured solves and validation under JFR events (default false)
+ *   --jfr-monitor S   print a JFR-based throughput summary every S seconds; implies --jfr true
+ *   --mst-edges M     inline (flat [from, to, weight, ...] int array, default), sidecar (binary
+ *                     file next to the output) or none; see {@link StreamingResultWriter}
+ *   --latency-log F   HdrHistogram log of all measured solve latencies per algorithm and size class
+ *                     (default performance-data/assign_3_latency.hlog)
+ *   --history F       append every run to this {@link BenchmarkHistory} log, tagged with the git
+ *                     revision and JVM flags (default performance-data/assign_3_history.bin, none to skip)
+ *   --mst-cache DIR   store every solved MST in this {@link MSTCache} directory for the visualizer and
+ *                     later runs (default performance-data/mst-cache, none to skip); timed solves
+ *                     never read from it
+ * </pre>
+ * Timings are taken from the untracked findMST path; operation counts come from one extra
+ * tracked run so the counters never distort the timings. Every {@link PerformanceTracker}
+ * counter is written under "counters"; "comparisons" and "unions" are kept at the top level.
+ * "memory" holds the bytes allocated by the solving thread per measured run (median, total and
+ * per run) and the GC collections and pause time that fell inside the measured runs.
+ * "phases" holds the median ns of each {@link Phase} over another set of runs timed with a
+ * {@link PhaseTimer}; graph construction is timed once per graph and shared by both algorithms.
+ */
 public class MSTBenchmarkRunner {
 
     private static final ObjectMapper objectMapper = new ObjectMapper();
 
+    private static int warmupIterations = 0;
+    private static int measuredRepetitions = 1;
+    private static String inputPath = "performance-data/assign_3_input.json";
+    private static String outputPath = "performance-data/assign_3_output.json";
+    private static boolean jfrEvents = false;
+    private static int jfrMonitorSeconds = 0;
+    private static StreamingResultWriter.EdgeFormat mstEdgeFormat = StreamingResultWriter.EdgeFormat.INLINE;
+    private static String latencyLogPath = "performance-data/assign_3_latency.hlog";
+    private static final LatencyRecorder latency = new LatencyRecorder();
+    private static String historyPath = "performance-data/assign_3_history.bin";
+    private static BenchmarkHistory history;
+    private static String revision;
+    private static String mstCachePath = "performance-data/mst-cache";
+    private static MSTCache mstCache;
+
     public static void main(String[] args) {
         try {
+            parseOptions(args);
             System.out.println("Running MST Algorithm Benchmarks (Prim's vs Kruskal's)...");
+            System.out.printf("Warmup iterations: %d, measured repetitions: %d%n", warmupIterations, measuredRepetitions);
 
             // Load input data
-            JsonNode inputData = objectMapper.readTree(new File("performance-data/assign_3_input.json"));
+            JsonNode inputData = objectMapper.readTree(new File(inputPath));
             JsonNode graphs = inputData.get("graphs");
 
-            List<Map<String, Object>> results = new ArrayList<>();
-
-            System.out.println("Graph ID,Algorithm,Vertices,Edges,MST Weight,Execution Time(ms),Comparisons,Unions");
-
-            for (JsonNode graphNode : graphs) {
-                int graphId = graphNode.get("id").asInt();
-                String graphName = "Graph " + graphId;
-                int vertices = graphNode.get("vertices").asInt();
-                JsonNode edgesNode = graphNode.get("edges");
-
-                // Create graph from JSON data
-                Graph graph = createGraphFromJson(vertices, edgesNode);
-
-                // Test Prim's algorithm
-                testPrimsAlgorithm(graphId, graphName, graph, results);
-
-                // Test Kruskal's algorithm
-                testKruskalsAlgorithm(graphId, graphName, graph, results);
+            // Closing writes the closing brackets, so a run that fails part way still leaves valid JSON
+            try (StreamingResultWriter results = new StreamingResultWriter(new File(outputPath), mstEdgeFormat, objectMapper);
+                 BenchmarkHistory openedHistory = historyPath.equals("none")
+                         ? null : new BenchmarkHistory(new File(historyPath));
+                 JfrThroughputMonitor monitor = jfrMonitorSeconds > 0
+                         ? new JfrThroughputMonitor(Duration.ofSeconds(jfrMonitorSeconds), System.out) : null) {
+                history = openedHistory;
+                if (history != null) {
+                    revision = BenchmarkHistory.currentRevision();
+                }
+                if (!mstCachePath.equals("none")) {
+                    mstCache = new MSTCache(new File(mstCachePath), MSTCache.DEFAULT_MEMORY_EDGES);
+                }
+                if (monitor != null) {
+                    monitor.start();
+                }
+
+                System.out.println("Graph ID,Algorithm,Vertices,Edges,MST Weight,Median Time(ns),Mean Time(ns),Comparisons,Unions");
+
+                for (JsonNode graphNode : graphs) {
+                    int graphId = graphNode.get("id").asInt();
+                    String graphName = "Graph " + graphId;
+                    int vertices = graphNode.get("vertices").asInt();
+                    JsonNode edgesNode = graphNode.get("edges");
+
+                    // Create graph from JSON data
+                    long constructionStart = System.nanoTime();
+                    Graph graph = createGraphFromJson(vertices, edgesNode);
+                    long constructionNs = System.nanoTime() - constructionStart;
+
+                    // Test Prim's algorithm
+                    testPrimsAlgorithm(graphId, graphName, graph, constructionNs, results);
+
+                    // Test Kruskal's algorithm
+                    testKruskalsAlgorithm(graphId, graphName, graph, constructionNs, results);
+
+                    // Finished graphs survive a crash later in the run
+                    results.flush();
+                }
+
+                if (history != null) {
+                    System.out.printf("History: %d runs in %s%n", history.size(), historyPath);
+                }
+            } finally {
+                history = null;
             }
+            latency.writeLog(new File(latencyLogPath));
+            latency.getHistograms().forEach((key, histogram) ->
+                    System.out.printf("Latency %s: %s%n", key, LatencyRecorder.describe(histogram)));
 
-            // Save results to output JSON
-            saveResultsToJson(results);
-
-            System.out.println("\nBenchmark completed! Results saved to assign_3_output.json");
+            System.out.println("\nBenchmark completed! Results saved to " + outputPath);
 
+        } catch (IllegalArgumentException e) {
+            System.err.println("Invalid option: " + e.getMessage());
         } catch (IOException e) {
             System.err.println("Error reading input file: " + e.getMessage());
         } catch (Exception e) {
@@ -53,80 +139,248 @@ public class MSTBenchmarkRunner {
         }
     }
 
-    private static void testPrimsAlgorithm(int graphId, String graphName, Graph graph, List<Map<String, Object>> results) {
+    private static void testPrimsAlgorithm(int graphId, String graphName, Graph graph, long constructionNs,
+                                           StreamingResultWriter results) {
         try {
             PrimsAlgorithm prims = new PrimsAlgorithm();
             PerformanceTracker tracker = new PerformanceTracker();
 
-            long startTime = System.nanoTime();
+            AllocationMeter memory = new AllocationMeter();
+            JfrInstrumentation jfr = jfrEvents
+                    ? new JfrInstrumentation(graphId, graph.getVertices(), graph.getEdgesCount(), "Prim") : null;
+            TimingStatistics timing = jfr == null
+                    ? measure(() -> prims.findMST(graph), memory)
+                    : measure(() -> jfr.solve(instrumentation -> prims.findMST(graph, instrumentation)), memory);
+            for (long sample : timing.getSamples()) {
+                latency.recordNanos("Prim", graph.getVertices(), sample);
+            }
             List<Edge> mst = prims.findMSTWithTracking(graph, tracker);
-            long endTime = System.nanoTime();
-
-            long executionTime = (endTime - startTime) / 1_000_000; // Convert to milliseconds
+            if (mstCache != null) {
+                mstCache.put(graph, "Prim", mst);
+            }
+            PhaseTimer phases = timePhases(timer -> prims.findMST(graph, timer),
+                    phasedMst -> prims.isValidMST(graph, phasedMst), constructionNs);
             int mstWeight = prims.calculateMSTWeight(mst);
 
-            System.out.printf("%d,Prim,%d,%d,%d,%d,%d,%d%n",
+            System.out.printf("%d,Prim,%d,%d,%d,%.0f,%.0f,%d,%d%n",
                     graphId, graph.getVertices(), graph.getEdgesCount(),
-                    mstWeight, executionTime, tracker.getComparisons(), 0);
+                    mstWeight, timing.getMedian(), timing.getMean(), tracker.getComparisons(), tracker.getUnions());
 
             // Store result
-            Map<String, Object> result = new HashMap<>();
+            Map<String, Object> result = new LinkedHashMap<>();
             result.put("graphId", graphId);
             result.put("graphName", graphName);
             result.put("algorithm", "Prim");
             result.put("vertices", graph.getVertices());
             result.put("edges", graph.getEdgesCount());
             result.put("mstWeight", mstWeight);
-            result.put("executionTimeMs", executionTime);
+            result.put("executionTimeMs", timing.getMedian() / 1_000_000.0);
+            result.put("timing", convertTimingToJson(timing));
+            result.put("memory", convertMemoryToJson(memory));
+            result.put("phases", phases.getMedians());
             result.put("comparisons", tracker.getComparisons());
-            result.put("unions", 0);
-            result.put("mstEdges", convertEdgesToJson(mst));
-            result.put("isValidMST", prims.isValidMST(graph, mst));
+            result.put("unions", tracker.getUnions());
+            result.put("counters", tracker.getCounters());
+            result.put("isValidMST", jfr == null
+                    ? prims.isValidMST(graph, mst)
+                    : jfr.validate(() -> prims.isValidMST(graph, mst)));
 
-            results.add(result);
+            results.writeResult(result, mst, graph.getVertices());
+            recordHistory(graphId, "Prim", graph, mstWeight, timing, tracker, memory);
 
         } catch (Exception e) {
             System.err.println("Error testing Prim's algorithm on graph " + graphId + ": " + e.getMessage());
         }
     }
 
-    private static void testKruskalsAlgorithm(int graphId, String graphName, Graph graph, List<Map<String, Object>> results) {
+    private static void testKruskalsAlgorithm(int graphId, String graphName, Graph graph, long constructionNs,
+                                              StreamingResultWriter results) {
         try {
             KruskalsAlgorithm kruskals = new KruskalsAlgorithm();
             PerformanceTracker tracker = new PerformanceTracker();
 
-            long startTime = System.nanoTime();
+            AllocationMeter memory = new AllocationMeter();
+            JfrInstrumentation jfr = jfrEvents
+                    ? new JfrInstrumentation(graphId, graph.getVertices(), graph.getEdgesCount(), "Kruskal") : null;
+            TimingStatistics timing = jfr == null
+                    ? measure(() -> kruskals.findMST(graph), memory)
+                    : measure(() -> jfr.solve(instrumentation -> kruskals.findMST(graph, instrumentation)), memory);
+            for (long sample : timing.getSamples()) {
+                latency.recordNanos("Kruskal", graph.getVertices(), sample);
+            }
             List<Edge> mst = kruskals.findMSTWithTracking(graph, tracker);
-            long endTime = System.nanoTime();
-
-            long executionTime = (endTime - startTime) / 1_000_000; // Convert to milliseconds
+            if (mstCache != null) {
+                mstCache.put(graph, "Kruskal", mst);
+            }
+            PhaseTimer phases = timePhases(timer -> kruskals.findMST(graph, timer),
+                    phasedMst -> kruskals.isValidMST(graph, phasedMst), constructionNs);
             int mstWeight = kruskals.calculateMSTWeight(mst);
 
-            System.out.printf("%d,Kruskal,%d,%d,%d,%d,%d,%d%n",
+            System.out.printf("%d,Kruskal,%d,%d,%d,%.0f,%.0f,%d,%d%n",
                     graphId, graph.getVertices(), graph.getEdgesCount(),
-                    mstWeight, executionTime, tracker.getComparisons(), tracker.getSwaps());
+                    mstWeight, timing.getMedian(), timing.getMean(), tracker.getComparisons(), tracker.getUnions());
 
             // Store result
-            Map<String, Object> result = new HashMap<>();
+            Map<String, Object> result = new LinkedHashMap<>();
             result.put("graphId", graphId);
             result.put("graphName", graphName);
             result.put("algorithm", "Kruskal");
             result.put("vertices", graph.getVertices());
             result.put("edges", graph.getEdgesCount());
             result.put("mstWeight", mstWeight);
-            result.put("executionTimeMs", executionTime);
+            result.put("executionTimeMs", timing.getMedian() / 1_000_000.0);
+            result.put("timing", convertTimingToJson(timing));
+            result.put("memory", convertMemoryToJson(memory));
+            result.put("phases", phases.getMedians());
             result.put("comparisons", tracker.getComparisons());
-            result.put("unions", tracker.getSwaps());
-            result.put("mstEdges", convertEdgesToJson(mst));
-            result.put("isValidMST", kruskals.isValidMST(graph, mst));
+            result.put("unions", tracker.getUnions());
+            result.put("counters", tracker.getCounters());
+            result.put("isValidMST", jfr == null
+                    ? kruskals.isValidMST(graph, mst)
+                    : jfr.validate(() -> kruskals.isValidMST(graph, mst)));
 
-            results.add(result);
+            results.writeResult(result, mst, graph.getVertices());
+            recordHistory(graphId, "Kruskal", graph, mstWeight, timing, tracker, memory);
 
         } catch (Exception e) {
             System.err.println("Error testing Kruskal's algorithm on graph " + graphId + ": " + e.getMessage());
         }
     }
 
+    private static TimingStatistics measure(Supplier<List<Edge>> solver, AllocationMeter memory) {
+        // Warmup runs let the JIT compile the solver before anything is recorded
+        for (int i = 0; i < warmupIterations; i++) {
+            solver.get();
+        }
+
+        long[] samples = new long[measuredRepetitions];
+        for (int i = 0; i < measuredRepetitions; i++) {
+            // The meter reads its MXBeans outside the timed window
+            memory.start();
+            long startTime = System.nanoTime();
+            solver.get();
+            samples[i] = System.nanoTime() - startTime;
+            memory.stop();
+        }
+        return new TimingStatistics(samples);
+    }
+
+    // Separate runs so the phase hooks never touch the measured timings
+    private static PhaseTimer timePhases(Function<PhaseTimer, List<Edge>> solver, Predicate<List<Edge>> validator,
+                                         long constructionNs) {
+        PhaseTimer phases = new PhaseTimer();
+        phases.record(Phase.GRAPH_CONSTRUCTION, constructionNs);
+
+        for (int i = 0; i < measuredRepetitions; i++) {
+            List<Edge> mst = solver.apply(phases);
+            phases.onPhaseStart(Phase.VALIDATION);
+            validator.test(mst);
+            phases.onPhaseEnd(Phase.VALIDATION);
+        }
+        return phases;
+    }
+
+    private static Map<String, Object> convertTimingToJson(TimingStatistics timing) {
+        Map<String, Object> timingMap = new LinkedHashMap<>();
+        timingMap.put("warmupIterations", warmupIterations);
+        timingMap.put("repetitions", timing.getCount());
+        timingMap.put("minNs", timing.getMin());
+        timingMap.put("medianNs", timing.getMedian());
+        timingMap.put("meanNs", timing.getMean());
+        timingMap.put("p90Ns", timing.getP90());
+        timingMap.put("p99Ns", timing.getP99());
+        timingMap.put("maxNs", timing.getMax());
+        timingMap.put("stddevNs", timing.getStddev());
+        timingMap.put("ci95LowNs", timing.getConfidenceLow());
+        timingMap.put("ci95HighNs", timing.getConfidenceHigh());
+        timingMap.put("outlierCount", timing.getOutlierCount());
+
+        List<Integer> outlierIndices = new ArrayList<>();
+        for (int i = 0; i < timing.getCount(); i++) {
+            if (timing.isOutlier(i)) {
+                outlierIndices.add(i);
+            }
+        }
+        timingMap.put("outlierIndices", outlierIndices);
+        timingMap.put("samplesNs", timing.getSamples());
+        return timingMap;
+    }
+
+    private static void recordHistory(int graphId, String algorithm, Graph graph, int mstWeight,
+                                      TimingStatistics timing, PerformanceTracker tracker,
+                                      AllocationMeter memory) throws IOException {
+        if (history == null) return;
+
+        history.append(new BenchmarkHistory.Run(System.currentTimeMillis(), revision,
+                BenchmarkHistory.currentJvm(), BenchmarkHistory.currentJvmFlags(), graphId, algorithm,
+                graph.getVertices(), graph.getEdgesCount(), mstWeight, timing, tracker, memory));
+    }
+
+    private static Map<String, Object> convertMemoryToJson(AllocationMeter memory) {
+        Map<String, Object> memoryMap = new LinkedHashMap<>();
+        memoryMap.put("allocatedBytes", memory.getMedianAllocatedBytes());
+        memoryMap.put("allocatedBytesTotal", memory.getTotalAllocatedBytes());
+        memoryMap.put("allocatedBytesPerRun", memory.getAllocatedBytesPerRun());
+        memoryMap.put("gcCount", memory.getGcCount());
+        memoryMap.put("gcTimeMs", memory.getGcTimeMs());
+
+        Map<String, Object> collectors = new LinkedHashMap<>();
+        memory.getCollectorStatistics().forEach((name, stats) -> {
+            Map<String, Object> collector = new LinkedHashMap<>();
+            collector.put("count", stats[0]);
+            collector.put("timeMs", stats[1]);
+            collectors.put(name, collector);
+        });
+        memoryMap.put("collectors", collectors);
+        return memoryMap;
+    }
+
+    private static void parseOptions(String[] args) {
+        for (int i = 0; i < args.length; i++) {
+            if (i + 1 >= args.length) {
+                throw new IllegalArgumentException("Missing value for " + args[i]);
+            }
+            switch (args[i]) {
+                case "--warmup":
+                    warmupIterations = Integer.parseInt(args[++i]);
+                    break;
+                case "--repetitions":
+                    measuredRepetitions = Integer.parseInt(args[++i]);
+                    break;
+                case "--input":
+                    inputPath = args[++i];
+                    break;
+                case "--output":
+                    outputPath = args[++i];
+                    break;
+                case "--mst-edges":
+                    mstEdgeFormat = StreamingResultWriter.EdgeFormat.valueOf(args[++i].toUpperCase());
+                    break;
+                case "--latency-log":
+                    latencyLogPath = args[++i];
+                    break;
+                case "--history":
+                    historyPath = args[++i];
+                    break;
+                case "--mst-cache":
+                    mstCachePath = args[++i];
+                    break;
+                case "--jfr":
+                    jfrEvents = Boolean.parseBoolean(args[++i]);
+                    break;
+                case "--jfr-monitor":
+                    jfrMonitorSeconds = Integer.parseInt(args[++i]);
+                    jfrEvents = jfrMonitorSeconds > 0 || jfrEvents;
+                    break;
+                default:
+                    throw new IllegalArgumentException("Unknown option " + args[i]);
+            }
+        }
+        if (warmupIterations < 0 || measuredRepetitions < 1) {
+            throw new IllegalArgumentException("Warmup must be >= 0 and repetitions >= 1");
+        }
+    }
+
     private static Graph createGraphFromJson(int vertices, JsonNode edgesNode) {
         Graph graph = new Graph(vertices);
 
@@ -139,28 +393,4 @@ public class MSTBenchmarkRunner {
 
         return graph;
     }
-
-    private static List<Map<String, Object>> convertEdgesToJson(List<Edge> edges) {
-        List<Map<String, Object>> edgeList = new ArrayList<>();
-
-        for (Edge edge : edges) {
-            Map<String, Object> edgeMap = new HashMap<>();
-            edgeMap.put("from", edge.getFrom());
-            edgeMap.put("to", edge.getTo());
-            edgeMap.put("weight", edge.getWeight());
-            edgeList.add(edgeMap);
-        }
-
-        return edgeList;
-    }
-
-    private static void saveResultsToJson(List<Map<String, Object>> results) throws IOException {
-        Map<String, Object> outputData = new HashMap<>();
-        outputData.put("results", results);
-        outputData.put("timestamp", new Date().toString());
-        outputData.put("totalTests", results.size());
-
-        objectMapper.writerWithDefaultPrettyPrinter()
-                .writeValue(new File("performance-data/assign_3_output.json"), outputData);
-    }
 }
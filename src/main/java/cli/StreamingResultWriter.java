@@ -0,0 +1,138 @@
+package cli;
+
+import algorithms.Edge;
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonStreamContext;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import generators.BinaryGraphWriter;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.util.*;
+
+/**
+ * Writes benchmark results one at a time with a Jackson {@link JsonGenerator}, in the same
+ * {"timestamp", "results": [...], "totalTests"} layout the analysis tools read. Nothing is kept
+ * after a result is written, and {@link #flush()} after each graph means a crashed run still leaves
+ * every finished graph on disk. Close the writer on every path: it writes the closing brackets,
+ * first ending a result that was cut short, so only a killed JVM leaves the file unparseable.
+ * <p>
+ * MST edges are never turned into per-edge maps. They are written in one of three ways:
+ * <ul>
+ *   <li>INLINE: "mstEdges" is a flat int array [from, to, weight, from, to, weight, ...]</li>
+ *   <li>SIDECAR: the edges go to a binary file next to the output (generators.BinaryGraphWriter
+ *       format, one graph per result) and "mstEdgesSidecar" gives the file name and graph id</li>
+ *   <li>NONE: edges are omitted, only "mstEdgeCount" is written</li>
+ * </ul>
+ */
+public class StreamingResultWriter implements Closeable {
+
+    public enum EdgeFormat { INLINE, SIDECAR, NONE }
+
+    private final JsonGenerator generator;
+    private final EdgeFormat edgeFormat;
+    private final BinaryGraphWriter sidecar;
+    private final String sidecarName;
+    private int written;
+
+    public StreamingResultWriter(File output, EdgeFormat edgeFormat, ObjectMapper mapper) throws IOException {
+        this.edgeFormat = edgeFormat;
+        this.generator = mapper.getFactory().createGenerator(output, JsonEncoding.UTF8);
+        generator.useDefaultPrettyPrinter();
+
+        if (edgeFormat == EdgeFormat.SIDECAR) {
+            File sidecarFile = sidecarFile(output);
+            this.sidecar = new BinaryGraphWriter(sidecarFile);
+            this.sidecarName = sidecarFile.getName();
+        } else {
+            this.sidecar = null;
+            this.sidecarName = null;
+        }
+
+        generator.writeStartObject();
+        generator.writeStringField("timestamp", new Date().toString());
+        generator.writeArrayFieldStart("results");
+    }
+
+    /** Binary sidecar used for SIDECAR output: "results.json" -> "results.mst.bin". */
+    public static File sidecarFile(File output) {
+        String name = output.getName();
+        int dot = name.lastIndexOf('.');
+        String base = dot > 0 ? name.substring(0, dot) : name;
+        return new File(output.getAbsoluteFile().getParentFile(), base + ".mst.bin");
+    }
+
+    /**
+     * Writes one result: the given fields in iteration order, then the MST edges.
+     */
+    public void writeResult(Map<String, Object> fields, List<Edge> mst, int vertices) throws IOException {
+        written++;
+        generator.writeStartObject();
+        for (Map.Entry<String, Object> field : fields.entrySet()) {
+            generator.writeObjectField(field.getKey(), field.getValue());
+        }
+
+        generator.writeNumberField("mstEdgeCount", mst.size());
+        switch (edgeFormat) {
+            case INLINE:
+                int[] packed = new int[mst.size() * 3];
+                for (int i = 0; i < mst.size(); i++) {
+                    Edge edge = mst.get(i);
+                    packed[3 * i] = edge.getFrom();
+                    packed[3 * i + 1] = edge.getTo();
+                    packed[3 * i + 2] = edge.getWeight();
+                }
+                generator.writeFieldName("mstEdges");
+                generator.writeArray(packed, 0, packed.length);
+                break;
+            case SIDECAR:
+                sidecar.beginGraph(written, vertices);
+                for (Edge edge : mst) {
+                    sidecar.edge(edge.getFrom(), edge.getTo(), edge.getWeight());
+                }
+                sidecar.endGraph();
+                generator.writeObjectFieldStart("mstEdgesSidecar");
+                generator.writeStringField("file", sidecarName);
+                generator.writeNumberField("graph", written);
+                generator.writeEndObject();
+                break;
+            case NONE:
+                break;
+        }
+        generator.writeEndObject();
+    }
+
+    public int getWrittenCount() {
+        return written;
+    }
+
+    public void flush() throws IOException {
+        generator.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            // A result interrupted by an exception: end whatever it left open, down to "results"
+            JsonStreamContext context = generator.getOutputContext();
+            while (!context.getParent().getParent().inRoot()) {
+                if (context.inArray()) {
+                    generator.writeEndArray();
+                } else {
+                    generator.writeEndObject();
+                }
+                context = generator.getOutputContext();
+            }
+            generator.writeEndArray();
+            generator.writeNumberField("totalTests", written);
+            generator.writeEndObject();
+            generator.close();
+        } finally {
+            if (sidecar != null) {
+                sidecar.close();
+            }
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package generators;
+
+import java.io.BufferedInputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+/**
+ * Reads files written by {@link BinaryGraphWriter} and replays them into any {@link EdgeSink}.
+ */
+public class BinaryGraphReader {
+
+    private static final int BUFFER_SIZE = 1 << 20;
+
+    public static int read(File file, EdgeSink sink) throws IOException {
+        try (InputStream in = new BufferedInputStream(new FileInputStream(file), BUFFER_SIZE)) {
+            ByteBuffer header = readFully(in, 8);
+            if (header == null || header.getInt() != BinaryGraphWriter.MAGIC) {
+                throw new IOException("Not a binary graph file: " + file);
+            }
+            int version = header.getInt();
+            if (version != BinaryGraphWriter.VERSION) {
+                throw new IOException("Unsupported binary graph version " + version + " in " + file);
+            }
+
+            int graphs = 0;
+            byte[] edgeBytes = new byte[(BUFFER_SIZE / 12) * 12];
+            ByteBuffer graphHeader;
+            while ((graphHeader = readFully(in, 16)) != null) {
+                int id = graphHeader.getInt();
+                int vertices = graphHeader.getInt();
+                long edgeCount = graphHeader.getLong();
+
+                sink.beginGraph(id, vertices);
+                long remaining = edgeCount;
+                while (remaining > 0) {
+                    int batch = (int) Math.min(remaining, BUFFER_SIZE / 12);
+                    ByteBuffer edges = readFully(in, edgeBytes, batch * 12);
+                    if (edges == null) {
+                        throw new EOFException("Truncated edge list for graph " + id + " in " + file);
+                    }
+                    for (int i = 0; i < batch; i++) {
+                        sink.edge(edges.getInt(), edges.getInt(), edges.getInt());
+                    }
+                    remaining -= batch;
+                }
+                sink.endGraph();
+                graphs++;
+            }
+            return graphs;
+        }
+    }
+
+    // Returns null on a clean end of stream before the first byte
+    private static ByteBuffer readFully(InputStream in, int length) throws IOException {
+        return readFully(in, new byte[length], length);
+    }
+
+    private static ByteBuffer readFully(InputStream in, byte[] bytes, int length) throws IOException {
+        int read = 0;
+        while (read < length) {
+            int n = in.read(bytes, read, length - read);
+            if (n < 0) {
+                if (read == 0) return null;
+                throw new EOFException("Unexpected end of binary graph file");
+            }
+            read += n;
+        }
+        return ByteBuffer.wrap(bytes, 0, length).order(ByteOrder.LITTLE_ENDIAN);
+    }
+}
@@ -0,0 +1,81 @@
+package generators;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Compact binary graph format: a file header (magic, version) followed by graphs, each stored as
+ * (int id, int vertices, long edgeCount) and edgeCount (from, to, weight) int triples.
+ * Little-endian. The edge count is patched in when the graph ends, so edges can be streamed.
+ */
+public class BinaryGraphWriter implements EdgeSink {
+
+    static final int MAGIC = 0x4D535447; // "MSTG"
+    static final int VERSION = 1;
+
+    private static final int BUFFER_SIZE = 1 << 20;
+
+    private final FileChannel channel;
+    private final ByteBuffer buffer;
+    private long countPosition = -1;
+    private long edgeCount;
+
+    public BinaryGraphWriter(File file) throws IOException {
+        this.channel = FileChannel.open(file.toPath(), StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+        this.buffer = ByteBuffer.allocateDirect(BUFFER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+        buffer.putInt(MAGIC);
+        buffer.putInt(VERSION);
+    }
+
+    @Override
+    public void beginGraph(int id, int vertices) throws IOException {
+        ensureSpace(16);
+        buffer.putInt(id);
+        buffer.putInt(vertices);
+        countPosition = channel.position() + buffer.position();
+        buffer.putLong(0);
+        edgeCount = 0;
+    }
+
+    @Override
+    public void edge(int from, int to, int weight) throws IOException {
+        ensureSpace(12);
+        buffer.putInt(from);
+        buffer.putInt(to);
+        buffer.putInt(weight);
+        edgeCount++;
+    }
+
+    @Override
+    public void endGraph() throws IOException {
+        flushBuffer();
+        ByteBuffer count = ByteBuffer.allocate(8).order(ByteOrder.LITTLE_ENDIAN);
+        count.putLong(edgeCount).flip();
+        channel.write(count, countPosition);
+    }
+
+    private void ensureSpace(int bytes) throws IOException {
+        if (buffer.remaining() < bytes) {
+            flushBuffer();
+        }
+    }
+
+    private void flushBuffer() throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+
+    @Override
+    public void close() throws IOException {
+        flushBuffer();
+        channel.close();
+    }
+}
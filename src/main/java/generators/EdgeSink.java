@@ -0,0 +1,21 @@
+package generators;
+
+import java.io.Closeable;
+import java.io.IOException;
+
+/**
+ * Receives generated graphs one edge at a time, so generators never hold the edge list themselves.
+ * A sink may receive several graphs in a row, each framed by begin/end; close releases any file.
+ */
+public interface EdgeSink extends Closeable {
+
+    void beginGraph(int id, int vertices) throws IOException;
+
+    void edge(int from, int to, int weight) throws IOException;
+
+    void endGraph() throws IOException;
+
+    @Override
+    default void close() throws IOException {
+    }
+}
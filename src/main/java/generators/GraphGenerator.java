@@ -0,0 +1,275 @@
+package generators;
+
+import java.io.IOException;
+import java.util.SplittableRandom;
+
+/**
+ * Seeded synthetic graph generators for benchmarking. Edges are streamed into an {@link EdgeSink}
+ * as they are produced, so memory stays O(V) (O(1) for most families) and output size is limited
+ * only by the sink - 10^8 edges to a binary file is fine.
+ * The same seed and parameters always produce the same graph.
+ */
+public class GraphGenerator {
+
+    private final long seed;
+    private final WeightDistribution weights;
+    private final int maxWeight;
+    private final boolean ensureConnected;
+
+    public GraphGenerator(long seed) {
+        this(seed, WeightDistribution.UNIFORM, 1000, true);
+    }
+
+    /**
+     * @param ensureConnected for random families, first emit a random spanning tree
+     *                        (vertex v attached to a random earlier vertex) so the MST exists
+     */
+    public GraphGenerator(long seed, WeightDistribution weights, int maxWeight, boolean ensureConnected) {
+        if (maxWeight < 1) {
+            throw new IllegalArgumentException("Max weight must be positive: " + maxWeight);
+        }
+        this.seed = seed;
+        this.weights = weights;
+        this.maxWeight = maxWeight;
+        this.ensureConnected = ensureConnected;
+    }
+
+    /**
+     * Erdős–Rényi G(n, p). Uses geometric skipping over the pair index space (Batagelj-Brandes),
+     * so the cost is O(n + edges) rather than O(n²).
+     */
+    public long erdosRenyi(int id, int vertices, double probability, EdgeSink sink) throws IOException {
+        SplittableRandom random = random(id);
+        sink.beginGraph(id, vertices);
+        long edges = backbone(vertices, random, sink);
+
+        if (probability >= 1.0) {
+            for (int v = 1; v < vertices; v++) {
+                for (int w = 0; w < v; w++) {
+                    sink.edge(w, v, weights.next(random, maxWeight));
+                    edges++;
+                }
+            }
+        } else if (probability > 0) {
+            // log1p keeps tiny probabilities from rounding to log(1) = 0 and an infinite skip
+            double logQ = Math.log1p(-probability);
+            long pairs = (long) vertices * (vertices - 1) / 2;
+            long index = -1; // Pair (w, v) has index v(v-1)/2 + w
+            int v = 1;
+            long w = -1;
+
+            while (v < vertices && logQ < 0) {
+                double skip = Math.floor(Math.log(1 - random.nextDouble()) / logQ);
+                if (skip >= pairs - 1 - index) break;
+                index += 1 + (long) skip;
+                w += 1 + (long) skip;
+                while (w >= v && v < vertices) {
+                    w -= v;
+                    v++;
+                }
+                if (v < vertices) {
+                    sink.edge((int) w, v, weights.next(random, maxWeight));
+                    edges++;
+                }
+            }
+        }
+
+        sink.endGraph();
+        return edges;
+    }
+
+    /**
+     * Erdős–Rényi graph with roughly the requested number of edges (p = edges / pairs).
+     */
+    public long randomWithEdges(int id, int vertices, long targetEdges, EdgeSink sink) throws IOException {
+        double pairs = (double) vertices * (vertices - 1) / 2;
+        double probability = pairs == 0 ? 0 : Math.min(1.0, targetEdges / pairs);
+        return erdosRenyi(id, vertices, probability, sink);
+    }
+
+    /**
+     * rows x cols 4-neighbour grid, vertex (r, c) = r * cols + c.
+     */
+    public long grid(int id, int rows, int cols, EdgeSink sink) throws IOException {
+        SplittableRandom random = random(id);
+        sink.beginGraph(id, Math.multiplyExact(rows, cols));
+        long edges = 0;
+
+        for (int r = 0; r < rows; r++) {
+            for (int c = 0; c < cols; c++) {
+                int v = r * cols + c;
+                if (c + 1 < cols) {
+                    sink.edge(v, v + 1, weights.next(random, maxWeight));
+                    edges++;
+                }
+                if (r + 1 < rows) {
+                    sink.edge(v, v + cols, weights.next(random, maxWeight));
+                    edges++;
+                }
+            }
+        }
+
+        sink.endGraph();
+        return edges;
+    }
+
+    public long complete(int id, int vertices, EdgeSink sink) throws IOException {
+        SplittableRandom random = random(id);
+        sink.beginGraph(id, vertices);
+        long edges = 0;
+
+        for (int u = 0; u < vertices; u++) {
+            for (int v = u + 1; v < vertices; v++) {
+                sink.edge(u, v, weights.next(random, maxWeight));
+                edges++;
+            }
+        }
+
+        sink.endGraph();
+        return edges;
+    }
+
+    /**
+     * R-MAT power-law graph on 2^scale vertices with the usual (0.57, 0.19, 0.19, 0.05) quadrant
+     * probabilities. Self-loops are redrawn; parallel edges are kept, as in the reference generator.
+     */
+    public long rmat(int id, int scale, long edgeCount, EdgeSink sink) throws IOException {
+        return rmat(id, scale, edgeCount, 0.57, 0.19, 0.19, sink);
+    }
+
+    public long rmat(int id, int scale, long edgeCount, double a, double b, double c, EdgeSink sink) throws IOException {
+        if (scale < 1 || scale > 30) {
+            throw new IllegalArgumentException("R-MAT scale must be between 1 and 30: " + scale);
+        }
+
+        SplittableRandom random = random(id);
+        int vertices = 1 << scale;
+        sink.beginGraph(id, vertices);
+        long edges = backbone(vertices, random, sink);
+
+        double ab = a + b;
+        double abc = a + b + c;
+        for (long i = 0; i < edgeCount; i++) {
+            int u;
+            int v;
+            do {
+                u = 0;
+                v = 0;
+                for (int bit = scale - 1; bit >= 0; bit--) {
+                    double r = random.nextDouble();
+                    if (r >= abc) {
+                        u |= 1 << bit;
+                        v |= 1 << bit;
+                    } else if (r >= ab) {
+                        u |= 1 << bit;
+                    } else if (r >= a) {
+                        v |= 1 << bit;
+                    }
+                }
+            } while (u == v);
+
+            sink.edge(u, v, weights.next(random, maxWeight));
+            edges++;
+        }
+
+        sink.endGraph();
+        return edges;
+    }
+
+    /**
+     * Random geometric graph: points uniform in the unit square, an edge between every pair closer
+     * than radius, weight proportional to the distance. Pairs are found through a bucket grid of
+     * cell size radius, so only neighbouring cells are compared.
+     */
+    public long geometric(int id, int vertices, double radius, EdgeSink sink) throws IOException {
+        if (radius <= 0) {
+            throw new IllegalArgumentException("Radius must be positive: " + radius);
+        }
+
+        SplittableRandom random = random(id);
+        double[] x = new double[vertices];
+        double[] y = new double[vertices];
+        for (int i = 0; i < vertices; i++) {
+            x[i] = random.nextDouble();
+            y[i] = random.nextDouble();
+        }
+
+        int cellsPerSide = (int) Math.max(1, Math.min(Math.ceil(1 / radius), Math.sqrt(Math.max(1, vertices))));
+        double cellSize = 1.0 / cellsPerSide;
+        int cells = cellsPerSide * cellsPerSide;
+
+        // Counting sort of the points by cell
+        int[] cellStart = new int[cells + 1];
+        int[] cellOf = new int[vertices];
+        for (int i = 0; i < vertices; i++) {
+            int cx = Math.min(cellsPerSide - 1, (int) (x[i] / cellSize));
+            int cy = Math.min(cellsPerSide - 1, (int) (y[i] / cellSize));
+            cellOf[i] = cy * cellsPerSide + cx;
+            cellStart[cellOf[i] + 1]++;
+        }
+        for (int cell = 0; cell < cells; cell++) {
+            cellStart[cell + 1] += cellStart[cell];
+        }
+        int[] sorted = new int[vertices];
+        int[] fill = cellStart.clone();
+        for (int i = 0; i < vertices; i++) {
+            sorted[fill[cellOf[i]]++] = i;
+        }
+
+        sink.beginGraph(id, vertices);
+        long edges = backbone(vertices, random, sink);
+
+        // Cells closer than one radius away; each unordered cell pair is visited once
+        int reach = (int) Math.ceil(radius / cellSize);
+        double radiusSquared = radius * radius;
+
+        for (int cy = 0; cy < cellsPerSide; cy++) {
+            for (int cx = 0; cx < cellsPerSide; cx++) {
+                int cell = cy * cellsPerSide + cx;
+
+                for (int dy = 0; dy <= reach; dy++) {
+                    for (int dx = -reach; dx <= reach; dx++) {
+                        if (dy == 0 && dx < 0) continue;
+                        int ny = cy + dy;
+                        int nx = cx + dx;
+                        if (ny >= cellsPerSide || nx < 0 || nx >= cellsPerSide) continue;
+                        int other = ny * cellsPerSide + nx;
+
+                        for (int i = cellStart[cell]; i < cellStart[cell + 1]; i++) {
+                            int u = sorted[i];
+                            int jStart = other == cell ? i + 1 : cellStart[other];
+                            for (int j = jStart; j < cellStart[other + 1]; j++) {
+                                int v = sorted[j];
+                                double ddx = x[u] - x[v];
+                                double ddy = y[u] - y[v];
+                                double distanceSquared = ddx * ddx + ddy * ddy;
+                                if (distanceSquared < radiusSquared) {
+                                    int weight = 1 + (int) (Math.sqrt(distanceSquared) / radius * (maxWeight - 1));
+                                    sink.edge(u, v, weight);
+                                    edges++;
+                                }
+                            }
+                        }
+                    }
+                }
+            }
+        }
+
+        sink.endGraph();
+        return edges;
+    }
+
+    private long backbone(int vertices, SplittableRandom random, EdgeSink sink) throws IOException {
+        if (!ensureConnected) return 0;
+
+        for (int v = 1; v < vertices; v++) {
+            sink.edge(random.nextInt(v), v, weights.next(random, maxWeight));
+        }
+        return Math.max(0, vertices - 1);
+    }
+
+    // Every graph id gets its own stream so graphs can be regenerated individually
+    private SplittableRandom random(int id) {
+        return new SplittableRandom(seed * 0x9E3779B97F4A7C15L + id);
+    }
+}
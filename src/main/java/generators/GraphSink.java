@@ -0,0 +1,28 @@
+package generators;
+
+import algorithms.Graph;
+
+/**
+ * Builds generated edges straight into an in-memory {@link Graph}.
+ */
+public class GraphSink implements EdgeSink {
+    private Graph graph;
+
+    @Override
+    public void beginGraph(int id, int vertices) {
+        graph = new Graph(vertices);
+    }
+
+    @Override
+    public void edge(int from, int to, int weight) {
+        graph.addEdge(from, to, weight);
+    }
+
+    @Override
+    public void endGraph() {
+    }
+
+    public Graph getGraph() {
+        return graph;
+    }
+}
@@ -0,0 +1,54 @@
+package generators;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+
+import java.io.File;
+import java.io.IOException;
+
+/**
+ * Streams generated graphs into the benchmark input format
+ * ({"graphs": [{"id", "vertices", "edges": [{"from", "to", "weight"}]}]}) without
+ * building a JSON tree in memory.
+ */
+public class JsonGraphWriter implements EdgeSink {
+    private final JsonGenerator generator;
+
+    public JsonGraphWriter(File file) throws IOException {
+        this.generator = new JsonFactory().createGenerator(file, JsonEncoding.UTF8);
+        generator.writeStartObject();
+        generator.writeArrayFieldStart("graphs");
+    }
+
+    @Override
+    public void beginGraph(int id, int vertices) throws IOException {
+        generator.writeStartObject();
+        generator.writeNumberField("id", id);
+        generator.writeNumberField("vertices", vertices);
+        generator.writeArrayFieldStart("edges");
+    }
+
+    @Override
+    public void edge(int from, int to, int weight) throws IOException {
+        generator.writeStartObject();
+        generator.writeNumberField("from", from);
+        generator.writeNumberField("to", to);
+        generator.writeNumberField("weight", weight);
+        generator.writeEndObject();
+    }
+
+    @Override
+    public void endGraph() throws IOException {
+        generator.writeEndArray();
+        generator.writeEndObject();
+        generator.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        generator.writeEndArray();
+        generator.writeEndObject();
+        generator.close();
+    }
+}
@@ -0,0 +1,27 @@
+package generators;
+
+import java.util.SplittableRandom;
+
+/**
+ * How edge weights are drawn, all in the range [1, maxWeight].
+ */
+public enum WeightDistribution {
+    /** Every weight equally likely. */
+    UNIFORM,
+    /** Only 10 distinct weights, so sorting and heaps see many ties. */
+    FEW_DISTINCT,
+    /** Most weights small, with a long tail towards maxWeight. */
+    EXPONENTIAL;
+
+    public int next(SplittableRandom random, int maxWeight) {
+        switch (this) {
+            case FEW_DISTINCT:
+                return 1 + random.nextInt(Math.min(10, maxWeight));
+            case EXPONENTIAL:
+                double sample = -Math.log(1 - random.nextDouble()) * maxWeight / 8.0;
+                return (int) Math.min(maxWeight, 1 + (long) sample);
+            default:
+                return 1 + random.nextInt(maxWeight);
+        }
+    }
+}
@@ -0,0 +1,118 @@
+package metrics;
+
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.util.*;
+
+/**
+ * Heap bytes allocated by the current thread and garbage collections over a series of
+ * start/stop windows. Allocation comes from {@code com.sun.management.ThreadMXBean}; when the JVM
+ * does not support it the byte counts are -1. GC counts and times are JVM-wide, so collections
+ * caused by other threads inside a window are included too.
+ */
+public class AllocationMeter {
+
+    private static final com.sun.management.ThreadMXBean THREADS = threadBean();
+
+    private final List<GarbageCollectorMXBean> collectors = ManagementFactory.getGarbageCollectorMXBeans();
+    private final long[] collectorCounts = new long[collectors.size()];
+    private final long[] collectorTimesMs = new long[collectors.size()];
+    private final long[] startCounts = new long[collectors.size()];
+    private final long[] startTimesMs = new long[collectors.size()];
+
+    private final List<Long> allocatedPerRun = new ArrayList<>();
+    private long startBytes;
+    private boolean running;
+
+    public static boolean isAllocationSupported() {
+        return THREADS != null;
+    }
+
+    public void start() {
+        if (running) {
+            throw new IllegalStateException("Allocation meter already started");
+        }
+        running = true;
+        for (int i = 0; i < collectors.size(); i++) {
+            startCounts[i] = Math.max(0, collectors.get(i).getCollectionCount());
+            startTimesMs[i] = Math.max(0, collectors.get(i).getCollectionTime());
+        }
+        startBytes = allocatedBytes();
+    }
+
+    public void stop() {
+        long endBytes = allocatedBytes();
+        if (!running) {
+            throw new IllegalStateException("Allocation meter not started");
+        }
+        running = false;
+        allocatedPerRun.add(endBytes < 0 ? -1 : endBytes - startBytes);
+        for (int i = 0; i < collectors.size(); i++) {
+            collectorCounts[i] += Math.max(0, collectors.get(i).getCollectionCount()) - startCounts[i];
+            collectorTimesMs[i] += Math.max(0, collectors.get(i).getCollectionTime()) - startTimesMs[i];
+        }
+    }
+
+    public int getRuns() {
+        return allocatedPerRun.size();
+    }
+
+    /** Bytes allocated in each window, in order (-1 if unsupported). */
+    public long[] getAllocatedBytesPerRun() {
+        return allocatedPerRun.stream().mapToLong(Long::longValue).toArray();
+    }
+
+    public long getTotalAllocatedBytes() {
+        if (!isAllocationSupported()) return -1;
+        return allocatedPerRun.stream().mapToLong(Long::longValue).sum();
+    }
+
+    /** Median bytes per window; the JIT and TLAB refills make single windows slightly noisy. */
+    public long getMedianAllocatedBytes() {
+        if (!isAllocationSupported() || allocatedPerRun.isEmpty()) return -1;
+        long[] sorted = getAllocatedBytesPerRun();
+        Arrays.sort(sorted);
+        return sorted[sorted.length / 2];
+    }
+
+    public long getGcCount() {
+        return Arrays.stream(collectorCounts).sum();
+    }
+
+    public long getGcTimeMs() {
+        return Arrays.stream(collectorTimesMs).sum();
+    }
+
+    /** Collection count and time in ms per collector name, e.g. "G1 Young Generation". */
+    public Map<String, long[]> getCollectorStatistics() {
+        Map<String, long[]> statistics = new LinkedHashMap<>();
+        for (int i = 0; i < collectors.size(); i++) {
+            statistics.put(collectors.get(i).getName(), new long[]{collectorCounts[i], collectorTimesMs[i]});
+        }
+        return statistics;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("runs=%d, allocated=%d B/run (median), gc=%d collections, %d ms",
+                getRuns(), getMedianAllocatedBytes(), getGcCount(), getGcTimeMs());
+    }
+
+    private static long allocatedBytes() {
+        return THREADS == null ? -1 : THREADS.getCurrentThreadAllocatedBytes();
+    }
+
+    private static com.sun.management.ThreadMXBean threadBean() {
+        if (!(ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean)) {
+            return null;
+        }
+        com.sun.management.ThreadMXBean bean = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        if (!bean.isThreadAllocatedMemorySupported()) {
+            return null;
+        }
+        if (!bean.isThreadAllocatedMemoryEnabled()) {
+            bean.setThreadAllocatedMemoryEnabled(true);
+        }
+        return bean;
+    }
+}
@@ -0,0 +1,460 @@
+package metrics;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Append-only binary log of benchmark runs with a small index for queries by algorithm, graph
+ * and time.
+ * <p>
+ * The log (little-endian, header magic "MSTH" and version) holds two kinds of entries: strings
+ * (tag 1, int id, int length, UTF-8 bytes), which intern revisions, JVM names, JVM flags and
+ * algorithm names, and runs (tag 2, fixed {@value #RUN_BYTES} bytes, see {@link Run}). The index,
+ * in a ".idx" file next to the log, repeats the strings and keeps (timestamp, log offset, graph,
+ * algorithm) per run; its header records how much of the log it covers. Opening reads only the
+ * index; a query scans the in-memory index and reads just the matching run records. If the index
+ * is missing or does not cover the whole log (a crash between the two appends), it is rebuilt
+ * from the log, and a torn entry at the end of the log is cut off.
+ * <p>
+ * One writer at a time; the log is never rewritten, only appended to. Readers open the history
+ * read-only: they never create, repair or write either file, so they can run while the writer
+ * appends. A reader whose index does not cover the log indexes it in memory up to the last
+ * complete record.
+ */
+public class BenchmarkHistory implements Closeable {
+
+    static final int MAGIC = 0x4D535448; // "MSTH"
+    static final int INDEX_MAGIC = 0x4D535449; // "MSTI"
+    static final int VERSION = 1;
+
+    private static final byte STRING_ENTRY = 1;
+    private static final byte RUN_ENTRY = 2;
+    private static final int HEADER_BYTES = 8;
+    private static final int INDEX_HEADER_BYTES = 16;
+    static final int RUN_BYTES = 128;
+
+    /** One algorithm run on one graph. Strings may be empty but not null. */
+    public static class Run {
+        public final long timestampMs;
+        public final String revision;
+        public final String jvm;
+        public final String jvmFlags;
+        public final int graphId;
+        public final String algorithm;
+        public final int vertices;
+        public final int edges;
+        public final long mstWeight;
+        public final int repetitions;
+        public final double medianNs;
+        public final double meanNs;
+        public final double p99Ns;
+        public final double ci95LowNs;
+        public final double ci95HighNs;
+        public final long comparisons;
+        public final long unions;
+        public final long allocatedBytes;
+        public final long gcCount;
+        public final long gcTimeMs;
+
+        public Run(long timestampMs, String revision, String jvm, String jvmFlags, int graphId, String algorithm,
+                   int vertices, int edges, long mstWeight, TimingStatistics timing, PerformanceTracker tracker,
+                   AllocationMeter memory) {
+            this(timestampMs, revision, jvm, jvmFlags, graphId, algorithm, vertices, edges, mstWeight,
+                    timing.getCount(), timing.getMedian(), timing.getMean(), timing.getP99(),
+                    timing.getConfidenceLow(), timing.getConfidenceHigh(), tracker.getComparisons(),
+                    tracker.getUnions(), memory.getMedianAllocatedBytes(), memory.getGcCount(), memory.getGcTimeMs());
+        }
+
+        Run(long timestampMs, String revision, String jvm, String jvmFlags, int graphId, String algorithm,
+            int vertices, int edges, long mstWeight, int repetitions, double medianNs, double meanNs, double p99Ns,
+            double ci95LowNs, double ci95HighNs, long comparisons, long unions, long allocatedBytes, long gcCount,
+            long gcTimeMs) {
+            this.timestampMs = timestampMs;
+            this.revision = revision;
+            this.jvm = jvm;
+            this.jvmFlags = jvmFlags;
+            this.graphId = graphId;
+            this.algorithm = algorithm;
+            this.vertices = vertices;
+            this.edges = edges;
+            this.mstWeight = mstWeight;
+            this.repetitions = repetitions;
+            this.medianNs = medianNs;
+            this.meanNs = meanNs;
+            this.p99Ns = p99Ns;
+            this.ci95LowNs = ci95LowNs;
+            this.ci95HighNs = ci95HighNs;
+            this.comparisons = comparisons;
+            this.unions = unions;
+            this.allocatedBytes = allocatedBytes;
+            this.gcCount = gcCount;
+            this.gcTimeMs = gcTimeMs;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%tF %<tT %s Graph %d %s: median=%.0fns, comparisons=%d",
+                    timestampMs, revision, graphId, algorithm, medianNs, comparisons);
+        }
+    }
+
+    private final boolean readOnly;
+    private final FileChannel log;
+    private final FileChannel index; // Null for a reader without an index file
+    private final ByteBuffer runBuffer = ByteBuffer.allocate(1 + RUN_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+
+    private final List<String> strings = new ArrayList<>();
+    private final Map<String, Integer> stringIds = new HashMap<>();
+    private int runCount;
+    private long[] timestamps = new long[64];
+    private long[] offsets = new long[64];
+    private int[] graphIds = new int[64];
+    private int[] algorithmIds = new int[64];
+
+    /** Opens the history for appending, creating the log and index if they do not exist. */
+    public BenchmarkHistory(File logFile) throws IOException {
+        this(logFile, false);
+    }
+
+    /**
+     * Opens the history; a read-only history must exist and is only read, a writable one is created
+     * if needed and repaired after a torn append.
+     */
+    public BenchmarkHistory(File logFile, boolean readOnly) throws IOException {
+        File indexFile = indexFile(logFile);
+        this.readOnly = readOnly;
+        if (readOnly) {
+            if (!logFile.isFile()) {
+                throw new FileNotFoundException("No benchmark history at " + logFile);
+            }
+            this.log = FileChannel.open(logFile.toPath(), StandardOpenOption.READ);
+            this.index = indexFile.isFile() ? FileChannel.open(indexFile.toPath(), StandardOpenOption.READ) : null;
+        } else {
+            this.log = FileChannel.open(logFile.toPath(), StandardOpenOption.CREATE,
+                    StandardOpenOption.READ, StandardOpenOption.WRITE);
+            this.index = FileChannel.open(indexFile.toPath(), StandardOpenOption.CREATE,
+                    StandardOpenOption.READ, StandardOpenOption.WRITE);
+        }
+        try {
+            if (log.size() == 0) {
+                // A reader may catch a new log before its header is written; it is just empty
+                if (!readOnly) {
+                    writeFully(log, header(MAGIC, HEADER_BYTES), 0);
+                }
+            } else {
+                ByteBuffer header = readFully(log, 0, HEADER_BYTES);
+                if (header == null || header.getInt() != MAGIC) {
+                    throw new IOException("Not a benchmark history file: " + logFile);
+                }
+                if (header.getInt() != VERSION) {
+                    throw new IOException("Unsupported benchmark history version in " + logFile);
+                }
+            }
+            if (!loadIndex()) {
+                rebuildIndex();
+            }
+        } catch (IOException e) {
+            close();
+            throw e;
+        }
+    }
+
+    public static File indexFile(File logFile) {
+        return new File(logFile.getPath() + ".idx");
+    }
+
+    /** Short git revision of the working directory, or "unknown" outside a repository. */
+    public static String currentRevision() {
+        try {
+            Process git = new ProcessBuilder("git", "rev-parse", "--short", "HEAD").redirectErrorStream(true).start();
+            String revision = new String(git.getInputStream().readAllBytes(), StandardCharsets.UTF_8).trim();
+            if (git.waitFor(5, TimeUnit.SECONDS) && git.exitValue() == 0 && !revision.isEmpty()) {
+                return revision;
+            }
+        } catch (IOException e) {
+            // No git on the path
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return "unknown";
+    }
+
+    public static String currentJvm() {
+        return System.getProperty("java.vm.name") + " " + System.getProperty("java.runtime.version");
+    }
+
+    public static String currentJvmFlags() {
+        return String.join(" ", ManagementFactory.getRuntimeMXBean().getInputArguments());
+    }
+
+    public void append(Run run) throws IOException {
+        if (readOnly) {
+            throw new IllegalStateException("Benchmark history is open read-only");
+        }
+        int revision = intern(run.revision);
+        int jvm = intern(run.jvm);
+        int jvmFlags = intern(run.jvmFlags);
+        int algorithm = intern(run.algorithm);
+
+        ByteBuffer entry = runBuffer.clear();
+        entry.put(RUN_ENTRY);
+        entry.putLong(run.timestampMs);
+        entry.putInt(revision);
+        entry.putInt(jvm);
+        entry.putInt(jvmFlags);
+        entry.putInt(algorithm);
+        entry.putInt(run.graphId);
+        entry.putInt(run.vertices);
+        entry.putInt(run.edges);
+        entry.putLong(run.mstWeight);
+        entry.putInt(run.repetitions);
+        entry.putDouble(run.medianNs);
+        entry.putDouble(run.meanNs);
+        entry.putDouble(run.p99Ns);
+        entry.putDouble(run.ci95LowNs);
+        entry.putDouble(run.ci95HighNs);
+        entry.putLong(run.comparisons);
+        entry.putLong(run.unions);
+        entry.putLong(run.allocatedBytes);
+        entry.putLong(run.gcCount);
+        entry.putLong(run.gcTimeMs);
+        long offset = log.size();
+        writeFully(log, entry.position(1 + RUN_BYTES).flip(), offset);
+
+        addRun(run.timestampMs, offset, run.graphId, algorithm);
+        writeIndexRun(run.timestampMs, offset, run.graphId, algorithm);
+        writeFully(index, header(INDEX_MAGIC, log.size()), 0);
+    }
+
+    public int size() {
+        return runCount;
+    }
+
+    /** Algorithms in the order they first appear in the history. */
+    public List<String> getAlgorithms() {
+        Set<String> algorithms = new LinkedHashSet<>();
+        for (int i = 0; i < runCount; i++) {
+            algorithms.add(strings.get(algorithmIds[i]));
+        }
+        return new ArrayList<>(algorithms);
+    }
+
+    public SortedSet<Integer> getGraphIds() {
+        SortedSet<Integer> ids = new TreeSet<>();
+        for (int i = 0; i < runCount; i++) {
+            ids.add(graphIds[i]);
+        }
+        return ids;
+    }
+
+    public List<Run> query(String algorithm, int graphId) throws IOException {
+        return query(algorithm, graphId, Long.MIN_VALUE, Long.MAX_VALUE);
+    }
+
+    /**
+     * Runs of the given algorithm (null for any) on the given graph (negative for any) with a
+     * timestamp in [fromMs, toMs], oldest first.
+     */
+    public List<Run> query(String algorithm, int graphId, long fromMs, long toMs) throws IOException {
+        int algorithmId = -1;
+        if (algorithm != null) {
+            Integer id = stringIds.get(algorithm);
+            if (id == null) return new ArrayList<>();
+            algorithmId = id;
+        }
+
+        List<Run> runs = new ArrayList<>();
+        for (int i = 0; i < runCount; i++) {
+            if ((algorithmId < 0 || algorithmIds[i] == algorithmId) && (graphId < 0 || graphIds[i] == graphId)
+                    && timestamps[i] >= fromMs && timestamps[i] <= toMs) {
+                runs.add(readRun(offsets[i]));
+            }
+        }
+        runs.sort(Comparator.comparingLong(run -> run.timestampMs));
+        return runs;
+    }
+
+    private Run readRun(long offset) throws IOException {
+        ByteBuffer entry = readFully(log, offset + 1, RUN_BYTES);
+        if (entry == null) {
+            throw new IOException("Truncated run record at offset " + offset);
+        }
+        long timestampMs = entry.getLong();
+        String revision = strings.get(entry.getInt());
+        String jvm = strings.get(entry.getInt());
+        String jvmFlags = strings.get(entry.getInt());
+        String algorithm = strings.get(entry.getInt());
+        return new Run(timestampMs, revision, jvm, jvmFlags, entry.getInt(), algorithm, entry.getInt(),
+                entry.getInt(), entry.getLong(), entry.getInt(), entry.getDouble(), entry.getDouble(),
+                entry.getDouble(), entry.getDouble(), entry.getDouble(), entry.getLong(), entry.getLong(),
+                entry.getLong(), entry.getLong(), entry.getLong());
+    }
+
+    private int intern(String value) throws IOException {
+        Integer id = stringIds.get(value);
+        if (id != null) return id;
+
+        int newId = strings.size();
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        writeFully(log, stringEntry(newId, bytes), log.size());
+        writeFully(index, stringEntry(newId, bytes), index.size());
+        addString(value);
+        return newId;
+    }
+
+    private void addString(String value) {
+        stringIds.put(value, strings.size());
+        strings.add(value);
+    }
+
+    private void addRun(long timestampMs, long offset, int graphId, int algorithmId) {
+        if (runCount == timestamps.length) {
+            int capacity = runCount * 2;
+            timestamps = Arrays.copyOf(timestamps, capacity);
+            offsets = Arrays.copyOf(offsets, capacity);
+            graphIds = Arrays.copyOf(graphIds, capacity);
+            algorithmIds = Arrays.copyOf(algorithmIds, capacity);
+        }
+        timestamps[runCount] = timestampMs;
+        offsets[runCount] = offset;
+        graphIds[runCount] = graphId;
+        algorithmIds[runCount] = algorithmId;
+        runCount++;
+    }
+
+    private void writeIndexRun(long timestampMs, long offset, int graphId, int algorithmId) throws IOException {
+        ByteBuffer entry = ByteBuffer.allocate(25).order(ByteOrder.LITTLE_ENDIAN);
+        entry.put(RUN_ENTRY).putLong(timestampMs).putLong(offset).putInt(graphId).putInt(algorithmId).flip();
+        writeFully(index, entry, index.size());
+    }
+
+    // Returns false if the index is absent, foreign or does not cover exactly the current log
+    private boolean loadIndex() throws IOException {
+        if (index == null || index.size() < INDEX_HEADER_BYTES) return false;
+
+        ByteBuffer data = readFully(index, 0, (int) index.size());
+        if (data.getInt() != INDEX_MAGIC || data.getInt() != VERSION || data.getLong() != log.size()) {
+            return false;
+        }
+        while (data.hasRemaining()) {
+            byte tag = data.get();
+            if (tag == STRING_ENTRY && data.remaining() >= 8) {
+                data.getInt();
+                int length = data.getInt();
+                if (length > data.remaining()) return false;
+                byte[] bytes = new byte[length];
+                data.get(bytes);
+                addString(new String(bytes, StandardCharsets.UTF_8));
+            } else if (tag == RUN_ENTRY && data.remaining() >= 24) {
+                addRun(data.getLong(), data.getLong(), data.getInt(), data.getInt());
+            } else {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // A reader only indexes in memory and stops before an entry the writer has not finished
+    private void rebuildIndex() throws IOException {
+        strings.clear();
+        stringIds.clear();
+        runCount = 0;
+        if (!readOnly) {
+            index.truncate(0);
+            writeFully(index, header(INDEX_MAGIC, 0), 0);
+        }
+
+        long position = HEADER_BYTES;
+        long end = log.size();
+        while (position < end) {
+            byte tag = readFully(log, position, 1).get();
+            if (tag == STRING_ENTRY) {
+                ByteBuffer lengths = readFully(log, position + 1, 8);
+                if (lengths == null) break;
+                int id = lengths.getInt();
+                int length = lengths.getInt();
+                ByteBuffer bytes = length < 0 ? null : readFully(log, position + 9, length);
+                if (bytes == null || id != strings.size()) break;
+                byte[] value = new byte[length];
+                bytes.get(value);
+                if (!readOnly) {
+                    writeFully(index, stringEntry(id, value), index.size());
+                }
+                addString(new String(value, StandardCharsets.UTF_8));
+                position += 9 + length;
+            } else if (tag == RUN_ENTRY) {
+                ByteBuffer entry = readFully(log, position + 1, 28);
+                if (entry == null || position + 1 + RUN_BYTES > end) break;
+                long timestampMs = entry.getLong();
+                entry.position(entry.position() + 12);
+                int algorithmId = entry.getInt();
+                int graphId = entry.getInt();
+                addRun(timestampMs, position, graphId, algorithmId);
+                if (!readOnly) {
+                    writeIndexRun(timestampMs, position, graphId, algorithmId);
+                }
+                position += 1 + RUN_BYTES;
+            } else {
+                break;
+            }
+        }
+
+        if (readOnly) return;
+
+        // Drop a partially written entry so the next append starts on a record boundary
+        log.truncate(position);
+        writeFully(index, header(INDEX_MAGIC, position), 0);
+    }
+
+    private static ByteBuffer header(int magic, long coveredLength) {
+        ByteBuffer header = ByteBuffer.allocate(magic == MAGIC ? HEADER_BYTES : INDEX_HEADER_BYTES)
+                .order(ByteOrder.LITTLE_ENDIAN);
+        header.putInt(magic).putInt(VERSION);
+        if (magic != MAGIC) {
+            header.putLong(coveredLength);
+        }
+        return header.flip();
+    }
+
+    private static ByteBuffer stringEntry(int id, byte[] bytes) {
+        ByteBuffer entry = ByteBuffer.allocate(9 + bytes.length).order(ByteOrder.LITTLE_ENDIAN);
+        return entry.put(STRING_ENTRY).putInt(id).putInt(bytes.length).put(bytes).flip();
+    }
+
+    private static void writeFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            position += channel.write(buffer, position);
+        }
+    }
+
+    // Null if the channel ends before length bytes
+    private static ByteBuffer readFully(FileChannel channel, long position, int length) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(length).order(ByteOrder.LITTLE_ENDIAN);
+        while (buffer.hasRemaining()) {
+            int read = channel.read(buffer, position + buffer.position());
+            if (read < 0) return null;
+        }
+        return buffer.flip();
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            log.close();
+        } finally {
+            if (index != null) {
+                index.close();
+            }
+        }
+    }
+}
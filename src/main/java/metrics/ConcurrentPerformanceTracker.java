@@ -0,0 +1,131 @@
+package metrics;
+
+import java.util.*;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Thread-safe counterpart of {@link PerformanceTracker} for parallel solvers and concurrent
+ * benchmark runs. Counters are {@link LongAdder}s (maxima are {@link LongAccumulator}s), which
+ * spread contended updates over per-thread cells, so the hot path never fights over one cache line.
+ * Cells are only summed when a {@link #snapshot()} is taken; a snapshot taken while threads are
+ * still reporting is not an atomic cut across counters.
+ */
+public class ConcurrentPerformanceTracker implements MSTInstrumentation {
+    private final LongAdder comparisons = new LongAdder();
+    private final LongAdder swaps = new LongAdder();
+    private final LongAdder arrayAccesses = new LongAdder();
+    private final LongAdder sortComparisons = new LongAdder();
+    private final LongAdder edgesScanned = new LongAdder();
+    private final LongAdder heapPushes = new LongAdder();
+    private final LongAdder heapPops = new LongAdder();
+    private final LongAccumulator peakHeapSize = new LongAccumulator(Math::max, 0);
+    private final LongAdder staleEntries = new LongAdder();
+    private final LongAdder finds = new LongAdder();
+    private final LongAdder findPathLength = new LongAdder();
+    private final LongAccumulator maxFindPathLength = new LongAccumulator(Math::max, 0);
+    private final LongAdder unions = new LongAdder();
+
+    public void incrementSwaps() {
+        swaps.increment();
+    }
+
+    @Override
+    public void onComparison() {
+        comparisons.increment();
+    }
+
+    @Override
+    public void onSortComparison() {
+        sortComparisons.increment();
+        comparisons.increment();
+    }
+
+    @Override
+    public void onArrayAccess(int count) {
+        arrayAccesses.add(count);
+    }
+
+    @Override
+    public void onEdgeScanned() {
+        edgesScanned.increment();
+    }
+
+    @Override
+    public void onHeapPush(int heapSize) {
+        heapPushes.increment();
+        peakHeapSize.accumulate(heapSize);
+    }
+
+    @Override
+    public void onHeapPop() {
+        heapPops.increment();
+    }
+
+    @Override
+    public void onStaleEntry() {
+        staleEntries.increment();
+    }
+
+    @Override
+    public void onFind(int pathLength) {
+        finds.increment();
+        findPathLength.add(pathLength);
+        maxFindPathLength.accumulate(pathLength);
+    }
+
+    @Override
+    public void onUnion() {
+        unions.increment();
+    }
+
+    /**
+     * Current totals as a single-threaded tracker.
+     */
+    public PerformanceTracker snapshot() {
+        Map<String, Long> counters = new LinkedHashMap<>();
+        counters.put("comparisons", comparisons.sum());
+        counters.put("swaps", swaps.sum());
+        counters.put("arrayAccesses", arrayAccesses.sum());
+        counters.put("sortComparisons", sortComparisons.sum());
+        counters.put("edgesScanned", edgesScanned.sum());
+        counters.put("heapPushes", heapPushes.sum());
+        counters.put("heapPops", heapPops.sum());
+        counters.put("peakHeapSize", peakHeapSize.get());
+        counters.put("staleEntries", staleEntries.sum());
+        counters.put("finds", finds.sum());
+        counters.put("findPathLength", findPathLength.sum());
+        counters.put("maxFindPathLength", maxFindPathLength.get());
+        counters.put("unions", unions.sum());
+        return PerformanceTracker.fromCounters(counters);
+    }
+
+    public Map<String, Long> getCounters() {
+        return snapshot().getCounters();
+    }
+
+    public void reset() {
+        comparisons.reset();
+        swaps.reset();
+        arrayAccesses.reset();
+        sortComparisons.reset();
+        edgesScanned.reset();
+        heapPushes.reset();
+        heapPops.reset();
+        peakHeapSize.reset();
+        staleEntries.reset();
+        finds.reset();
+        findPathLength.reset();
+        maxFindPathLength.reset();
+        unions.reset();
+    }
+
+    @Override
+    public String toString() {
+        return snapshot().toString();
+    }
+
+    public String toCsv() {
+        return snapshot().toCsv();
+    }
+}
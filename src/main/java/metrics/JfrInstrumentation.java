@@ -0,0 +1,178 @@
+package metrics;
+
+import jdk.jfr.*;
+
+import java.util.function.BooleanSupplier;
+import java.util.function.Function;
+
+/**
+ * Emits JDK Flight Recorder events for one graph and algorithm: a solve event around the whole
+ * findMST call, an edge sort event (Kruskal) or heap setup phase event (Prim), phase events for
+ * the connectivity check and main loop, instant events each time the heap doubles, and a
+ * validation event. All events carry graph id, V, E and algorithm.
+ * <p>
+ * When no recording is running the events are disabled and cost a few field writes, so this can
+ * stay on in production runs; record with e.g.
+ * {@code java -XX:StartFlightRecording=filename=mst.jfr,settings=profile ...} and look under the
+ * "MST" category, next to the GC and safepoint events of the same recording.
+ * Comparisons are not routed through the hooks, so the solvers keep their natural-ordering fast path.
+ */
+public class JfrInstrumentation implements MSTInstrumentation {
+
+    private static final int FIRST_REPORTED_HEAP_SIZE = 1024;
+
+    private final int graphId;
+    private final int vertices;
+    private final int edges;
+    private final String algorithm;
+    private final boolean sortsEdges;
+
+    private final MSTEvent[] phaseEvents = new MSTEvent[Phase.values().length];
+    private int nextHeapReport = FIRST_REPORTED_HEAP_SIZE;
+
+    public JfrInstrumentation(int graphId, int vertices, int edges, String algorithm) {
+        this.graphId = graphId;
+        this.vertices = vertices;
+        this.edges = edges;
+        this.algorithm = algorithm;
+        this.sortsEdges = "Kruskal".equals(algorithm);
+    }
+
+    @Override
+    public boolean countsComparisons() {
+        return false;
+    }
+
+    /**
+     * Runs the solver with this instrumentation inside a solve event.
+     */
+    public <T> T solve(Function<MSTInstrumentation, T> solver) {
+        SolveEvent event = new SolveEvent();
+        event.begin();
+        nextHeapReport = FIRST_REPORTED_HEAP_SIZE;
+        try {
+            return solver.apply(this);
+        } finally {
+            event.end();
+            if (event.shouldCommit()) {
+                fill(event);
+                event.commit();
+            }
+        }
+    }
+
+    /**
+     * Runs an MST check inside a validation event and returns its verdict.
+     */
+    public boolean validate(BooleanSupplier validator) {
+        onPhaseStart(Phase.VALIDATION);
+        boolean valid = validator.getAsBoolean();
+        ValidationEvent event = (ValidationEvent) phaseEvents[Phase.VALIDATION.ordinal()];
+        event.valid = valid;
+        onPhaseEnd(Phase.VALIDATION);
+        return valid;
+    }
+
+    @Override
+    public void onPhaseStart(Phase phase) {
+        MSTEvent event;
+        if (phase == Phase.VALIDATION) {
+            event = new ValidationEvent();
+        } else if (phase == Phase.PREPARATION && sortsEdges) {
+            event = new SortEvent();
+        } else if (phase == Phase.GRAPH_CONSTRUCTION) {
+            return;
+        } else {
+            PhaseEvent phaseEvent = new PhaseEvent();
+            phaseEvent.phase = phase.name();
+            event = phaseEvent;
+        }
+        event.begin();
+        phaseEvents[phase.ordinal()] = event;
+    }
+
+    @Override
+    public void onPhaseEnd(Phase phase) {
+        MSTEvent event = phaseEvents[phase.ordinal()];
+        if (event == null) return;
+
+        phaseEvents[phase.ordinal()] = null;
+        event.end();
+        if (event.shouldCommit()) {
+            fill(event);
+            event.commit();
+        }
+    }
+
+    @Override
+    public void onHeapPush(int heapSize) {
+        if (heapSize < nextHeapReport) return;
+
+        nextHeapReport = heapSize * 2;
+        HeapGrowthEvent event = new HeapGrowthEvent();
+        if (event.isEnabled()) {
+            fill(event);
+            event.heapSize = heapSize;
+            event.commit();
+        }
+    }
+
+    private void fill(MSTEvent event) {
+        event.graphId = graphId;
+        event.vertices = vertices;
+        event.edges = edges;
+        event.algorithm = algorithm;
+    }
+
+    @Category({"MST"})
+    @StackTrace(false)
+    abstract static class MSTEvent extends Event {
+        @Label("Graph Id")
+        int graphId;
+
+        @Label("Vertices")
+        int vertices;
+
+        @Label("Edges")
+        int edges;
+
+        @Label("Algorithm")
+        String algorithm;
+    }
+
+    @Name("mst.Solve")
+    @Label("MST Solve")
+    @Description("One findMST call")
+    public static class SolveEvent extends MSTEvent {
+    }
+
+    @Name("mst.Sort")
+    @Label("MST Edge Sort")
+    @Description("Copying and sorting the edge list")
+    public static class SortEvent extends MSTEvent {
+    }
+
+    @Name("mst.Phase")
+    @Label("MST Phase")
+    @Description("Connectivity check, heap setup or main loop of a solve")
+    public static class PhaseEvent extends MSTEvent {
+        @Label("Phase")
+        String phase;
+    }
+
+    @Name("mst.HeapGrowth")
+    @Label("MST Heap Growth")
+    @Description("Priority queue reached twice the size of the previous report")
+    public static class HeapGrowthEvent extends MSTEvent {
+        @Label("Heap Size")
+        int heapSize;
+    }
+
+    @Name("mst.Validation")
+    @Label("MST Validation")
+    @Description("isValidMST check of a solver result")
+    public static class ValidationEvent extends MSTEvent {
+        @Label("Valid")
+        boolean valid;
+    }
+}
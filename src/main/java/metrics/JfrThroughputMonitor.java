@@ -0,0 +1,81 @@
+package metrics;
+
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingStream;
+
+import java.io.PrintStream;
+import java.time.Duration;
+
+/**
+ * In-process consumer of the {@link JfrInstrumentation} events. It prints a rolling summary of
+ * solves per second, edges processed per second and the GC pause time in the same interval while a
+ * long benchmark runs. Starting the monitor also enables the MST events, so no separate
+ * recording is needed.
+ */
+public class JfrThroughputMonitor implements AutoCloseable {
+
+    private final RecordingStream stream = new RecordingStream();
+    private final PrintStream out;
+    private final long intervalNs;
+
+    // Only touched on the stream's dispatch thread
+    private long windowStart = System.nanoTime();
+    private long windowSolves;
+    private long windowEdges;
+    private long windowSolveNs;
+    private long windowGcPauseNs;
+    private long totalSolves;
+    private long totalEdges;
+
+    public JfrThroughputMonitor(Duration interval, PrintStream out) {
+        this.out = out;
+        this.intervalNs = interval.toNanos();
+
+        stream.enable("mst.Solve");
+        stream.enable("jdk.GarbageCollection");
+        stream.setMaxAge(Duration.ofSeconds(10));
+        stream.onEvent("mst.Solve", this::onSolve);
+        stream.onEvent("jdk.GarbageCollection", this::onGarbageCollection);
+        stream.onFlush(this::onFlush);
+    }
+
+    public void start() {
+        stream.startAsync();
+    }
+
+    private void onSolve(RecordedEvent event) {
+        windowSolves++;
+        windowEdges += event.getInt("edges");
+        windowSolveNs += event.getDuration().toNanos();
+    }
+
+    private void onGarbageCollection(RecordedEvent event) {
+        windowGcPauseNs += event.getDuration("sumOfPauses").toNanos();
+    }
+
+    private void onFlush() {
+        long now = System.nanoTime();
+        long elapsed = now - windowStart;
+        if (elapsed < intervalNs) return;
+
+        double seconds = elapsed / 1e9;
+        out.printf("[jfr] %.1fs: %.1f solves/s, %.2fM edges/s, %.1f%% of wall time solving, GC pauses %.1fms%n",
+                seconds, windowSolves / seconds, windowEdges / seconds / 1e6,
+                100.0 * windowSolveNs / elapsed, windowGcPauseNs / 1e6);
+
+        totalSolves += windowSolves;
+        totalEdges += windowEdges;
+        windowStart = now;
+        windowSolves = 0;
+        windowEdges = 0;
+        windowSolveNs = 0;
+        windowGcPauseNs = 0;
+    }
+
+    @Override
+    public void close() {
+        stream.close();
+        out.printf("[jfr] monitor stopped after %d solves over %d edges%n",
+                totalSolves + windowSolves, totalEdges + windowEdges);
+    }
+}
@@ -0,0 +1,137 @@
+package metrics;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.EncodableHistogram;
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.HistogramLogReader;
+import org.HdrHistogram.HistogramLogWriter;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.util.*;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Solve latencies in microseconds, one HDR histogram per algorithm and size class, e.g.
+ * "Prim/&lt;1k" for graphs with fewer than 1000 vertices. Histograms keep 3 significant digits up to
+ * one hour, so p99.9 of millions of sub-millisecond solves stays exact to 0.1%. Recording is
+ * wait-free and safe from any number of threads.
+ * <p>
+ * {@link #writeLog(File)} writes the standard HdrHistogram interval log with the key as the tag;
+ * {@link #readLog(File)} reads it back (also logs written by other HdrHistogram tools).
+ */
+public class LatencyRecorder {
+
+    public static final long HIGHEST_TRACKABLE_US = TimeUnit.HOURS.toMicros(1);
+    public static final int SIGNIFICANT_DIGITS = 3;
+
+    private static final String[] SIZE_LABELS = {"<10", "<100", "<1k", "<10k", "<100k", "<1M", "<10M", "<100M", "<1G"};
+
+    private final Map<String, Histogram> histograms = new ConcurrentSkipListMap<>();
+    private final long startTimeMs = System.currentTimeMillis();
+
+    /**
+     * Times one solve and records it under the algorithm and size class of the graph.
+     */
+    public <T> T record(String algorithm, int vertices, Supplier<T> solve) {
+        long start = System.nanoTime();
+        T result = solve.get();
+        recordNanos(algorithm, vertices, System.nanoTime() - start);
+        return result;
+    }
+
+    public void recordNanos(String algorithm, int vertices, long nanos) {
+        long micros = Math.min(HIGHEST_TRACKABLE_US, Math.max(0, (nanos + 500) / 1000));
+        histogram(key(algorithm, vertices)).recordValue(micros);
+    }
+
+    public static String key(String algorithm, int vertices) {
+        return algorithm + "/" + sizeClass(vertices);
+    }
+
+    /** Decade of the vertex count: "&lt;10", "&lt;100", "&lt;1k", ... */
+    public static String sizeClass(int vertices) {
+        int decade = 0;
+        for (long bound = 10; bound <= vertices && decade < SIZE_LABELS.length - 1; bound *= 10) {
+            decade++;
+        }
+        return SIZE_LABELS[decade];
+    }
+
+    /** Snapshot copies of every histogram by key, in key order. */
+    public Map<String, Histogram> getHistograms() {
+        Map<String, Histogram> copies = new LinkedHashMap<>();
+        histograms.forEach((key, histogram) -> copies.put(key, histogram.copy()));
+        return copies;
+    }
+
+    public Histogram getHistogram(String algorithm, int vertices) {
+        Histogram histogram = histograms.get(key(algorithm, vertices));
+        return histogram == null ? null : histogram.copy();
+    }
+
+    public void reset() {
+        histograms.clear();
+    }
+
+    public void writeLog(File file) throws IOException {
+        try (PrintStream out = new PrintStream(file, "UTF-8")) {
+            HistogramLogWriter writer = new HistogramLogWriter(out);
+            writer.outputComment("MST solve latency in microseconds, tag = algorithm/size class");
+            writer.outputLogFormatVersion();
+            writer.outputStartTime(startTimeMs);
+            writer.setBaseTime(startTimeMs);
+            writer.outputLegend();
+
+            long now = System.currentTimeMillis();
+            for (Map.Entry<String, Histogram> entry : getHistograms().entrySet()) {
+                Histogram histogram = entry.getValue();
+                histogram.setTag(entry.getKey());
+                histogram.setStartTimeStamp(startTimeMs);
+                histogram.setEndTimeStamp(now);
+                writer.outputIntervalHistogram(histogram);
+            }
+        }
+    }
+
+    /**
+     * Reads an interval log, adding up all intervals with the same tag. Untagged intervals are
+     * collected under "untagged".
+     */
+    public static Map<String, Histogram> readLog(File file) throws IOException {
+        Map<String, Histogram> merged = new TreeMap<>();
+        HistogramLogReader reader = new HistogramLogReader(file);
+        try {
+            EncodableHistogram interval;
+            while ((interval = reader.nextIntervalHistogram()) != null) {
+                if (!(interval instanceof Histogram)) {
+                    throw new IOException("Expected integer histograms in " + file + ", found " +
+                            interval.getClass().getSimpleName());
+                }
+                String tag = interval.getTag() == null ? "untagged" : interval.getTag();
+                merged.computeIfAbsent(tag, k -> newHistogram()).add((Histogram) interval);
+            }
+        } finally {
+            reader.close();
+        }
+        return merged;
+    }
+
+    /** One-line summary: count, p50, p99, p99.9 and max in microseconds. */
+    public static String describe(Histogram histogram) {
+        return String.format("n=%d, p50=%dus, p99=%dus, p99.9=%dus, max=%dus",
+                histogram.getTotalCount(), histogram.getValueAtPercentile(50), histogram.getValueAtPercentile(99),
+                histogram.getValueAtPercentile(99.9), histogram.getMaxValue());
+    }
+
+    private Histogram histogram(String key) {
+        return histograms.computeIfAbsent(key, k -> newHistogram());
+    }
+
+    private static Histogram newHistogram() {
+        return new ConcurrentHistogram(1, HIGHEST_TRACKABLE_US, SIGNIFICANT_DIGITS);
+    }
+}
@@ -0,0 +1,79 @@
+package metrics;
+
+/**
+ * Hooks the MST solvers call at interesting points. Every hook defaults to doing nothing.
+ * The solvers read {@link #countsOperations()} once per run and only call the per-operation hooks
+ * (everything but the phase hooks) when it is true. {@link #NONE} and {@link PhaseTimer} return
+ * false, so their runs skip those hooks behind a local flag. Their cost therefore does not depend
+ * on which other implementations have been through the same solver, and the JIT cannot turn them
+ * into megamorphic calls. InstrumentationOverheadBenchmark compares NONE with hook-free copies of
+ * the solvers, both in a clean JVM and after the solvers have also run with several other
+ * implementations.
+ * {@link PerformanceTracker} is the counting implementation.
+ */
+public interface MSTInstrumentation {
+
+    MSTInstrumentation NONE = new MSTInstrumentation() {
+        @Override
+        public boolean countsOperations() {
+            return false;
+        }
+    };
+
+    /**
+     * Whether the solvers should call the per-operation hooks (comparisons, array accesses, edge
+     * scans, heap, find and union). Implementations that only use the phase hooks return false.
+     */
+    default boolean countsOperations() {
+        return true;
+    }
+
+    /**
+     * Whether the solvers should route heap and sort comparisons through the comparison hooks; only
+     * asked when {@link #countsOperations()} is true.
+     * Doing so swaps natural ordering for a comparator, so implementations that only time things
+     * return false to keep the solver on its uninstrumented fast path.
+     */
+    default boolean countsComparisons() {
+        return true;
+    }
+
+    /** One edge weight comparison made by a priority queue. */
+    default void onComparison() {
+    }
+
+    /** One edge weight comparison made while sorting the edge list. */
+    default void onSortComparison() {
+    }
+
+    default void onArrayAccess(int count) {
+    }
+
+    /** An edge was taken from the graph and examined (adjacency scan or sorted edge list). */
+    default void onEdgeScanned() {
+    }
+
+    /** @param heapSize size of the priority queue after the push */
+    default void onHeapPush(int heapSize) {
+    }
+
+    default void onHeapPop() {
+    }
+
+    /** A popped heap entry was discarded because both endpoints were already in the tree. */
+    default void onStaleEntry() {
+    }
+
+    /** @param pathLength parent links followed to reach the root (0 when x is a root) */
+    default void onFind(int pathLength) {
+    }
+
+    default void onUnion() {
+    }
+
+    default void onPhaseStart(Phase phase) {
+    }
+
+    default void onPhaseEnd(Phase phase) {
+    }
+}
@@ -1,9 +1,27 @@
 package metrics;
 
-public class PerformanceTracker {
+import java.util.*;
+
+/**
+ * Counts what the MST solvers actually do. Comparisons are edge weight comparisons (heap and
+ * sort together; the sort share is also reported on its own), find path lengths are the parent
+ * links followed before path compression, and unions are successful merges only.
+ * Not thread-safe; use {@link ConcurrentPerformanceTracker} when several threads report.
+ */
+public class PerformanceTracker implements MSTInstrumentation {
     private long comparisons = 0;
     private long swaps = 0;
     private long arrayAccesses = 0;
+    private long sortComparisons = 0;
+    private long edgesScanned = 0;
+    private long heapPushes = 0;
+    private long heapPops = 0;
+    private long peakHeapSize = 0;
+    private long staleEntries = 0;
+    private long finds = 0;
+    private long findPathLength = 0;
+    private long maxFindPathLength = 0;
+    private long unions = 0;
 
     public void incrementComparisons() {
         this.comparisons++;
@@ -17,6 +35,59 @@ public class PerformanceTracker {
         this.arrayAccesses += count;
     }
 
+    @Override
+    public void onComparison() {
+        this.comparisons++;
+    }
+
+    @Override
+    public void onSortComparison() {
+        this.sortComparisons++;
+        this.comparisons++;
+    }
+
+    @Override
+    public void onArrayAccess(int count) {
+        this.arrayAccesses += count;
+    }
+
+    @Override
+    public void onEdgeScanned() {
+        this.edgesScanned++;
+    }
+
+    @Override
+    public void onHeapPush(int heapSize) {
+        this.heapPushes++;
+        if (heapSize > peakHeapSize) {
+            this.peakHeapSize = heapSize;
+        }
+    }
+
+    @Override
+    public void onHeapPop() {
+        this.heapPops++;
+    }
+
+    @Override
+    public void onStaleEntry() {
+        this.staleEntries++;
+    }
+
+    @Override
+    public void onFind(int pathLength) {
+        this.finds++;
+        this.findPathLength += pathLength;
+        if (pathLength > maxFindPathLength) {
+            this.maxFindPathLength = pathLength;
+        }
+    }
+
+    @Override
+    public void onUnion() {
+        this.unions++;
+    }
+
     public long getComparisons() {
         return comparisons;
     }
@@ -25,19 +96,131 @@ public class PerformanceTracker {
         return swaps;
     }
 
+    public long getArrayAccesses() {
+        return arrayAccesses;
+    }
+
+    public long getSortComparisons() {
+        return sortComparisons;
+    }
+
+    public long getEdgesScanned() {
+        return edgesScanned;
+    }
+
+    public long getHeapPushes() {
+        return heapPushes;
+    }
+
+    public long getHeapPops() {
+        return heapPops;
+    }
+
+    public long getPeakHeapSize() {
+        return peakHeapSize;
+    }
+
+    public long getStaleEntries() {
+        return staleEntries;
+    }
+
+    public long getFinds() {
+        return finds;
+    }
+
+    /** Total parent links followed over all find calls. */
+    public long getFindPathLength() {
+        return findPathLength;
+    }
+
+    public long getMaxFindPathLength() {
+        return maxFindPathLength;
+    }
+
+    public double getAverageFindPathLength() {
+        return finds == 0 ? 0 : (double) findPathLength / finds;
+    }
+
+    public long getUnions() {
+        return unions;
+    }
+
+    /**
+     * All counters by name, in a fixed order matching {@link #toCsv()}.
+     */
+    public Map<String, Long> getCounters() {
+        Map<String, Long> counters = new LinkedHashMap<>();
+        counters.put("comparisons", comparisons);
+        counters.put("swaps", swaps);
+        counters.put("arrayAccesses", arrayAccesses);
+        counters.put("sortComparisons", sortComparisons);
+        counters.put("edgesScanned", edgesScanned);
+        counters.put("heapPushes", heapPushes);
+        counters.put("heapPops", heapPops);
+        counters.put("peakHeapSize", peakHeapSize);
+        counters.put("staleEntries", staleEntries);
+        counters.put("finds", finds);
+        counters.put("findPathLength", findPathLength);
+        counters.put("maxFindPathLength", maxFindPathLength);
+        counters.put("unions", unions);
+        return counters;
+    }
+
+    /**
+     * Tracker holding the given counter values; names as in {@link #getCounters()}, missing ones are 0.
+     */
+    static PerformanceTracker fromCounters(Map<String, Long> counters) {
+        PerformanceTracker tracker = new PerformanceTracker();
+        tracker.comparisons = counters.getOrDefault("comparisons", 0L);
+        tracker.swaps = counters.getOrDefault("swaps", 0L);
+        tracker.arrayAccesses = counters.getOrDefault("arrayAccesses", 0L);
+        tracker.sortComparisons = counters.getOrDefault("sortComparisons", 0L);
+        tracker.edgesScanned = counters.getOrDefault("edgesScanned", 0L);
+        tracker.heapPushes = counters.getOrDefault("heapPushes", 0L);
+        tracker.heapPops = counters.getOrDefault("heapPops", 0L);
+        tracker.peakHeapSize = counters.getOrDefault("peakHeapSize", 0L);
+        tracker.staleEntries = counters.getOrDefault("staleEntries", 0L);
+        tracker.finds = counters.getOrDefault("finds", 0L);
+        tracker.findPathLength = counters.getOrDefault("findPathLength", 0L);
+        tracker.maxFindPathLength = counters.getOrDefault("maxFindPathLength", 0L);
+        tracker.unions = counters.getOrDefault("unions", 0L);
+        return tracker;
+    }
+
     public void reset() {
         this.comparisons = 0;
         this.swaps = 0;
         this.arrayAccesses = 0;
+        this.sortComparisons = 0;
+        this.edgesScanned = 0;
+        this.heapPushes = 0;
+        this.heapPops = 0;
+        this.peakHeapSize = 0;
+        this.staleEntries = 0;
+        this.finds = 0;
+        this.findPathLength = 0;
+        this.maxFindPathLength = 0;
+        this.unions = 0;
     }
 
     @Override
     public String toString() {
-        return String.format("Comparisons: %d, Swaps: %d, Array Accesses: %d",
-                comparisons, swaps, arrayAccesses);
+        return String.format("Comparisons: %d (sort %d), Swaps: %d, Array Accesses: %d, Edges Scanned: %d, " +
+                        "Heap Pushes/Pops: %d/%d (peak %d, stale %d), Finds: %d (avg path %.2f, max %d), Unions: %d",
+                comparisons, sortComparisons, swaps, arrayAccesses, edgesScanned,
+                heapPushes, heapPops, peakHeapSize, staleEntries,
+                finds, getAverageFindPathLength(), maxFindPathLength, unions);
+    }
+
+    public static String csvHeader() {
+        return String.join(",", new PerformanceTracker().getCounters().keySet());
     }
 
     public String toCsv() {
-        return String.format("%d,%d,%d", comparisons, swaps, arrayAccesses);
+        StringJoiner csv = new StringJoiner(",");
+        for (long value : getCounters().values()) {
+            csv.add(Long.toString(value));
+        }
+        return csv.toString();
     }
-}
\ No newline at end of file
+}
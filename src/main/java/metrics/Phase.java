@@ -0,0 +1,32 @@
+package metrics;
+
+/**
+ * Stages of one MST run, as reported through {@link MSTInstrumentation#onPhaseStart(Phase)}.
+ * The solvers report CONNECTIVITY, PREPARATION and MAIN_LOOP; graph construction and
+ * validation happen outside the solvers and are reported by the caller.
+ */
+public enum Phase {
+    GRAPH_CONSTRUCTION("graphConstructionNs", "Construction"),
+    CONNECTIVITY("connectivityNs", "Connectivity"),
+    /** Kruskal: copying and sorting the edge list. Prim: allocating and seeding the heap. */
+    PREPARATION("preparationNs", "Preparation"),
+    /** Kruskal: the union-find loop. Prim: the heap loop. */
+    MAIN_LOOP("mainLoopNs", "Main_Loop"),
+    VALIDATION("validationNs", "Validation");
+
+    private final String jsonName;
+    private final String csvName;
+
+    Phase(String jsonName, String csvName) {
+        this.jsonName = jsonName;
+        this.csvName = csvName;
+    }
+
+    public String getJsonName() {
+        return jsonName;
+    }
+
+    public String getCsvName() {
+        return csvName;
+    }
+}
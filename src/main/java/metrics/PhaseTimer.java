@@ -0,0 +1,75 @@
+package metrics;
+
+import java.util.*;
+
+/**
+ * Wall-clock time per {@link Phase}. Each start/end pair adds one sample to its phase, so timing
+ * the same solver several times gives a distribution per phase. Only the phase hooks are
+ * implemented and {@link #countsOperations()} is false, so the solvers skip the counting hooks.
+ * Not thread-safe.
+ */
+public class PhaseTimer implements MSTInstrumentation {
+
+    private static final Phase[] PHASES = Phase.values();
+
+    private final long[] startedAt = new long[PHASES.length];
+    private final List<List<Long>> samples = new ArrayList<>();
+
+    public PhaseTimer() {
+        for (int i = 0; i < PHASES.length; i++) {
+            samples.add(new ArrayList<>());
+        }
+    }
+
+    @Override
+    public boolean countsOperations() {
+        return false;
+    }
+
+    @Override
+    public void onPhaseStart(Phase phase) {
+        startedAt[phase.ordinal()] = System.nanoTime();
+    }
+
+    @Override
+    public void onPhaseEnd(Phase phase) {
+        record(phase, System.nanoTime() - startedAt[phase.ordinal()]);
+    }
+
+    /** Adds a duration measured elsewhere, e.g. graph construction done before the timer existed. */
+    public void record(Phase phase, long nanos) {
+        samples.get(phase.ordinal()).add(nanos);
+    }
+
+    public int getSampleCount(Phase phase) {
+        return samples.get(phase.ordinal()).size();
+    }
+
+    /** Median duration of the phase in ns, or 0 if it was never recorded. */
+    public long getMedianNanos(Phase phase) {
+        List<Long> phaseSamples = samples.get(phase.ordinal());
+        if (phaseSamples.isEmpty()) return 0;
+
+        long[] sorted = phaseSamples.stream().mapToLong(Long::longValue).toArray();
+        Arrays.sort(sorted);
+        return sorted[sorted.length / 2];
+    }
+
+    /** Median of every phase by {@link Phase#getJsonName()}, in phase order. */
+    public Map<String, Long> getMedians() {
+        Map<String, Long> medians = new LinkedHashMap<>();
+        for (Phase phase : PHASES) {
+            medians.put(phase.getJsonName(), getMedianNanos(phase));
+        }
+        return medians;
+    }
+
+    @Override
+    public String toString() {
+        StringJoiner joiner = new StringJoiner(", ");
+        for (Phase phase : PHASES) {
+            joiner.add(phase.getCsvName() + "=" + getMedianNanos(phase) + "ns");
+        }
+        return joiner.toString();
+    }
+}
@@ -0,0 +1,158 @@
+package metrics;
+
+import java.util.*;
+
+/**
+ * Summary statistics over repeated timing samples (nanoseconds): min, median, mean, p90, p99,
+ * standard deviation, a 95% confidence interval for the mean (Student's t) and outliers by
+ * Tukey's fences (outside [Q1 - 1.5 IQR, Q3 + 1.5 IQR]).
+ */
+public class TimingStatistics {
+
+    // Two-sided 95% Student's t critical values for 1..30 degrees of freedom
+    private static final double[] T_95 = {
+            12.706, 4.303, 3.182, 2.776, 2.571, 2.447, 2.365, 2.306, 2.262, 2.228,
+            2.201, 2.179, 2.160, 2.145, 2.131, 2.120, 2.110, 2.101, 2.093, 2.086,
+            2.080, 2.074, 2.069, 2.064, 2.060, 2.056, 2.052, 2.048, 2.045, 2.042
+    };
+
+    private final long[] samples;
+    private final long[] sorted;
+    private final double mean;
+    private final double stddev;
+    private final boolean[] outlier;
+    private final int outlierCount;
+
+    public TimingStatistics(long[] samplesNs) {
+        if (samplesNs.length == 0) {
+            throw new IllegalArgumentException("At least one timing sample is required");
+        }
+
+        this.samples = samplesNs.clone();
+        this.sorted = samplesNs.clone();
+        Arrays.sort(sorted);
+
+        double sum = 0;
+        for (long sample : samples) {
+            sum += sample;
+        }
+        this.mean = sum / samples.length;
+
+        double squares = 0;
+        for (long sample : samples) {
+            squares += (sample - mean) * (sample - mean);
+        }
+        this.stddev = samples.length > 1 ? Math.sqrt(squares / (samples.length - 1)) : 0;
+
+        double q1 = percentile(25);
+        double q3 = percentile(75);
+        double iqr = q3 - q1;
+        double lowFence = q1 - 1.5 * iqr;
+        double highFence = q3 + 1.5 * iqr;
+
+        this.outlier = new boolean[samples.length];
+        int outliers = 0;
+        for (int i = 0; i < samples.length; i++) {
+            if (samples[i] < lowFence || samples[i] > highFence) {
+                outlier[i] = true;
+                outliers++;
+            }
+        }
+        this.outlierCount = outliers;
+    }
+
+    /**
+     * Percentile with linear interpolation between closest ranks, p in [0, 100].
+     */
+    public double percentile(double p) {
+        if (sorted.length == 1) return sorted[0];
+
+        double rank = p / 100.0 * (sorted.length - 1);
+        int lower = (int) Math.floor(rank);
+        int upper = Math.min(sorted.length - 1, lower + 1);
+        double fraction = rank - lower;
+        return sorted[lower] + fraction * (sorted[upper] - sorted[lower]);
+    }
+
+    public int getCount() {
+        return samples.length;
+    }
+
+    public long getMin() {
+        return sorted[0];
+    }
+
+    public long getMax() {
+        return sorted[sorted.length - 1];
+    }
+
+    public double getMedian() {
+        return percentile(50);
+    }
+
+    public double getMean() {
+        return mean;
+    }
+
+    public double getP90() {
+        return percentile(90);
+    }
+
+    public double getP99() {
+        return percentile(99);
+    }
+
+    public double getStddev() {
+        return stddev;
+    }
+
+    /** Half width of the 95% confidence interval of the mean (0 for a single sample). */
+    public double getConfidenceHalfWidth() {
+        int n = samples.length;
+        if (n < 2) return 0;
+
+        return criticalT95(n - 1) * stddev / Math.sqrt(n);
+    }
+
+    /** Two-sided 95% Student's t critical value (normal approximation beyond 30 degrees of freedom). */
+    public static double criticalT95(int degreesOfFreedom) {
+        if (degreesOfFreedom < 1) {
+            throw new IllegalArgumentException("Degrees of freedom must be positive: " + degreesOfFreedom);
+        }
+        return degreesOfFreedom <= T_95.length ? T_95[degreesOfFreedom - 1] : 1.96;
+    }
+
+    public double getConfidenceLow() {
+        return mean - getConfidenceHalfWidth();
+    }
+
+    public double getConfidenceHigh() {
+        return mean + getConfidenceHalfWidth();
+    }
+
+    /** True if the two 95% confidence intervals overlap, i.e. the difference is not significant. */
+    public boolean overlaps(TimingStatistics other) {
+        return getConfidenceLow() <= other.getConfidenceHigh() && other.getConfidenceLow() <= getConfidenceHigh();
+    }
+
+    public boolean isOutlier(int sampleIndex) {
+        return outlier[sampleIndex];
+    }
+
+    public int getOutlierCount() {
+        return outlierCount;
+    }
+
+    /** Samples in measurement order. */
+    public long[] getSamples() {
+        return samples.clone();
+    }
+
+    @Override
+    public String toString() {
+        return String.format("n=%d, min=%d, median=%.0f, mean=%.0f, p90=%.0f, p99=%.0f, stddev=%.0f, " +
+                        "CI95=[%.0f, %.0f], outliers=%d (ns)",
+                getCount(), getMin(), getMedian(), mean, getP90(), getP99(), stddev,
+                getConfidenceLow(), getConfidenceHigh(), outlierCount);
+    }
+}
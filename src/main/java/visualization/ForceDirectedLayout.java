@@ -0,0 +1,457 @@
+package visualization;
+
+import algorithms.Edge;
+
+import java.util.*;
+import java.util.stream.IntStream;
+
+/**
+ * Fruchterman-Reingold style force-directed layout with Barnes-Hut repulsion.
+ * <p>
+ * Every pair of vertices repels (k² / d) and every spring edge attracts (d² / k). Repulsion is
+ * approximated with a quadtree rebuilt each iteration: a cell whose side over distance is below
+ * theta acts as one body at its center of mass, so an iteration costs O(n log n) instead of
+ * O(n²). Forces are computed for blocks of vertices in parallel from the previous positions and
+ * applied all at once, so results do not depend on the number of threads. Displacement per
+ * iteration is capped by a temperature that cools linearly to zero.
+ * <p>
+ * The starting positions are a radial tree drawing of the springs (each subtree gets an angular
+ * wedge in proportion to its size, rings by BFS depth), so when the springs are an MST the layout
+ * starts untangled and needs far fewer iterations than from random positions.
+ */
+public class ForceDirectedLayout {
+
+    private static final double K = 1.0;
+    private static final double SOFTENING = 0.01 * K * K;
+    private static final double GRAVITY = 0.01;
+    private static final int MAX_DEPTH = 40;
+    private static final int BLOCK = 1024;
+
+    private final int vertices;
+    private final int[] adjacencyStart;
+    private final int[] adjacency;
+    private final double theta;
+    private final long seed;
+
+    private double[] x;
+    private double[] y;
+    private QuadTree tree;
+
+    public ForceDirectedLayout(int vertices, List<Edge> springs) {
+        this(vertices, springs, 0.7, 42);
+    }
+
+    /**
+     * @param theta Barnes-Hut opening criterion; 0 computes exact repulsion, larger is faster and coarser
+     * @param seed  seed for the jitter that separates coincident vertices
+     */
+    public ForceDirectedLayout(int vertices, List<Edge> springs, double theta, long seed) {
+        if (vertices < 0 || theta < 0) {
+            throw new IllegalArgumentException("Vertices and theta must be non-negative: " + vertices + ", " + theta);
+        }
+        this.vertices = vertices;
+        this.theta = theta;
+        this.seed = seed;
+
+        // Springs as a symmetric adjacency array
+        adjacencyStart = new int[vertices + 1];
+        for (Edge edge : springs) {
+            adjacencyStart[edge.getFrom() + 1]++;
+            adjacencyStart[edge.getTo() + 1]++;
+        }
+        for (int v = 0; v < vertices; v++) {
+            adjacencyStart[v + 1] += adjacencyStart[v];
+        }
+        adjacency = new int[adjacencyStart[vertices]];
+        int[] fill = Arrays.copyOf(adjacencyStart, vertices);
+        for (Edge edge : springs) {
+            adjacency[fill[edge.getFrom()]++] = edge.getTo();
+            adjacency[fill[edge.getTo()]++] = edge.getFrom();
+        }
+    }
+
+    /**
+     * Runs the layout and returns positions scaled into the unit square, aspect ratio kept
+     * (positions[0] x, positions[1] y), in the form {@link LargeGraphRenderer} takes.
+     */
+    public float[][] compute(int iterations) {
+        seedFromTree();
+
+        double[] nextX = new double[vertices];
+        double[] nextY = new double[vertices];
+        double startTemperature = 0.1 * Math.sqrt(vertices) * K;
+        int blocks = (vertices + BLOCK - 1) / BLOCK;
+        tree = new QuadTree(vertices);
+
+        for (int iteration = 0; iteration < iterations; iteration++) {
+            double temperature = startTemperature * (1 - (double) iteration / iterations);
+            tree.build(x, y);
+
+            // Blocks of spatially close vertices walk mostly the same cells, which keeps them in cache
+            int[] order = tree.bodyOrder;
+            IntStream.range(0, blocks).parallel().forEach(block -> {
+                double[] force = new double[2];
+                int[] stack = new int[4 * MAX_DEPTH + 8];
+                int end = Math.min(vertices, (block + 1) * BLOCK);
+                for (int i = block * BLOCK; i < end; i++) {
+                    int v = order[i];
+                    force[0] = 0;
+                    force[1] = 0;
+                    repulsion(v, force, stack);
+                    attraction(v, force);
+                    force[0] -= GRAVITY * x[v];
+                    force[1] -= GRAVITY * y[v];
+
+                    double length = Math.sqrt(force[0] * force[0] + force[1] * force[1]);
+                    double scale = length > temperature ? temperature / length : 1;
+                    nextX[v] = x[v] + force[0] * scale;
+                    nextY[v] = y[v] + force[1] * scale;
+                }
+            });
+
+            System.arraycopy(nextX, 0, x, 0, vertices);
+            System.arraycopy(nextY, 0, y, 0, vertices);
+        }
+        return normalize();
+    }
+
+    /** Radial drawing of a BFS forest over the springs, scaled to the layout's natural area. */
+    private void seedFromTree() {
+        x = new double[vertices];
+        y = new double[vertices];
+        int[] order = new int[vertices];
+        int[] parent = new int[vertices];
+        int[] depth = new int[vertices];
+        Arrays.fill(parent, -2);
+
+        int size = 0;
+        for (int root = 0; root < vertices; root++) {
+            if (parent[root] != -2) continue;
+            parent[root] = -1;
+            order[size++] = root;
+            for (int head = size - 1; head < size; head++) {
+                int v = order[head];
+                for (int i = adjacencyStart[v]; i < adjacencyStart[v + 1]; i++) {
+                    int u = adjacency[i];
+                    if (parent[u] == -2) {
+                        parent[u] = v;
+                        depth[u] = depth[v] + 1;
+                        order[size++] = u;
+                    }
+                }
+            }
+        }
+
+        int[] subtree = new int[vertices];
+        for (int i = vertices - 1; i >= 0; i--) {
+            int v = order[i];
+            subtree[v]++;
+            if (parent[v] >= 0) subtree[parent[v]] += subtree[v];
+        }
+
+        // Each vertex owns [wedgeStart, wedgeStart + wedge) and hands it out to its children in BFS order
+        double[] wedgeStart = new double[vertices];
+        double[] wedge = new double[vertices];
+        double[] nextChildStart = new double[vertices];
+        Random random = new Random(seed);
+        int maxDepth = 1;
+        for (int i = 0; i < vertices; i++) {
+            int v = order[i];
+            if (parent[v] < 0) {
+                wedgeStart[v] = 0;
+                wedge[v] = 2 * Math.PI;
+            } else {
+                int p = parent[v];
+                wedge[v] = wedge[p] * subtree[v] / Math.max(1, subtree[p] - 1);
+                wedgeStart[v] = nextChildStart[p];
+                nextChildStart[p] += wedge[v];
+            }
+            nextChildStart[v] = wedgeStart[v];
+            maxDepth = Math.max(maxDepth, depth[v]);
+
+            double angle = wedgeStart[v] + wedge[v] / 2;
+            // Jitter keeps separate trees and stacked vertices apart
+            x[v] = depth[v] * Math.cos(angle) + 0.01 * random.nextGaussian();
+            y[v] = depth[v] * Math.sin(angle) + 0.01 * random.nextGaussian();
+        }
+
+        double scale = Math.sqrt(Math.max(1, vertices)) * K / 2 / maxDepth;
+        for (int v = 0; v < vertices; v++) {
+            x[v] *= scale;
+            y[v] *= scale;
+        }
+    }
+
+    /** Adds the Barnes-Hut approximation of the repulsion on v from all other vertices. */
+    void repulsion(int v, double[] force, int[] stack) {
+        double[] cells = tree.cells;
+        int[] children = tree.cellChildren;
+        double thetaSquared = theta * theta;
+        double vx = x[v];
+        double vy = y[v];
+        int top = 0;
+        stack[top++] = 0;
+        while (top > 0) {
+            int cell = stack[--top];
+            int base = QuadTree.CELL_STRIDE * cell;
+            double mass = cells[base + 3];
+            int body = (int) cells[base + 4];
+            double dx = vx - cells[base];
+            double dy = vy - cells[base + 1];
+            double distanceSquared = dx * dx + dy * dy;
+
+            if (body >= 0 || cells[base + 2] < thetaSquared * distanceSquared) {
+                if (body == v) {
+                    // Other bodies stacked into the same deepest cell, if any
+                    if (--mass == 0) continue;
+                    dx = vx - (cells[base] * (mass + 1) - vx) / mass;
+                    dy = vy - (cells[base + 1] * (mass + 1) - vy) / mass;
+                    distanceSquared = dx * dx + dy * dy;
+                }
+                double strength = mass * K * K / (distanceSquared + SOFTENING);
+                force[0] += dx * strength;
+                force[1] += dy * strength;
+            } else {
+                for (int quadrant = 0; quadrant < 4; quadrant++) {
+                    int child = children[4 * cell + quadrant];
+                    if (child > 0) stack[top++] = child;
+                }
+            }
+        }
+    }
+
+    private void attraction(int v, double[] force) {
+        for (int i = adjacencyStart[v]; i < adjacencyStart[v + 1]; i++) {
+            int u = adjacency[i];
+            double dx = x[u] - x[v];
+            double dy = y[u] - y[v];
+            double distance = Math.sqrt(dx * dx + dy * dy);
+            force[0] += dx * distance / K;
+            force[1] += dy * distance / K;
+        }
+    }
+
+    private float[][] normalize() {
+        double minX = Double.POSITIVE_INFINITY;
+        double minY = Double.POSITIVE_INFINITY;
+        double maxX = Double.NEGATIVE_INFINITY;
+        double maxY = Double.NEGATIVE_INFINITY;
+        for (int v = 0; v < vertices; v++) {
+            minX = Math.min(minX, x[v]);
+            minY = Math.min(minY, y[v]);
+            maxX = Math.max(maxX, x[v]);
+            maxY = Math.max(maxY, y[v]);
+        }
+        double span = Math.max(Math.max(maxX - minX, maxY - minY), 1e-9);
+        double offsetX = (span - (maxX - minX)) / 2;
+        double offsetY = (span - (maxY - minY)) / 2;
+
+        float[][] positions = new float[2][vertices];
+        for (int v = 0; v < vertices; v++) {
+            positions[0][v] = (float) ((x[v] - minX + offsetX) / span);
+            positions[1][v] = (float) ((y[v] - minY + offsetY) / span);
+        }
+        return positions;
+    }
+
+    /** Current positions in layout units; for tests. */
+    double[][] positions() {
+        return new double[][]{x, y};
+    }
+
+    void setPositions(double[] x, double[] y) {
+        this.x = x;
+        this.y = y;
+        this.tree = new QuadTree(x.length);
+        tree.build(x, y);
+    }
+
+    /**
+     * Point quadtree in flat arrays. Node 0 is the root; children[4 * node + quadrant] is 0 when
+     * absent. A leaf holds one body (body >= 0), except at MAX_DEPTH where coincident bodies pile
+     * up; internal nodes have body -1. Masses and coordinate sums cover the whole subtree.
+     * <p>
+     * Once built, the nodes are renumbered in depth-first order into cells: one double[] with
+     * (center of mass x, y, side², mass, body) per cell and cellChildren in the same order, so a
+     * traversal reads memory mostly front to back. bodyOrder lists the bodies in that order too.
+     * The arrays are reused from one build to the next.
+     */
+    static class QuadTree {
+        static final int CELL_STRIDE = 5;
+
+        double[] cells;
+        int[] cellChildren;
+        int[] bodyOrder;
+
+        int[] mass;
+        double[] sumX;
+        double[] sumY;
+        double[] minX;
+        double[] minY;
+        double[] size;
+        int[] body;
+        int[] children;
+        private int nodes;
+
+        QuadTree(int bodies) {
+            int capacity = Math.max(16, 3 * bodies);
+            mass = new int[capacity];
+            sumX = new double[capacity];
+            sumY = new double[capacity];
+            minX = new double[capacity];
+            minY = new double[capacity];
+            size = new double[capacity];
+            body = new int[capacity];
+            children = new int[4 * capacity];
+            cells = new double[0];
+            cellChildren = new int[0];
+            bodyOrder = new int[bodies];
+            for (int b = 0; b < bodies; b++) {
+                bodyOrder[b] = b;
+            }
+        }
+
+        void build(double[] x, double[] y) {
+            nodes = 0;
+            double lowX = Double.POSITIVE_INFINITY;
+            double lowY = Double.POSITIVE_INFINITY;
+            double side = 0;
+            for (int i = 0; i < x.length; i++) {
+                lowX = Math.min(lowX, x[i]);
+                lowY = Math.min(lowY, y[i]);
+            }
+            for (int i = 0; i < x.length; i++) {
+                side = Math.max(side, Math.max(x[i] - lowX, y[i] - lowY));
+            }
+            newNode(lowX, lowY, side * 1.0001 + 1e-9);
+
+            // Inserting in the previous depth-first order touches the arrays far more locally
+            for (int b : bodyOrder) {
+                insert(b, x[b], y[b]);
+            }
+            pack(x.length);
+        }
+
+        private void pack(int bodies) {
+            if (cells.length < CELL_STRIDE * nodes) {
+                cells = new double[CELL_STRIDE * mass.length];
+                cellChildren = new int[4 * mass.length];
+            }
+            bodyOrder = new int[bodies];
+            int[] stack = new int[4 * MAX_DEPTH + 8];
+            int[] parentSlot = new int[4 * MAX_DEPTH + 8];
+            int top = 0;
+            int cell = 0;
+            int bodyCount = 0;
+            stack[top] = 0;
+            parentSlot[top++] = -1;
+            while (top > 0) {
+                int node = stack[--top];
+                int slot = parentSlot[top];
+                if (slot >= 0) cellChildren[slot] = cell;
+                Arrays.fill(cellChildren, 4 * cell, 4 * cell + 4, 0);
+
+                int base = CELL_STRIDE * cell;
+                cells[base] = mass[node] == 0 ? 0 : sumX[node] / mass[node];
+                cells[base + 1] = mass[node] == 0 ? 0 : sumY[node] / mass[node];
+                cells[base + 2] = size[node] * size[node];
+                cells[base + 3] = mass[node];
+                cells[base + 4] = body[node];
+                if (body[node] >= 0) {
+                    // Stacked bodies at MAX_DEPTH are not tracked individually; they keep input order
+                    bodyOrder[bodyCount++] = body[node];
+                }
+                for (int quadrant = 3; quadrant >= 0; quadrant--) {
+                    int child = children[4 * node + quadrant];
+                    if (child > 0) {
+                        stack[top] = child;
+                        parentSlot[top++] = 4 * cell + quadrant;
+                    }
+                }
+                cell++;
+            }
+
+            // Bodies hidden in stacked leaves go at the end
+            if (bodyCount < bodies) {
+                boolean[] seen = new boolean[bodies];
+                for (int i = 0; i < bodyCount; i++) {
+                    seen[bodyOrder[i]] = true;
+                }
+                for (int b = 0; b < bodies; b++) {
+                    if (!seen[b]) bodyOrder[bodyCount++] = b;
+                }
+            }
+        }
+
+        private void insert(int b, double bx, double by) {
+            int node = 0;
+            for (int depth = 0; ; depth++) {
+                if (mass[node] == 0) {
+                    body[node] = b;
+                    mass[node] = 1;
+                    sumX[node] = bx;
+                    sumY[node] = by;
+                    return;
+                }
+                if (body[node] >= 0) {
+                    if (depth >= MAX_DEPTH) {
+                        mass[node]++;
+                        sumX[node] += bx;
+                        sumY[node] += by;
+                        return;
+                    }
+                    // Split the leaf: its body moves one level down
+                    int old = body[node];
+                    double oldX = sumX[node];
+                    double oldY = sumY[node];
+                    body[node] = -1;
+                    int child = child(node, oldX, oldY);
+                    body[child] = old;
+                    mass[child] = 1;
+                    sumX[child] = oldX;
+                    sumY[child] = oldY;
+                }
+                mass[node]++;
+                sumX[node] += bx;
+                sumY[node] += by;
+                node = child(node, bx, by);
+            }
+        }
+
+        // The child of node containing (px, py), created empty if missing
+        private int child(int node, double px, double py) {
+            double half = size[node] / 2;
+            int quadrant = (px >= minX[node] + half ? 1 : 0) + (py >= minY[node] + half ? 2 : 0);
+            int child = children[4 * node + quadrant];
+            if (child == 0) {
+                child = newNode(minX[node] + (quadrant & 1) * half, minY[node] + (quadrant >> 1) * half, half);
+                children[4 * node + quadrant] = child;
+            }
+            return child;
+        }
+
+        private int newNode(double lowX, double lowY, double side) {
+            if (nodes == mass.length) {
+                int capacity = nodes * 2;
+                mass = Arrays.copyOf(mass, capacity);
+                sumX = Arrays.copyOf(sumX, capacity);
+                sumY = Arrays.copyOf(sumY, capacity);
+                minX = Arrays.copyOf(minX, capacity);
+                minY = Arrays.copyOf(minY, capacity);
+                size = Arrays.copyOf(size, capacity);
+                body = Arrays.copyOf(body, capacity);
+                children = Arrays.copyOf(children, 4 * capacity);
+            }
+            int node = nodes++;
+            mass[node] = 0;
+            sumX[node] = 0;
+            sumY[node] = 0;
+            Arrays.fill(children, 4 * node, 4 * node + 4, 0);
+            minX[node] = lowX;
+            minY[node] = lowY;
+            size[node] = side;
+            body[node] = -1;
+            return node;
+        }
+    }
+}
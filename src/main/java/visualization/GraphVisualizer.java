@@ -4,6 +4,7 @@ import algorithms.Graph;
 import algorithms.Edge;
 import algorithms.PrimsAlgorithm;
 import algorithms.KruskalsAlgorithm;
+import algorithms.MSTCache;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.JsonNode;
 import org.jfree.chart.ChartFactory;
@@ -21,18 +22,56 @@ import java.io.IOException;
 import java.util.List;
 import java.util.Set;
 import java.util.HashSet;
-
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Renders the MST of every input graph to performance-data/graphs.
+ * Graphs are built, solved, drawn, PNG-encoded and written in parallel, one graph per task, on a
+ * fixed pool of workers. The work queue is bounded; when it is full the reading thread renders
+ * the next graph itself, so at most threads + 1 images are in memory at once.
+ * Options:
+ * <pre>
+ *   --threads N       rendering threads (default: available processors)
+ *   --input FILE      input graphs (default performance-data/assign_3_input.json)
+ *   --large           use {@link LargeGraphRenderer} for every graph; by default only graphs with
+ *                     more than 2000 edges use it
+ *   --tile-size N     maximum tile side for the large-graph renderer (default 2048)
+ *   --layout L        force ({@link ForceDirectedLayout} over the MST, default) or circle
+ *   --iterations N    force layout iterations (default 100)
+ *   --mst-cache DIR   {@link MSTCache} directory shared with the benchmark runner; MSTs found there
+ *                     are not solved again (default performance-data/mst-cache, none for memory only)
+ * </pre>
+ */
 public class GraphVisualizer {
 
     private static final ObjectMapper objectMapper = new ObjectMapper();
 
+    private static final int LARGE_GRAPH_EDGES = 2000;
+
+    private static int threads = Runtime.getRuntime().availableProcessors();
+    private static String inputPath = "performance-data/assign_3_input.json";
+    private static boolean alwaysLarge = false;
+    private static int tileSize = 2048;
+    private static boolean forceLayout = true;
+    private static int layoutIterations = 100;
+    private static String mstCachePath = "performance-data/mst-cache";
+    private static MSTCache mstCache;
+
     public static void main(String[] args) {
+        parseOptions(args);
+
         try {
-            System.out.println("Generating graphs for all input datasets...");
+            System.out.println("Generating graphs for all input datasets on " + threads + " threads...");
+            long start = System.nanoTime();
 
             // Load input data
-            JsonNode inputData = objectMapper.readTree(new File("performance-data/assign_3_input.json"));
+            JsonNode inputData = objectMapper.readTree(new File(inputPath));
             JsonNode graphs = inputData.get("graphs");
+            mstCache = new MSTCache(mstCachePath.equals("none") ? null : new File(mstCachePath),
+                    MSTCache.DEFAULT_MEMORY_EDGES);
 
             // Create output directory
             File outputDir = new File("performance-data/graphs");
@@ -40,29 +79,91 @@ public class GraphVisualizer {
                 outputDir.mkdirs();
             }
 
+            ThreadPoolExecutor executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                    new ArrayBlockingQueue<>(threads), new ThreadPoolExecutor.CallerRunsPolicy());
+            AtomicInteger generated = new AtomicInteger();
+            int submitted = 0;
+
             // Generate graph for each dataset
             for (JsonNode graphNode : graphs) {
                 int graphId = graphNode.get("id").asInt();
                 int vertices = graphNode.get("vertices").asInt();
                 JsonNode edgesNode = graphNode.get("edges");
 
-                System.out.println("Generating graph for dataset " + graphId + " with " + vertices + " vertices...");
+                executor.execute(() -> {
+                    System.out.println("Generating graph for dataset " + graphId + " with " + vertices + " vertices...");
 
-                // Create graph structure
-                Graph graph = createGraphFromJson(vertices, edgesNode);
+                    // Create graph structure
+                    Graph graph = createGraphFromJson(vertices, edgesNode);
 
-                // Generate visualization
-                generateGraphVisualization(graph, graphId, outputDir);
+                    // Generate visualization
+                    if (generateGraphVisualization(graph, graphId, outputDir)) {
+                        generated.incrementAndGet();
+                    }
+                });
+                submitted++;
             }
 
-            System.out.println("All graphs generated successfully in performance-data/graphs/");
+            executor.shutdown();
+            executor.awaitTermination(Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+
+            System.out.printf("%d of %d graphs generated in performance-data/graphs/ (%.1fs)%n",
+                    generated.get(), submitted, (System.nanoTime() - start) / 1e9);
+            System.out.println(mstCache);
 
         } catch (IOException e) {
             System.err.println("Error generating graphs: " + e.getMessage());
             e.printStackTrace();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            System.err.println("Interrupted while generating graphs");
         }
     }
 
+    private static void parseOptions(String[] args) {
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "--large":
+                    alwaysLarge = true;
+                    break;
+                case "--threads":
+                    threads = Integer.parseInt(optionValue(args, ++i));
+                    break;
+                case "--input":
+                    inputPath = optionValue(args, ++i);
+                    break;
+                case "--tile-size":
+                    tileSize = Integer.parseInt(optionValue(args, ++i));
+                    break;
+                case "--layout":
+                    String layout = optionValue(args, ++i);
+                    if (!layout.equals("force") && !layout.equals("circle")) {
+                        throw new IllegalArgumentException("Unknown layout " + layout);
+                    }
+                    forceLayout = layout.equals("force");
+                    break;
+                case "--iterations":
+                    layoutIterations = Integer.parseInt(optionValue(args, ++i));
+                    break;
+                case "--mst-cache":
+                    mstCachePath = optionValue(args, ++i);
+                    break;
+                default:
+                    throw new IllegalArgumentException("Unknown option " + args[i]);
+            }
+        }
+        if (threads < 1) {
+            throw new IllegalArgumentException("Thread count must be positive: " + threads);
+        }
+    }
+
+    private static String optionValue(String[] args, int i) {
+        if (i >= args.length) {
+            throw new IllegalArgumentException("Missing value for " + args[i - 1]);
+        }
+        return args[i];
+    }
+
     private static Graph createGraphFromJson(int vertices, JsonNode edgesNode) {
         Graph graph = new Graph(vertices);
 
@@ -76,34 +177,48 @@ public class GraphVisualizer {
         return graph;
     }
 
-    private static void generateGraphVisualization(Graph graph, int graphId, File outputDir) {
+    private static boolean generateGraphVisualization(Graph graph, int graphId, File outputDir) {
         try {
-            // Create MST using both algorithms
-            PrimsAlgorithm prims = new PrimsAlgorithm();
-            KruskalsAlgorithm kruskals = new KruskalsAlgorithm();
+            // Both algorithms give an MST of the same weight; the picture only needs one
+            List<Edge> primsMST = mstCache.computeIfAbsent(graph, "Prim", new PrimsAlgorithm()::findMST);
+
+            // Unit-square vertex positions; the MST is the spring skeleton of the force layout
+            float[][] positions = forceLayout
+                    ? new ForceDirectedLayout(graph.getVertices(), primsMST).compute(layoutIterations)
+                    : LargeGraphRenderer.circularLayout(graph.getVertices());
 
-            List<Edge> primsMST = prims.findMST(graph);
-            List<Edge> kruskalsMST = kruskals.findMST(graph);
+            if (alwaysLarge || graph.getEdgesCount() > LARGE_GRAPH_EDGES) {
+                return generateLargeGraphVisualization(graph, primsMST, positions, graphId, outputDir);
+            }
 
             // Generate only network graph visualization
-            generateNetworkGraphVisualization(graph, primsMST, graphId, "mst", outputDir);
+            return generateNetworkGraphVisualization(graph, primsMST, positions, graphId, "mst", outputDir);
 
         } catch (Exception e) {
             System.err.println("Error generating visualization for graph " + graphId + ": " + e.getMessage());
+            return false;
         }
     }
 
-    private static void generateNetworkGraphVisualization(Graph inputGraph, List<Edge> mst,
+    private static boolean generateLargeGraphVisualization(Graph graph, List<Edge> mst, float[][] positions,
+                                                           int graphId, File outputDir) throws IOException {
+        int size = LargeGraphRenderer.canvasSize(graph.getVertices());
+        LargeGraphRenderer renderer = new LargeGraphRenderer(size, size, tileSize);
+        LargeGraphRenderer.Result result = renderer.render(graph, mst, positions, graphId, outputDir);
+        System.out.printf("Saved large-graph visualization of graph %d: %dx%d in %d tile(s), %s%n", graphId,
+                size, size, result.files.size(), result.detail);
+        return true;
+    }
+
+    private static boolean generateNetworkGraphVisualization(Graph inputGraph, List<Edge> mst, float[][] positions,
                                                           int graphId, String algorithmName, File outputDir) {
         try {
             // Create set of MST edges for quick lookup
-            Set<String> mstEdges = new HashSet<>();
+            Set<Long> mstEdges = new HashSet<>();
             Set<Integer> mstNodes = new HashSet<>();
             for (Edge edge : mst) {
-                String edgeId1 = edge.getFrom() + "-" + edge.getTo();
-                String edgeId2 = edge.getTo() + "-" + edge.getFrom();
-                mstEdges.add(edgeId1);
-                mstEdges.add(edgeId2);
+                mstEdges.add(edgeKey(edge.getFrom(), edge.getTo()));
+                mstEdges.add(edgeKey(edge.getTo(), edge.getFrom()));
                 mstNodes.add(edge.getFrom());
                 mstNodes.add(edge.getTo());
             }
@@ -122,29 +237,26 @@ public class GraphVisualizer {
             g2d.setColor(new java.awt.Color(107, 142, 158)); // #6B8E9E
             g2d.fillRect(0, 0, width, height);
 
-            // Calculate node positions (circular layout)
-            int centerX = width / 2;
-            int centerY = height / 2;
-            int radius = Math.min(width, height) / 2 - 100;
+            // Scale the layout into the largest centered square that leaves a 100px margin
+            int side = Math.min(width, height) - 200;
+            int left = (width - side) / 2;
+            int top = (height - side) / 2;
 
             double[][] nodePositions = new double[inputGraph.getVertices()][2];
-            double angleStep = 2 * Math.PI / inputGraph.getVertices();
-
             for (int i = 0; i < inputGraph.getVertices(); i++) {
-                double angle = i * angleStep - Math.PI / 2; // Start from top
-                nodePositions[i][0] = centerX + radius * Math.cos(angle);
-                nodePositions[i][1] = centerY + radius * Math.sin(angle);
+                nodePositions[i][0] = left + positions[0][i] * side;
+                nodePositions[i][1] = top + positions[1][i] * side;
             }
 
             // Draw edges first (so they appear behind nodes)
+            java.awt.Font weightFont = new java.awt.Font("Arial", java.awt.Font.PLAIN, 16);
             g2d.setStroke(new java.awt.BasicStroke(3));
             for (Edge edge : inputGraph.getEdges()) {
                 int from = edge.getFrom();
                 int to = edge.getTo();
-                String edgeKey = from + "-" + to;
 
                 // Check if this edge is in MST
-                boolean isMST = mstEdges.contains(edgeKey);
+                boolean isMST = mstEdges.contains(edgeKey(from, to));
 
                 // Set edge color
                 if (isMST) {
@@ -168,7 +280,7 @@ public class GraphVisualizer {
                 g2d.setColor(java.awt.Color.WHITE);
                 g2d.fillRect(midX - 20, midY - 12, 40, 24);
                 g2d.setColor(java.awt.Color.BLACK);
-                g2d.setFont(new java.awt.Font("Arial", java.awt.Font.PLAIN, 16));
+                g2d.setFont(weightFont);
                 String weightStr = String.valueOf(edge.getWeight());
                 java.awt.FontMetrics fm = g2d.getFontMetrics();
                 int textWidth = fm.stringWidth(weightStr);
@@ -176,6 +288,7 @@ public class GraphVisualizer {
             }
 
             // Draw nodes
+            java.awt.Font labelFont = new java.awt.Font("Arial", java.awt.Font.BOLD, 20);
             int nodeSize = 40;
             for (int i = 0; i < inputGraph.getVertices(); i++) {
                 int x = (int)nodePositions[i][0];
@@ -198,7 +311,7 @@ public class GraphVisualizer {
                 g2d.drawOval(x - nodeSize/2, y - nodeSize/2, nodeSize, nodeSize);
 
                 // Draw node label
-                g2d.setFont(new java.awt.Font("Arial", java.awt.Font.BOLD, 20));
+                g2d.setFont(labelFont);
                 String label = String.valueOf(i + 1); // 1-indexed
                 java.awt.FontMetrics fm = g2d.getFontMetrics();
                 int textWidth = fm.stringWidth(label);
@@ -212,13 +325,19 @@ public class GraphVisualizer {
             File outputFile = new File(outputDir, "graph_" + graphId + "_" + algorithmName + "_network.png");
             ImageIO.write(image, "PNG", outputFile);
             System.out.println("Saved network visualization: " + outputFile.getName());
+            return true;
 
         } catch (Exception e) {
             System.err.println("Error generating network visualization: " + e.getMessage());
             e.printStackTrace();
+            return false;
         }
     }
 
+    private static long edgeKey(int from, int to) {
+        return ((long) from << 32) | (to & 0xFFFFFFFFL);
+    }
+
     private static void generatePerformanceChart(Graph graph, List<Edge> primsMST, List<Edge> kruskalsMST, int graphId, File outputDir) {
         try {
             DefaultCategoryDataset dataset = new DefaultCategoryDataset();
@@ -0,0 +1,397 @@
+package visualization;
+
+import algorithms.Edge;
+import algorithms.Graph;
+
+import javax.imageio.ImageIO;
+import java.awt.Font;
+import java.awt.FontMetrics;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferInt;
+import java.io.File;
+import java.io.IOException;
+import java.util.*;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Renderer for graphs too large for {@link GraphVisualizer}'s Java2D drawing.
+ * <p>
+ * Edges and vertices are rasterized straight into the int[] pixel buffer of a tile image
+ * (Bresenham lines with a square brush, alpha blended; filled discs). The canvas is cut into
+ * tiles of at most tileSize x tileSize pixels, rendered one after another into two alternating
+ * buffers, so the next tile is drawn while the previous one is PNG-encoded, and written as
+ * graph_&lt;id&gt;_mst_tile_&lt;row&gt;_&lt;col&gt;.png. Memory is two tiles plus the vertex positions,
+ * whatever the canvas size. A canvas that fits in one tile is written as a
+ * single graph_&lt;id&gt;_mst_network.png.
+ * <p>
+ * Level of detail follows the canvas area per edge and per vertex and the ink the edges would
+ * need, their total pixel length relative to the canvas area (see {@link Detail}): weight and
+ * vertex labels only when there is room to read them, non-MST edges only while they would not
+ * paint over the canvas more than once, fading as they get denser, and vertex discs only when
+ * they are several pixels wide. Ink matters as much as count: on a circular layout every edge is
+ * a long chord, and drawing a few hundred thousand of them is both slow and solid grey.
+ */
+public class LargeGraphRenderer {
+
+    private static final int BACKGROUND = 0x6B8E9E;
+    private static final int MST_EDGE = 0xFF6B6B;
+    private static final int OTHER_EDGE = 0x666666;
+    private static final int MST_NODE = 0xFFD700;
+    private static final int NODE_BORDER = 0x333333;
+
+    /** What gets drawn at a given density. */
+    public static class Detail {
+        public final boolean labels;
+        public final boolean nonMstEdges;
+        public final double nonMstAlpha;
+        public final int mstThickness;
+        public final double nodeRadius;
+
+        /** Ink is total edge length in pixels divided by the canvas area. */
+        Detail(double pixelsPerEdge, double pixelsPerVertex, double mstInk, double otherInk) {
+            this.labels = pixelsPerEdge >= 10_000 && pixelsPerVertex >= 10_000;
+            this.nonMstEdges = pixelsPerEdge >= 64 && otherInk <= 1;
+            this.nonMstAlpha = Math.max(0.15, Math.min(1, Math.min(pixelsPerEdge / 1024, 0.25 / otherInk)));
+            int thickness = pixelsPerEdge >= 2500 ? 3 : pixelsPerEdge >= 100 ? 2 : 1;
+            this.mstThickness = Math.max(1, Math.min(thickness, (int) (0.5 / mstInk)));
+            double radius = Math.min(20, Math.sqrt(pixelsPerVertex) / 6);
+            this.nodeRadius = radius >= 1.5 ? radius : 0;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("labels=%b, nonMstEdges=%b (alpha %.2f), mstThickness=%d, nodeRadius=%.1f",
+                    labels, nonMstEdges, nonMstAlpha, mstThickness, nodeRadius);
+        }
+    }
+
+    /** The files written and the detail they were drawn with. */
+    public static class Result {
+        public final List<File> files;
+        public final Detail detail;
+
+        Result(List<File> files, Detail detail) {
+            this.files = files;
+            this.detail = detail;
+        }
+    }
+
+    private final int width;
+    private final int height;
+    private final int tileSize;
+
+    public LargeGraphRenderer(int width, int height, int tileSize) {
+        if (width < 1 || height < 1 || tileSize < 64) {
+            throw new IllegalArgumentException("Canvas must be positive and tiles at least 64 pixels: "
+                    + width + "x" + height + ", tile " + tileSize);
+        }
+        this.width = width;
+        this.height = height;
+        this.tileSize = tileSize;
+    }
+
+    /** Square canvas side giving every vertex roughly a 24 x 24 pixel cell, between 1200 and 32768. */
+    public static int canvasSize(int vertices) {
+        return (int) Math.max(1200, Math.min(32768, Math.ceil(Math.sqrt(vertices) * 24)));
+    }
+
+    /** Unit-square positions on a circle, vertex 0 at the top, as in {@link GraphVisualizer}. */
+    public static float[][] circularLayout(int vertices) {
+        float[][] positions = new float[2][vertices];
+        double angleStep = 2 * Math.PI / Math.max(1, vertices);
+        for (int i = 0; i < vertices; i++) {
+            double angle = i * angleStep - Math.PI / 2;
+            positions[0][i] = (float) (0.5 + 0.5 * Math.cos(angle));
+            positions[1][i] = (float) (0.5 + 0.5 * Math.sin(angle));
+        }
+        return positions;
+    }
+
+    /**
+     * Renders the graph with its MST highlighted. Positions are in the unit square (positions[0]
+     * x, positions[1] y) and are scaled to the canvas minus a margin.
+     */
+    public Result render(Graph graph, List<Edge> mst, float[][] positions, int graphId, File outputDir)
+            throws IOException {
+        int vertices = graph.getVertices();
+        List<Edge> edges = graph.getEdges();
+        double area = (double) width * height;
+
+        // Pixel coordinates, computed once for all tiles
+        double margin = Math.max(24, Math.min(width, height) * 0.04);
+        float[] px = new float[vertices];
+        float[] py = new float[vertices];
+        for (int v = 0; v < vertices; v++) {
+            px[v] = (float) (margin + positions[0][v] * (width - 2 * margin));
+            py[v] = (float) (margin + positions[1][v] * (height - 2 * margin));
+        }
+
+        long[] mstKeys = new long[mst.size()];
+        boolean[] mstVertex = new boolean[vertices];
+        for (int i = 0; i < mstKeys.length; i++) {
+            Edge edge = mst.get(i);
+            mstKeys[i] = edgeKey(edge.getFrom(), edge.getTo());
+            mstVertex[edge.getFrom()] = true;
+            mstVertex[edge.getTo()] = true;
+        }
+        Arrays.sort(mstKeys);
+
+        double mstLength = 0;
+        for (Edge edge : mst) {
+            mstLength += length(px, py, edge);
+        }
+        double totalLength = 0;
+        for (Edge edge : edges) {
+            totalLength += length(px, py, edge);
+        }
+        Detail detail = new Detail(area / Math.max(1, edges.size()), area / Math.max(1, vertices),
+                mstLength / area, Math.max(0, totalLength - mstLength) / area);
+
+        boolean[] inMst = new boolean[edges.size()];
+        for (int i = 0; i < inMst.length; i++) {
+            Edge edge = edges.get(i);
+            inMst[i] = Arrays.binarySearch(mstKeys, edgeKey(edge.getFrom(), edge.getTo())) >= 0;
+        }
+
+        // Two tile buffers: one is rasterized while the PNG of the other is encoded and written
+        int columns = (width + tileSize - 1) / tileSize;
+        int rows = (height + tileSize - 1) / tileSize;
+        BufferedImage[] buffers = new BufferedImage[Math.min(2, rows * columns)];
+        ExecutorService writer = Executors.newSingleThreadExecutor();
+        Future<?> pendingWrite = null;
+
+        List<File> files = new ArrayList<>();
+        try {
+            for (int row = 0; row < rows; row++) {
+                for (int column = 0; column < columns; column++) {
+                    int slot = (row * columns + column) % buffers.length;
+                    if (buffers[slot] == null) {
+                        buffers[slot] = new BufferedImage(Math.min(width, tileSize), Math.min(height, tileSize),
+                                BufferedImage.TYPE_INT_RGB);
+                    }
+                    BufferedImage buffer = buffers[slot];
+                    int[] pixels = ((DataBufferInt) buffer.getRaster().getDataBuffer()).getData();
+
+                    int originX = column * tileSize;
+                    int originY = row * tileSize;
+                    Tile tile = new Tile(pixels, buffer.getWidth(), Math.min(tileSize, width - originX),
+                            Math.min(tileSize, height - originY), originX, originY);
+                    Arrays.fill(pixels, BACKGROUND);
+
+                    if (detail.nonMstEdges) {
+                        for (int i = 0; i < inMst.length; i++) {
+                            if (inMst[i]) continue;
+                            Edge edge = edges.get(i);
+                            tile.line(px[edge.getFrom()], py[edge.getFrom()], px[edge.getTo()], py[edge.getTo()],
+                                    1, OTHER_EDGE, detail.nonMstAlpha);
+                        }
+                    }
+                    for (Edge edge : mst) {
+                        tile.line(px[edge.getFrom()], py[edge.getFrom()], px[edge.getTo()], py[edge.getTo()],
+                                detail.mstThickness, MST_EDGE, 1);
+                    }
+                    if (detail.nodeRadius > 0) {
+                        for (int v = 0; v < vertices; v++) {
+                            tile.disc(px[v], py[v], detail.nodeRadius, mstVertex[v] ? MST_NODE : 0xFFFFFF,
+                                    detail.nodeRadius >= 4 ? NODE_BORDER : -1);
+                        }
+                    }
+
+                    BufferedImage image = tile.width == buffer.getWidth() && tile.height == buffer.getHeight()
+                            ? buffer : buffer.getSubimage(0, 0, tile.width, tile.height);
+                    if (detail.labels) {
+                        drawLabels(image, edges, px, py, detail, originX, originY);
+                    }
+
+                    File file = new File(outputDir, rows * columns == 1
+                            ? "graph_" + graphId + "_mst_network.png"
+                            : "graph_" + graphId + "_mst_tile_" + row + "_" + column + ".png");
+                    // The previous write must finish before its buffer is reused for the next tile
+                    awaitWrite(pendingWrite);
+                    pendingWrite = writer.submit(() -> {
+                        ImageIO.write(image, "PNG", file);
+                        return null;
+                    });
+                    files.add(file);
+                }
+            }
+            awaitWrite(pendingWrite);
+        } finally {
+            writer.shutdownNow();
+        }
+        return new Result(files, detail);
+    }
+
+    private static void awaitWrite(Future<?> write) throws IOException {
+        if (write == null) return;
+        try {
+            write.get();
+        } catch (ExecutionException e) {
+            throw e.getCause() instanceof IOException ? (IOException) e.getCause() : new IOException(e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while writing tiles", e);
+        }
+    }
+
+    // Labels go through Java2D; they are only enabled when there are few enough to read
+    private static void drawLabels(BufferedImage image, List<Edge> edges, float[] px, float[] py, Detail detail,
+                                   int originX, int originY) {
+        Graphics2D g2d = image.createGraphics();
+        g2d.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING, RenderingHints.VALUE_TEXT_ANTIALIAS_ON);
+        g2d.translate(-originX, -originY);
+
+        g2d.setFont(new Font("Arial", Font.PLAIN, 16));
+        FontMetrics fm = g2d.getFontMetrics();
+        for (Edge edge : edges) {
+            int midX = (int) ((px[edge.getFrom()] + px[edge.getTo()]) / 2);
+            int midY = (int) ((py[edge.getFrom()] + py[edge.getTo()]) / 2);
+            String weight = String.valueOf(edge.getWeight());
+            int textWidth = fm.stringWidth(weight);
+            g2d.setColor(java.awt.Color.WHITE);
+            g2d.fillRect(midX - textWidth / 2 - 4, midY - 12, textWidth + 8, 24);
+            g2d.setColor(java.awt.Color.BLACK);
+            g2d.drawString(weight, midX - textWidth / 2, midY + 6);
+        }
+
+        if (detail.nodeRadius >= 10) {
+            g2d.setFont(new Font("Arial", Font.BOLD, (int) detail.nodeRadius));
+            fm = g2d.getFontMetrics();
+            for (int v = 0; v < px.length; v++) {
+                String label = String.valueOf(v + 1); // 1-indexed
+                g2d.drawString(label, (int) px[v] - fm.stringWidth(label) / 2, (int) py[v] + fm.getAscent() / 2 - 2);
+            }
+        }
+        g2d.dispose();
+    }
+
+    private static double length(float[] px, float[] py, Edge edge) {
+        double dx = px[edge.getFrom()] - px[edge.getTo()];
+        double dy = py[edge.getFrom()] - py[edge.getTo()];
+        return Math.sqrt(dx * dx + dy * dy);
+    }
+
+    private static long edgeKey(int from, int to) {
+        return from < to ? ((long) from << 32) | to : ((long) to << 32) | from;
+    }
+
+    /** A window of the canvas backed by a row-major RGB buffer with the given stride. */
+    static class Tile {
+        final int[] pixels;
+        final int stride;
+        final int width;
+        final int height;
+        final int originX;
+        final int originY;
+
+        Tile(int[] pixels, int stride, int width, int height, int originX, int originY) {
+            this.pixels = pixels;
+            this.stride = stride;
+            this.width = width;
+            this.height = height;
+            this.originX = originX;
+            this.originY = originY;
+        }
+
+        /** Draws a canvas-space line, clipped to the tile (Liang-Barsky) and stepped by Bresenham. */
+        void line(double x0, double y0, double x1, double y1, int thickness, int color, double alpha) {
+            double pad = thickness;
+            x0 -= originX;
+            y0 -= originY;
+            x1 -= originX;
+            y1 -= originY;
+
+            double dx = x1 - x0;
+            double dy = y1 - y0;
+            double t0 = 0;
+            double t1 = 1;
+            double[] p = {-dx, dx, -dy, dy};
+            double[] q = {x0 + pad, width - 1 + pad - x0, y0 + pad, height - 1 + pad - y0};
+            for (int i = 0; i < 4; i++) {
+                if (p[i] == 0) {
+                    if (q[i] < 0) return;
+                } else {
+                    double t = q[i] / p[i];
+                    if (p[i] < 0) {
+                        if (t > t1) return;
+                        t0 = Math.max(t0, t);
+                    } else {
+                        if (t < t0) return;
+                        t1 = Math.min(t1, t);
+                    }
+                }
+            }
+
+            int ax = (int) Math.round(x0 + t0 * dx);
+            int ay = (int) Math.round(y0 + t0 * dy);
+            int bx = (int) Math.round(x0 + t1 * dx);
+            int by = (int) Math.round(y0 + t1 * dy);
+
+            int stepX = ax < bx ? 1 : -1;
+            int stepY = ay < by ? 1 : -1;
+            int errX = Math.abs(bx - ax);
+            int errY = -Math.abs(by - ay);
+            int error = errX + errY;
+            int offset = (thickness - 1) / 2;
+            while (true) {
+                if (thickness == 1) {
+                    plot(ax, ay, color, alpha);
+                } else {
+                    for (int bxi = 0; bxi < thickness; bxi++) {
+                        for (int byi = 0; byi < thickness; byi++) {
+                            plot(ax - offset + bxi, ay - offset + byi, color, alpha);
+                        }
+                    }
+                }
+                if (ax == bx && ay == by) break;
+                int doubled = 2 * error;
+                if (doubled >= errY) {
+                    error += errY;
+                    ax += stepX;
+                }
+                if (doubled <= errX) {
+                    error += errX;
+                    ay += stepY;
+                }
+            }
+        }
+
+        /** Filled disc at a canvas position with an optional one-pixel border (-1 for none). */
+        void disc(double cx, double cy, double radius, int fill, int border) {
+            cx -= originX;
+            cy -= originY;
+            if (cx + radius < 0 || cy + radius < 0 || cx - radius >= width || cy - radius >= height) return;
+
+            double inner = (radius - 1) * (radius - 1);
+            double outer = radius * radius;
+            for (int y = (int) Math.floor(cy - radius); y <= (int) Math.ceil(cy + radius); y++) {
+                for (int x = (int) Math.floor(cx - radius); x <= (int) Math.ceil(cx + radius); x++) {
+                    double distance = (x - cx) * (x - cx) + (y - cy) * (y - cy);
+                    if (distance <= outer) {
+                        plot(x, y, border >= 0 && distance > inner ? border : fill, 1);
+                    }
+                }
+            }
+        }
+
+        void plot(int x, int y, int color, double alpha) {
+            if (x < 0 || y < 0 || x >= width || y >= height) return;
+
+            int index = y * stride + x;
+            if (alpha >= 1) {
+                pixels[index] = color;
+                return;
+            }
+            int old = pixels[index];
+            int r = (int) (((old >> 16) & 0xFF) * (1 - alpha) + ((color >> 16) & 0xFF) * alpha);
+            int g = (int) (((old >> 8) & 0xFF) * (1 - alpha) + ((color >> 8) & 0xFF) * alpha);
+            int b = (int) ((old & 0xFF) * (1 - alpha) + (color & 0xFF) * alpha);
+            pixels[index] = (r << 16) | (g << 8) | b;
+        }
+    }
+}
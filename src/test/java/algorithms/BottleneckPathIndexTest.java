@@ -0,0 +1,137 @@
+package algorithms;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.BeforeEach;
+import static org.junit.jupiter.api.Assertions.*;
+import java.util.*;
+
+public class BottleneckPathIndexTest {
+
+    private Graph mediumGraph;
+    private KruskalsAlgorithm kruskals;
+
+    @BeforeEach
+    void setUp() {
+        kruskals = new KruskalsAlgorithm();
+
+        mediumGraph = new Graph(6);
+        mediumGraph.addEdge(0, 1, 4);
+        mediumGraph.addEdge(0, 2, 3);
+        mediumGraph.addEdge(1, 2, 1);
+        mediumGraph.addEdge(1, 3, 2);
+        mediumGraph.addEdge(2, 3, 4);
+        mediumGraph.addEdge(2, 4, 2);
+        mediumGraph.addEdge(3, 4, 3);
+        mediumGraph.addEdge(3, 5, 2);
+        mediumGraph.addEdge(4, 5, 6);
+    }
+
+    @Test
+    void testPathMaximumOnSmallTree() {
+        List<Edge> tree = new ArrayList<>();
+        tree.add(new Edge(0, 1, 5));
+        tree.add(new Edge(1, 2, 3));
+        tree.add(new Edge(1, 3, 7));
+        tree.add(new Edge(3, 4, 1));
+
+        BottleneckPathIndex index = new BottleneckPathIndex(5, tree);
+
+        assertEquals(5, index.maxWeight(0, 2));
+        assertEquals(7, index.maxWeight(2, 4));
+        assertEquals(1, index.maxWeight(3, 4));
+        assertEquals(new Edge(1, 3, 7), index.maxEdge(0, 4));
+        assertEquals(Integer.MIN_VALUE, index.maxWeight(2, 2));
+        assertNull(index.maxEdge(2, 2));
+    }
+
+    @Test
+    void testMatchesBreadthFirstSearchOnRandomMST() {
+        Random random = new Random(42);
+        Graph graph = new Graph(200);
+        for (int v = 1; v < 200; v++) {
+            graph.addEdge(v, random.nextInt(v), random.nextInt(1000));
+        }
+        for (int i = 0; i < 600; i++) {
+            graph.addEdge(random.nextInt(200), random.nextInt(200), random.nextInt(1000));
+        }
+
+        List<Edge> mst = kruskals.findMST(graph);
+        BottleneckPathIndex index = new BottleneckPathIndex(graph, mst);
+
+        for (int i = 0; i < 500; i++) {
+            int u = random.nextInt(200);
+            int v = random.nextInt(200);
+            assertEquals(bruteForceMax(mst, 200, u, v), index.maxWeight(u, v));
+        }
+    }
+
+    @Test
+    void testBatchQueriesMatchSingleQueries() {
+        List<Edge> mst = kruskals.findMST(mediumGraph);
+        BottleneckPathIndex index = new BottleneckPathIndex(mediumGraph, mst);
+
+        int[] us = {0, 1, 2, 3, 4, 5, 0};
+        int[] vs = {5, 4, 3, 2, 1, 0, 0};
+        int[] sequential = index.maxWeights(us, vs);
+        int[] parallel = new int[us.length];
+        index.maxWeightsParallel(us, vs, parallel);
+
+        for (int i = 0; i < us.length; i++) {
+            assertEquals(index.maxWeight(us[i], vs[i]), sequential[i]);
+        }
+        assertArrayEquals(sequential, parallel);
+    }
+
+    @Test
+    void testForestQueriesAcrossComponentsRejected() {
+        List<Edge> forest = new ArrayList<>();
+        forest.add(new Edge(0, 1, 2));
+        forest.add(new Edge(2, 3, 4));
+
+        BottleneckPathIndex index = new BottleneckPathIndex(4, forest);
+
+        assertTrue(index.isConnected(2, 3));
+        assertFalse(index.isConnected(1, 2));
+        assertThrows(IllegalArgumentException.class, () -> index.maxWeight(1, 2));
+    }
+
+    @Test
+    void testCycleRejected() {
+        List<Edge> cycle = new ArrayList<>();
+        cycle.add(new Edge(0, 1, 1));
+        cycle.add(new Edge(0, 1, 2));
+
+        assertThrows(IllegalArgumentException.class, () -> new BottleneckPathIndex(3, cycle));
+    }
+
+    private static int bruteForceMax(List<Edge> tree, int vertices, int source, int target) {
+        if (source == target) return Integer.MIN_VALUE;
+
+        List<List<Edge>> adjacency = new ArrayList<>();
+        for (int i = 0; i < vertices; i++) adjacency.add(new ArrayList<>());
+        for (Edge edge : tree) {
+            adjacency.get(edge.getFrom()).add(edge);
+            adjacency.get(edge.getTo()).add(edge);
+        }
+
+        int[] best = new int[vertices];
+        boolean[] visited = new boolean[vertices];
+        Deque<Integer> queue = new ArrayDeque<>();
+        queue.add(source);
+        visited[source] = true;
+        best[source] = Integer.MIN_VALUE;
+
+        while (!queue.isEmpty()) {
+            int vertex = queue.poll();
+            for (Edge edge : adjacency.get(vertex)) {
+                int next = edge.getOtherVertex(vertex);
+                if (!visited[next]) {
+                    visited[next] = true;
+                    best[next] = Math.max(best[vertex], edge.getWeight());
+                    queue.add(next);
+                }
+            }
+        }
+        return best[target];
+    }
+}
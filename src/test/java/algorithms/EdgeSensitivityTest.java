@@ -0,0 +1,74 @@
+package algorithms;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+import java.util.*;
+
+public class EdgeSensitivityTest {
+
+    private final EdgeSensitivity sensitivity = new EdgeSensitivity();
+    private final KruskalsAlgorithm kruskals = new KruskalsAlgorithm();
+
+    @Test
+    void testBoundsAreTightAgainstRecomputation() {
+        Random random = new Random(11);
+        Graph graph = new Graph(30);
+        for (int v = 1; v < 30; v++) {
+            graph.addEdge(v, random.nextInt(v), random.nextInt(40));
+        }
+        for (int i = 0; i < 60; i++) {
+            graph.addEdge(random.nextInt(30), random.nextInt(30), random.nextInt(40));
+        }
+
+        EdgeSensitivity.Result result = sensitivity.analyze(graph);
+        int mstWeight = kruskals.calculateMSTWeight(kruskals.findMST(graph));
+
+        for (int i = 0; i < result.getEdgesCount(); i++) {
+            int weight = result.getEdge(i).getWeight();
+
+            if (result.isInMST(i)) {
+                assertEquals(EdgeSensitivity.UNBOUNDED_BELOW, result.getLowerBound(i));
+                long upper = result.getUpperBound(i);
+                if (upper == EdgeSensitivity.UNBOUNDED_ABOVE) continue;
+
+                // At the bound the tree is still minimal, one step above it is not
+                assertEquals(mstWeight + (upper - weight), mstWeightWith(graph, i, (int) upper));
+                assertTrue(mstWeightWith(graph, i, (int) upper + 1) < mstWeight + (upper + 1 - weight));
+            } else {
+                assertEquals(EdgeSensitivity.UNBOUNDED_ABOVE, result.getUpperBound(i));
+                long lower = result.getLowerBound(i);
+                if (lower == EdgeSensitivity.UNBOUNDED_BELOW) continue;
+
+                assertEquals(mstWeight, mstWeightWith(graph, i, (int) lower));
+                assertTrue(mstWeightWith(graph, i, (int) lower - 1) < mstWeight);
+            }
+        }
+    }
+
+    @Test
+    void testSimpleTriangle() {
+        Graph graph = new Graph(3);
+        graph.addEdge(0, 1, 1);
+        graph.addEdge(1, 2, 2);
+        graph.addEdge(0, 2, 5);
+
+        EdgeSensitivity.Result result = sensitivity.analyze(graph);
+
+        assertTrue(result.isInMST(0));
+        assertEquals(4, result.getMaxIncrease(0));
+        assertEquals(3, result.getMaxIncrease(1));
+        assertFalse(result.isInMST(2));
+        assertEquals(3, result.getMaxDecrease(2));
+        assertEquals(EdgeSensitivity.UNBOUNDED_ABOVE, result.getMaxIncrease(2));
+    }
+
+    private int mstWeightWith(Graph graph, int edgeIndex, int newWeight) {
+        List<Edge> edges = graph.getEdges();
+        Graph modified = new Graph(graph.getVertices());
+        for (int i = 0; i < edges.size(); i++) {
+            Edge edge = edges.get(i);
+            modified.addEdge(edge.getFrom(), edge.getTo(), i == edgeIndex ? newWeight : edge.getWeight());
+        }
+        return kruskals.calculateMSTWeight(kruskals.findMST(modified));
+    }
+}
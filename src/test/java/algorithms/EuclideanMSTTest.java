@@ -0,0 +1,107 @@
+package algorithms;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+import java.util.*;
+
+public class EuclideanMSTTest {
+
+    private final EuclideanMST euclideanMST = new EuclideanMST();
+
+    @Test
+    void testRandomPoints2D() {
+        double[] coordinates = randomPoints(new Random(3), 2000, 2);
+        SpanningTree tree = euclideanMST.findMST(coordinates, 2);
+
+        assertEquals(1999, tree.size());
+        assertTrue(isSpanning(tree));
+        assertEquals(bruteForceWeight(coordinates, 2), tree.getTotalWeight(), 1e-6);
+    }
+
+    @Test
+    void testRandomPoints3D() {
+        double[] coordinates = randomPoints(new Random(5), 1500, 3);
+        SpanningTree tree = euclideanMST.findMST(coordinates, 3);
+
+        assertEquals(1499, tree.size());
+        assertTrue(isSpanning(tree));
+        assertEquals(bruteForceWeight(coordinates, 3), tree.getTotalWeight(), 1e-6);
+    }
+
+    @Test
+    void testGridWithTiesAndDuplicates() {
+        // 30x30 unit grid (every edge ties) plus a few duplicated points
+        double[] coordinates = new double[(900 + 3) * 2];
+        int k = 0;
+        for (int x = 0; x < 30; x++) {
+            for (int y = 0; y < 30; y++) {
+                coordinates[k++] = x;
+                coordinates[k++] = y;
+            }
+        }
+        for (int i = 0; i < 3; i++) {
+            coordinates[k++] = 7;
+            coordinates[k++] = 7;
+        }
+
+        SpanningTree tree = euclideanMST.findMST(coordinates, 2);
+
+        assertEquals(902, tree.size());
+        assertTrue(isSpanning(tree));
+        assertEquals(899.0, tree.getTotalWeight(), 1e-9);
+    }
+
+    @Test
+    void testTrivialInputs() {
+        assertEquals(0, euclideanMST.findMST(new double[0], 2).size());
+        assertEquals(0, euclideanMST.findMST(new double[]{1, 2}, 2).size());
+        assertEquals(5.0, euclideanMST.findMST(new double[][]{{0, 0}, {3, 4}}).getTotalWeight(), 1e-12);
+        assertThrows(IllegalArgumentException.class, () -> euclideanMST.findMST(new double[4], 4));
+    }
+
+    private static double[] randomPoints(Random random, int count, int dimension) {
+        double[] coordinates = new double[count * dimension];
+        for (int i = 0; i < coordinates.length; i++) {
+            coordinates[i] = random.nextDouble() * 1000;
+        }
+        return coordinates;
+    }
+
+    private static boolean isSpanning(SpanningTree tree) {
+        UnionFind uf = new UnionFind(tree.getVertices());
+        for (int i = 0; i < tree.size(); i++) {
+            if (!uf.union(tree.getFrom(i), tree.getTo(i))) return false;
+        }
+        return uf.getComponents() == 1;
+    }
+
+    // Dense O(n^2) Prim over the implicit complete graph
+    private static double bruteForceWeight(double[] coordinates, int dimension) {
+        int n = coordinates.length / dimension;
+        double[] key = new double[n];
+        boolean[] done = new boolean[n];
+        Arrays.fill(key, Double.POSITIVE_INFINITY);
+        key[0] = 0;
+        double total = 0;
+
+        for (int step = 0; step < n; step++) {
+            int u = -1;
+            for (int v = 0; v < n; v++) {
+                if (!done[v] && (u == -1 || key[v] < key[u])) u = v;
+            }
+            done[u] = true;
+            total += key[u];
+
+            for (int v = 0; v < n; v++) {
+                if (done[v]) continue;
+                double sum = 0;
+                for (int d = 0; d < dimension; d++) {
+                    double diff = coordinates[u * dimension + d] - coordinates[v * dimension + d];
+                    sum += diff * diff;
+                }
+                key[v] = Math.min(key[v], Math.sqrt(sum));
+            }
+        }
+        return total;
+    }
+}
@@ -0,0 +1,129 @@
+package algorithms;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class MSTCacheTest {
+
+    @TempDir
+    File tempDir;
+
+    @Test
+    void testXxHash64ReferenceVectors() {
+        assertEquals(0xEF46DB3751D8E999L, xxHash64(""));
+        assertEquals(0x44BC2CF5AD770999L, xxHash64("abc"));
+        assertEquals(0xFBCEA83C8A378BF1L, xxHash64("Nobody inspects the spammish repetition"));
+
+        // Chunk boundaries do not matter
+        byte[] data = "Nobody inspects the spammish repetition".getBytes(StandardCharsets.US_ASCII);
+        XxHash64 chunked = new XxHash64();
+        chunked.update(ByteBuffer.wrap(data, 0, 5));
+        chunked.update(ByteBuffer.wrap(data, 5, 30));
+        chunked.update(ByteBuffer.wrap(data, 35, data.length - 35));
+        assertEquals(0xFBCEA83C8A378BF1L, chunked.digest());
+    }
+
+    @Test
+    void testHashDependsOnContent() {
+        Graph graph = randomGraph(2000, 6000, 1);
+        assertEquals(MSTCache.hash(graph), MSTCache.hash(randomGraph(2000, 6000, 1)));
+        assertNotEquals(MSTCache.hash(graph), MSTCache.hash(randomGraph(2000, 6000, 2)));
+
+        Graph reweighted = new Graph(3);
+        reweighted.addEdge(0, 1, 1);
+        reweighted.addEdge(1, 2, 2);
+        Graph original = new Graph(3);
+        original.addEdge(0, 1, 1);
+        original.addEdge(1, 2, 3);
+        assertNotEquals(MSTCache.hash(original), MSTCache.hash(reweighted));
+    }
+
+    @Test
+    void testComputesOnceAndReadsBackFromDisk() throws Exception {
+        Graph graph = randomGraph(500, 2000, 3);
+        AtomicInteger solves = new AtomicInteger();
+        KruskalsAlgorithm kruskals = new KruskalsAlgorithm();
+
+        MSTCache cache = new MSTCache(tempDir, MSTCache.DEFAULT_MEMORY_EDGES);
+        List<Edge> mst = cache.computeIfAbsent(graph, "Kruskal", g -> {
+            solves.incrementAndGet();
+            return kruskals.findMST(g);
+        });
+        assertSame(mst, cache.computeIfAbsent(randomGraph(500, 2000, 3), "Kruskal", g -> fail("solved twice")));
+        assertNull(cache.get(graph, "Prim"));
+        assertEquals(1, solves.get());
+        assertEquals(1, cache.getMemoryHits());
+
+        // A new cache, as in another tool, finds the entry on disk
+        MSTCache reopened = new MSTCache(tempDir, MSTCache.DEFAULT_MEMORY_EDGES);
+        List<Edge> stored = reopened.get(graph, "Kruskal");
+        assertEquals(mst, stored);
+        assertTrue(graph.isValidMST(stored));
+        assertEquals(1, reopened.getDiskHits());
+        assertThrows(UnsupportedOperationException.class, () -> stored.remove(0));
+    }
+
+    @Test
+    void testEvictsLeastRecentlyUsedByEdgeCount() throws Exception {
+        MSTCache cache = new MSTCache(null, 250);
+        Graph first = randomGraph(100, 300, 4);
+        Graph second = randomGraph(100, 300, 5);
+        Graph third = randomGraph(100, 300, 6);
+        PrimsAlgorithm prims = new PrimsAlgorithm();
+
+        cache.put(first, "Prim", prims.findMST(first));
+        cache.put(second, "Prim", prims.findMST(second));
+        assertNotNull(cache.get(first, "Prim"));
+        cache.put(third, "Prim", prims.findMST(third));
+
+        // 99 edges each: the third entry evicts the second, which was used least recently
+        assertEquals(2, cache.getMemoryEntries());
+        assertNotNull(cache.get(first, "Prim"));
+        assertNull(cache.get(second, "Prim"));
+        assertNotNull(cache.get(third, "Prim"));
+    }
+
+    @Test
+    void testCorruptFileIsAMiss() throws Exception {
+        Graph graph = randomGraph(200, 600, 7);
+        new MSTCache(tempDir, 0).put(graph, "Prim", new PrimsAlgorithm().findMST(graph));
+        File[] files = tempDir.listFiles((dir, name) -> name.endsWith(".mst"));
+        assertEquals(1, files.length);
+
+        try (RandomAccessFile file = new RandomAccessFile(files[0], "rw")) {
+            file.seek(file.length() - 4);
+            file.writeInt(12345);
+        }
+        MSTCache cache = new MSTCache(tempDir, 0);
+        assertNull(cache.get(graph, "Prim"));
+        assertEquals(1, cache.getMisses());
+        assertFalse(files[0].exists());
+    }
+
+    private static long xxHash64(String text) {
+        XxHash64 hasher = new XxHash64();
+        hasher.update(ByteBuffer.wrap(text.getBytes(StandardCharsets.US_ASCII)));
+        return hasher.digest();
+    }
+
+    private static Graph randomGraph(int vertices, int edges, long seed) {
+        Random random = new Random(seed);
+        Graph graph = new Graph(vertices);
+        for (int v = 1; v < vertices; v++) {
+            graph.addEdge(v, random.nextInt(v), random.nextInt(100) + 1);
+        }
+        for (int e = vertices - 1; e < edges; e++) {
+            graph.addEdge(random.nextInt(vertices), random.nextInt(vertices), random.nextInt(100) + 1);
+        }
+        return graph;
+    }
+}
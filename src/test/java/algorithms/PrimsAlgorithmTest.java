@@ -238,5 +238,46 @@ public class PrimsAlgorithmTest {
         assertEquals(3, primsMST.size());
         assertTrue(prims.isValidMST(completeGraph, primsMST));
     }
-}
 
+    // ========== IMPLICIT GRAPHS ==========
+
+    @Test
+    void testImplicitGraphMatchesExplicitCompleteGraph() {
+        int[][] weights = new int[30][30];
+        Random random = new Random(9);
+        Graph completeGraph = new Graph(30);
+        for (int u = 0; u < 30; u++) {
+            for (int v = u + 1; v < 30; v++) {
+                weights[u][v] = weights[v][u] = random.nextInt(100);
+                completeGraph.addEdge(u, v, weights[u][v]);
+            }
+        }
+
+        SpanningTree tree = prims.findMST(ImplicitGraph.of(30, (u, v) -> weights[u][v]));
+
+        assertEquals(29, tree.size());
+        assertEquals(prims.calculateMSTWeight(prims.findMST(completeGraph)), tree.getTotalWeight(), 1e-9);
+    }
+
+    @Test
+    void testImplicitEuclideanGraphMatchesEuclideanMST() {
+        Random random = new Random(21);
+        double[] vectors = new double[300 * 2];
+        for (int i = 0; i < vectors.length; i++) {
+            vectors[i] = random.nextDouble();
+        }
+
+        SpanningTree implicitTree = prims.findMST(ImplicitGraph.euclidean(vectors, 2));
+        SpanningTree kdTree = new EuclideanMST().findMST(vectors, 2);
+
+        assertEquals(kdTree.getTotalWeight(), implicitTree.getTotalWeight(), 1e-9);
+    }
+
+    @Test
+    void testImplicitDisconnectedGraphHandling() {
+        ImplicitGraph twoIslands = ImplicitGraph.of(4, (u, v) -> (u < 2) == (v < 2) ? 1.0 : Double.POSITIVE_INFINITY);
+
+        assertThrows(IllegalArgumentException.class, () -> prims.findMST(twoIslands));
+        assertEquals(0, prims.findMST(ImplicitGraph.of(1, (u, v) -> 0)).size());
+    }
+}
\ No newline at end of file
@@ -0,0 +1,83 @@
+package algorithms;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+import java.util.*;
+
+public class SecondBestMSTTest {
+
+    private final SecondBestMST secondBestMST = new SecondBestMST();
+    private final KruskalsAlgorithm kruskals = new KruskalsAlgorithm();
+
+    @Test
+    void testReplacementCostsMatchNaiveRecomputation() {
+        Random random = new Random(7);
+        Graph graph = new Graph(40);
+        for (int v = 1; v < 40; v++) {
+            graph.addEdge(v, random.nextInt(v), random.nextInt(50));
+        }
+        for (int i = 0; i < 80; i++) {
+            graph.addEdge(random.nextInt(40), random.nextInt(40), random.nextInt(50));
+        }
+
+        SecondBestMST.Result result = secondBestMST.compute(graph);
+        List<Edge> mst = result.getMST();
+        long expectedSecondBest = SecondBestMST.NO_REPLACEMENT;
+
+        for (int t = 0; t < mst.size(); t++) {
+            Graph without = withoutEdge(graph, mst.get(t));
+            if (!without.isConnected()) {
+                assertEquals(SecondBestMST.NO_REPLACEMENT, result.getReplacementCost(t));
+                continue;
+            }
+
+            long weight = kruskals.calculateMSTWeight(kruskals.findMST(without));
+            assertEquals(weight - result.getMSTWeight(), result.getReplacementCost(t));
+            expectedSecondBest = Math.min(expectedSecondBest, weight);
+        }
+
+        assertTrue(result.hasSecondBest());
+        assertEquals(expectedSecondBest, result.getSecondBestWeight());
+        assertEquals(result.getSecondBestWeight(), kruskals.calculateMSTWeight(result.getSecondBest()));
+        assertTrue(kruskals.isValidMST(graph, result.getSecondBest()));
+    }
+
+    @Test
+    void testSmallGraphSecondBest() {
+        Graph graph = new Graph(4);
+        graph.addEdge(0, 1, 10);
+        graph.addEdge(0, 2, 6);
+        graph.addEdge(0, 3, 5);
+        graph.addEdge(1, 3, 15);
+        graph.addEdge(2, 3, 4);
+
+        SecondBestMST.Result result = secondBestMST.compute(graph);
+
+        assertEquals(19, result.getMSTWeight());
+        // Swapping 0-3 (5) for 0-2 (6) is the cheapest alternative
+        assertEquals(20, result.getSecondBestWeight());
+    }
+
+    @Test
+    void testTreeGraphHasNoSecondBest() {
+        Graph graph = new Graph(3);
+        graph.addEdge(0, 1, 2);
+        graph.addEdge(1, 2, 3);
+
+        SecondBestMST.Result result = secondBestMST.compute(graph);
+
+        assertFalse(result.hasSecondBest());
+        assertEquals(SecondBestMST.NO_REPLACEMENT, result.getReplacementCost(0));
+        assertNull(result.getReplacementEdge(1));
+    }
+
+    private static Graph withoutEdge(Graph graph, Edge removed) {
+        Graph copy = new Graph(graph.getVertices());
+        for (Edge edge : graph.getEdges()) {
+            if (edge != removed) {
+                copy.addEdge(edge.getFrom(), edge.getTo(), edge.getWeight());
+            }
+        }
+        return copy;
+    }
+}
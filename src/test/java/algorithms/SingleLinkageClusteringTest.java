@@ -0,0 +1,98 @@
+package algorithms;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.BeforeEach;
+import static org.junit.jupiter.api.Assertions.*;
+import java.util.*;
+
+public class SingleLinkageClusteringTest {
+
+    private Graph threeGroups;
+    private SingleLinkageClustering clustering;
+
+    @BeforeEach
+    void setUp() {
+        clustering = new SingleLinkageClustering();
+
+        // Groups {0,1,2}, {3,4}, {5,6,7} joined by heavy edges
+        threeGroups = new Graph(8);
+        threeGroups.addEdge(0, 1, 1);
+        threeGroups.addEdge(1, 2, 2);
+        threeGroups.addEdge(0, 2, 3);
+        threeGroups.addEdge(3, 4, 1);
+        threeGroups.addEdge(5, 6, 2);
+        threeGroups.addEdge(6, 7, 1);
+        threeGroups.addEdge(2, 3, 20);
+        threeGroups.addEdge(4, 5, 30);
+        threeGroups.addEdge(0, 7, 40);
+    }
+
+    @Test
+    void testClusterIntoK() {
+        SingleLinkageClustering.Result result = clustering.clusterIntoK(threeGroups, 3, false);
+        int[] labels = result.getLabels();
+
+        assertEquals(3, result.getClusterCount());
+        assertArrayEquals(new int[]{0, 0, 0, 1, 1, 2, 2, 2}, labels);
+        assertFalse(result.hasDendrogram());
+    }
+
+    @Test
+    void testClusterByThreshold() {
+        SingleLinkageClustering.Result result = clustering.clusterByThreshold(threeGroups, 20, false);
+
+        assertEquals(2, result.getClusterCount());
+        assertEquals(result.getLabels()[0], result.getLabels()[4]);
+        assertNotEquals(result.getLabels()[0], result.getLabels()[5]);
+    }
+
+    @Test
+    void testDendrogramHeightsMatchMSTWeights() {
+        SingleLinkageClustering.Result result = clustering.dendrogram(threeGroups);
+
+        List<Integer> mstWeights = new ArrayList<>();
+        for (Edge edge : new KruskalsAlgorithm().findMST(threeGroups)) {
+            mstWeights.add(edge.getWeight());
+        }
+        Collections.sort(mstWeights);
+
+        int[] heights = result.getMergeHeight();
+        assertEquals(mstWeights.size(), heights.length);
+        for (int i = 0; i < heights.length; i++) {
+            assertEquals(mstWeights.get(i), heights[i]);
+        }
+
+        // Every node except the final merge has a parent created after it
+        int[] parent = result.getMergeParent();
+        assertEquals(8 + 7, parent.length);
+        for (int node = 0; node < parent.length - 1; node++) {
+            assertTrue(parent[node] > node && parent[node] >= 8);
+        }
+        assertEquals(-1, parent[parent.length - 1]);
+    }
+
+    @Test
+    void testDisconnectedGraphKeepsComponentsApart() {
+        Graph graph = new Graph(4);
+        graph.addEdge(0, 1, 5);
+        graph.addEdge(2, 3, 5);
+
+        SingleLinkageClustering.Result result = clustering.clusterIntoK(graph, 1, true);
+
+        assertEquals(2, result.getClusterCount());
+        assertEquals(2, result.getMergeHeight().length);
+    }
+
+    @Test
+    void testResultArraysAreCopies() {
+        SingleLinkageClustering.Result result = clustering.dendrogram(threeGroups);
+
+        result.getLabels()[0] = 99;
+        result.getMergeParent()[0] = 99;
+        result.getMergeHeight()[0] = 99;
+
+        assertEquals(0, result.getLabels()[0]);
+        assertNotEquals(99, result.getMergeParent()[0]);
+        assertNotEquals(99, result.getMergeHeight()[0]);
+    }
+}
@@ -0,0 +1,79 @@
+package analysis;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CSVSummaryGeneratorTest {
+
+    @TempDir
+    File tempDir;
+
+    @Test
+    void testGroupsAnyAlgorithmsByGraphInAnyOrder() throws Exception {
+        // Three algorithms, interleaved graphs, a repeated run and an old-style result without "timing"
+        String json = "{\"timestamp\": \"now\", \"results\": [" +
+                result(2, "Kruskal", null, 300, 40) + "," +
+                result(1, "Prim", null, 1_000, 10) + "," +
+                result(1, "Kruskal", null, 5_000, 10) + "," +
+                result(1, "Boruvka", "parallel", 2_000, 10) + "," +
+                result(2, "Kruskal", null, 500, 40) + "," +
+                "{\"graphId\": 2, \"algorithm\": \"Prim\", \"vertices\": 4, \"edges\": 5, \"mstWeight\": 40," +
+                " \"executionTimeMs\": 0.002, \"comparisons\": 9000000000, \"unions\": 0, \"isValidMST\": true}" +
+                "], \"totalTests\": 6}";
+        File input = new File(tempDir, "results.json");
+        Files.writeString(input.toPath(), json);
+
+        CSVSummaryGenerator.Summary summary = CSVSummaryGenerator.generate(input, tempDir);
+
+        assertEquals(6, summary.resultCount);
+        assertEquals(List.of("Kruskal", "Prim", "Boruvka/parallel"), new ArrayList<>(summary.algorithms));
+        assertEquals(2, summary.graphs.size());
+
+        CSVSummaryGenerator.AlgorithmSummary repeated = summary.graphs.get(2).algorithms.get("Kruskal");
+        assertEquals(2, repeated.runs);
+        assertEquals(400.0, repeated.meanMedianNs, 1e-9);
+        // Old results fall back to executionTimeMs; comparisons beyond int range survive
+        assertEquals(2_000.0, summary.graphs.get(2).algorithms.get("Prim").meanMedianNs, 1e-9);
+        assertEquals(9_000_000_000L, summary.graphs.get(2).algorithms.get("Prim").comparisons);
+
+        List<String> detailed = Files.readAllLines(new File(tempDir, "detailed_comparison.csv").toPath());
+        assertEquals(7, detailed.size());
+
+        List<String> rows = Files.readAllLines(new File(tempDir, "summary_statistics.csv").toPath());
+        assertEquals(3, rows.size());
+        assertTrue(rows.get(0).contains("Boruvka_parallel_Median_ns"));
+        assertTrue(rows.get(1).startsWith("1,4,5,10,"));
+        assertTrue(rows.get(1).endsWith(",Prim,1000,true"), rows.get(1));
+        // Graph 2 has no Boruvka result: its columns are empty
+        assertTrue(rows.get(2).contains(",,,,,"));
+    }
+
+    @Test
+    void testIntObjectMapGrows() {
+        IntObjectMap<String> map = new IntObjectMap<>(2);
+        for (int key = -500; key < 500; key++) {
+            map.computeIfAbsent(key * 7, String::valueOf);
+        }
+
+        assertEquals(1000, map.size());
+        assertEquals("-3500", map.get(-3500));
+        assertNull(map.get(1));
+        assertEquals(-3500, map.sortedKeys()[0]);
+    }
+
+    private static String result(int graphId, String algorithm, String variant, long medianNs, long mstWeight) {
+        return "{\"graphId\": " + graphId + ", \"algorithm\": \"" + algorithm + "\"" +
+                (variant == null ? "" : ", \"variant\": \"" + variant + "\"") +
+                ", \"vertices\": 4, \"edges\": 5, \"mstWeight\": " + mstWeight +
+                ", \"executionTimeMs\": " + medianNs / 1e6 +
+                ", \"timing\": {\"medianNs\": " + medianNs + ", \"ci95LowNs\": " + medianNs + ", \"ci95HighNs\": " + medianNs +
+                ", \"samplesNs\": [" + medianNs + "]}" +
+                ", \"comparisons\": 10, \"unions\": 3, \"isValidMST\": true, \"mstEdges\": [0, 1, 1, 1, 2, 2]}";
+    }
+}
@@ -0,0 +1,83 @@
+package analysis;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ComplexityFitTest {
+
+    private static final double[] VERTICES = {100, 200, 400, 800, 1600};
+    private static final double[] EDGES = {400, 800, 1600, 3200, 6400};
+
+    @Test
+    void testExactPowerLawIsRecovered() {
+        double[] y = new double[VERTICES.length];
+        for (int i = 0; i < y.length; i++) {
+            y[i] = 3 * Math.pow(EDGES[i], 1.5);
+        }
+
+        ComplexityFit fit = ComplexityFit.fit(ComplexityFit.Predictor.E, VERTICES, EDGES, y);
+
+        assertEquals(1.5, fit.getExponent(), 1e-9);
+        assertEquals(3.0, fit.getCoefficient(), 1e-9);
+        assertEquals(1.0, fit.getRSquared(), 1e-9);
+        assertEquals(1.0, fit.getErrorFactor(), 1e-9);
+        assertEquals(3 * Math.pow(10_000, 1.5), fit.predict(2_500, 10_000), 1e-3);
+        for (double residual : fit.getResiduals()) {
+            assertEquals(0, residual, 1e-9);
+        }
+    }
+
+    @Test
+    void testELogVModelFitsHeapCostWithUnitExponent() {
+        double[] y = new double[VERTICES.length];
+        for (int i = 0; i < y.length; i++) {
+            y[i] = 7 * EDGES[i] * Math.log(VERTICES[i]) / Math.log(2);
+        }
+
+        ComplexityFit eLogV = ComplexityFit.fit(ComplexityFit.Predictor.E_LOG_V, VERTICES, EDGES, y);
+        ComplexityFit e = ComplexityFit.fit(ComplexityFit.Predictor.E, VERTICES, EDGES, y);
+
+        assertEquals(1.0, eLogV.getExponent(), 1e-9);
+        assertTrue(e.getExponent() > 1.0);
+        assertTrue(eLogV.getRSquared() >= e.getRSquared());
+    }
+
+    @Test
+    void testNoisyFitReportsSpread() {
+        double[] y = {1_000, 2_600, 3_600, 8_900, 15_000};
+
+        ComplexityFit fit = ComplexityFit.fit(ComplexityFit.Predictor.V, VERTICES, EDGES, y);
+
+        assertTrue(fit.getRSquared() < 1.0 && fit.getRSquared() > 0.9);
+        assertTrue(fit.getErrorFactor() > 1.0);
+        assertEquals(VERTICES.length, fit.getResiduals().length);
+
+        // t for 3 degrees of freedom and the leverage of far-away sizes widen the interval
+        double s = fit.getResidualStdError();
+        double center = Math.exp(Math.log(VERTICES[0] * VERTICES[4]) / 2);
+        assertEquals(Math.exp(3.182 * s * Math.sqrt(1.2)), fit.getPredictionFactor(center, 0), 1e-9);
+        assertTrue(fit.getPredictionFactor(1_600, 0) > fit.getPredictionFactor(center, 0));
+        assertTrue(fit.getPredictionFactor(1_000_000, 0) > 2 * fit.getPredictionFactor(1_600, 0));
+    }
+
+    @Test
+    void testSizeExceedingBudget() {
+        // y = V, so a budget of 1000 is first exceeded at V = 1001
+        double[] y = VERTICES.clone();
+        ComplexityFit fit = ComplexityFit.fit(ComplexityFit.Predictor.V, VERTICES, EDGES, y);
+
+        assertEquals(1001, fit.sizeExceeding(1000, 4));
+        assertEquals(Long.MAX_VALUE, fit.sizeExceeding(1e15, 4));
+    }
+
+    @Test
+    void testRejectsUnfittableInput() {
+        assertThrows(IllegalArgumentException.class, () -> ComplexityFit.fit(ComplexityFit.Predictor.V,
+                new double[]{1, 2}, new double[]{1, 2}, new double[]{1, 2}));
+        assertThrows(IllegalArgumentException.class, () -> ComplexityFit.fit(ComplexityFit.Predictor.V,
+                new double[]{5, 5, 5}, new double[]{1, 2, 3}, new double[]{1, 2, 3}));
+        assertThrows(IllegalArgumentException.class, () -> ComplexityFit.fit(ComplexityFit.Predictor.V,
+                new double[]{1, 2, 3}, new double[]{1, 2, 3}, new double[]{1, 0, 3}));
+    }
+}
@@ -0,0 +1,90 @@
+package analysis;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class RegressionDetectorTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    void testExactPValueForSeparatedSamples() {
+        // Only 1 of the C(10, 5) = 252 orderings is this extreme in each direction
+        long[] low = {1, 2, 3, 4, 5};
+        long[] high = {6, 7, 8, 9, 10};
+
+        assertEquals(2.0 / 252, RegressionDetector.mannWhitneyPValue(low, high), 1e-12);
+        assertEquals(2.0 / 252, RegressionDetector.mannWhitneyPValue(high, low), 1e-12);
+        assertEquals(1.0, RegressionDetector.mannWhitneyPValue(new long[]{1, 4}, new long[]{2, 3}), 1e-12);
+    }
+
+    @Test
+    void testNormalApproximationWithTies() {
+        long[] same = {5, 5, 5, 5};
+        assertEquals(1.0, RegressionDetector.mannWhitneyPValue(same, same.clone()), 1e-12);
+
+        long[] a = new long[30];
+        long[] b = new long[30];
+        for (int i = 0; i < 30; i++) {
+            a[i] = 100 + i % 10;
+            b[i] = 120 + i % 10;
+        }
+        assertTrue(RegressionDetector.mannWhitneyPValue(a, b) < 1e-6);
+    }
+
+    @Test
+    void testDetectsRegressionAndImprovement() throws Exception {
+        JsonNode baseline = results(
+                run(1, "Prim", 100, 101, 102, 103, 104, 105),
+                run(1, "Kruskal", 200, 201, 202, 203, 204, 205),
+                run(2, "Prim", 300, 301, 302, 303, 304, 305),
+                run(3, "Prim", 400, 401, 402, 403, 404, 405));
+        JsonNode current = results(
+                run(1, "Prim", 150, 151, 152, 153, 154, 155),
+                run(1, "Kruskal", 100, 101, 102, 103, 104, 105),
+                run(2, "Prim", 301, 302, 303, 304, 305, 306),
+                run(4, "Prim", 400, 401, 402, 403, 404, 405));
+
+        List<RegressionDetector.Comparison> comparisons = RegressionDetector.compare(baseline, current, 0.05, 0.05);
+
+        Map<String, RegressionDetector.Verdict> verdicts = new HashMap<>();
+        for (RegressionDetector.Comparison c : comparisons) {
+            verdicts.put(c.key + " " + c.metric, c.verdict);
+        }
+        assertEquals(RegressionDetector.Verdict.REGRESSION, verdicts.get("Graph 1 Prim time"));
+        assertEquals(RegressionDetector.Verdict.IMPROVEMENT, verdicts.get("Graph 1 Kruskal time"));
+        // Shifted by one sample: significant at most, but well within the threshold
+        assertEquals(RegressionDetector.Verdict.UNCHANGED, verdicts.get("Graph 2 Prim time"));
+        assertEquals(RegressionDetector.Verdict.NOT_TESTED, verdicts.get("Graph 3 Prim missing"));
+        assertEquals(RegressionDetector.Verdict.NOT_TESTED, verdicts.get("Graph 4 Prim missing"));
+    }
+
+    @Test
+    void testSingleSampleIsNeverSignificant() throws Exception {
+        JsonNode baseline = objectMapper.readTree("[{\"graphId\": 1, \"algorithm\": \"Prim\", \"executionTimeMs\": 1.0}]");
+        JsonNode current = objectMapper.readTree("[{\"graphId\": 1, \"algorithm\": \"Prim\", \"executionTimeMs\": 9.0}]");
+
+        RegressionDetector.Comparison c = RegressionDetector.compare(baseline, current, 0.05, 0.05).get(0);
+
+        assertEquals(8.0, c.change, 1e-9);
+        assertEquals(RegressionDetector.Verdict.UNCHANGED, c.verdict);
+    }
+
+    private JsonNode results(String... runs) throws Exception {
+        return objectMapper.readTree("[" + String.join(",", runs) + "]");
+    }
+
+    private static String run(int graphId, String algorithm, long... samples) {
+        StringJoiner joiner = new StringJoiner(",");
+        for (long sample : samples) {
+            joiner.add(Long.toString(sample));
+        }
+        return "{\"graphId\": " + graphId + ", \"algorithm\": \"" + algorithm + "\", \"executionTimeMs\": 0.0001," +
+                " \"timing\": {\"samplesNs\": [" + joiner + "]}}";
+    }
+}
@@ -0,0 +1,41 @@
+package cli;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.nio.file.Files;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class MSTBenchmarkRunnerTest {
+
+    private final ObjectMapper mapper = new ObjectMapper();
+
+    @TempDir
+    File tempDir;
+
+    @Test
+    void testFailedRunLeavesReadableResults() throws Exception {
+        // The second graph has an edge without a weight, so building it throws mid-run
+        File input = new File(tempDir, "input.json");
+        Files.writeString(input.toPath(), "{\"graphs\": ["
+                + "{\"id\": 1, \"vertices\": 3, \"edges\": [{\"from\": 0, \"to\": 1, \"weight\": 4},"
+                + " {\"from\": 1, \"to\": 2, \"weight\": 2}, {\"from\": 0, \"to\": 2, \"weight\": 9}]},"
+                + "{\"id\": 2, \"vertices\": 2, \"edges\": [{\"from\": 0, \"to\": 1}]}]}");
+        File output = new File(tempDir, "output.json");
+
+        MSTBenchmarkRunner.main(new String[]{"--input", input.getPath(), "--output", output.getPath(),
+                "--history", "none", "--mst-cache", "none",
+                "--latency-log", new File(tempDir, "latency.hlog").getPath()});
+
+        JsonNode root = mapper.readTree(output);
+        assertEquals(2, root.get("totalTests").asInt());
+        JsonNode results = root.get("results");
+        assertEquals(2, results.size());
+        assertEquals("Prim", results.get(0).get("algorithm").asText());
+        assertEquals(6, results.get(1).get("mstWeight").asInt());
+    }
+}
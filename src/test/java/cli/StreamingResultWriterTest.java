@@ -0,0 +1,66 @@
+package cli;
+
+import algorithms.Edge;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import generators.BinaryGraphReader;
+import generators.GraphSink;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class StreamingResultWriterTest {
+
+    private final ObjectMapper mapper = new ObjectMapper();
+
+    @TempDir
+    File tempDir;
+
+    @Test
+    void testInlineEdgesAsFlatIntArray() throws Exception {
+        File output = new File(tempDir, "results.json");
+        try (StreamingResultWriter writer = new StreamingResultWriter(output, StreamingResultWriter.EdgeFormat.INLINE, mapper)) {
+            writer.writeResult(fields(1, "Prim"), List.of(new Edge(0, 1, 5), new Edge(1, 2, 7)), 3);
+            writer.flush();
+            writer.writeResult(fields(1, "Kruskal"), List.of(new Edge(0, 1, 5), new Edge(1, 2, 7)), 3);
+        }
+
+        JsonNode root = mapper.readTree(output);
+        assertEquals(2, root.get("totalTests").asInt());
+        JsonNode first = root.get("results").get(0);
+        assertEquals("Prim", first.get("algorithm").asText());
+        assertEquals(2, first.get("mstEdgeCount").asInt());
+        assertEquals("[0,1,5,1,2,7]", first.get("mstEdges").toString());
+    }
+
+    @Test
+    void testSidecarHoldsEdgesPerResult() throws Exception {
+        File output = new File(tempDir, "results.json");
+        try (StreamingResultWriter writer = new StreamingResultWriter(output, StreamingResultWriter.EdgeFormat.SIDECAR, mapper)) {
+            writer.writeResult(fields(1, "Prim"), List.of(new Edge(0, 1, 5)), 2);
+            writer.writeResult(fields(2, "Prim"), List.of(new Edge(0, 2, 1), new Edge(2, 1, 3)), 3);
+        }
+
+        JsonNode second = mapper.readTree(output).get("results").get(1);
+        assertFalse(second.has("mstEdges"));
+        assertEquals("results.mst.bin", second.get("mstEdgesSidecar").get("file").asText());
+        assertEquals(2, second.get("mstEdgesSidecar").get("graph").asInt());
+
+        GraphSink sink = new GraphSink();
+        assertEquals(2, BinaryGraphReader.read(StreamingResultWriter.sidecarFile(output), sink));
+        // GraphSink keeps the last graph read
+        assertEquals(2, sink.getGraph().getEdgesCount());
+        assertEquals(3, sink.getGraph().getVertices());
+    }
+
+    private static Map<String, Object> fields(int graphId, String algorithm) {
+        Map<String, Object> fields = new LinkedHashMap<>();
+        fields.put("graphId", graphId);
+        fields.put("algorithm", algorithm);
+        return fields;
+    }
+}
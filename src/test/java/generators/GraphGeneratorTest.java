@@ -0,0 +1,99 @@
+package generators;
+
+import algorithms.Graph;
+import algorithms.KruskalsAlgorithm;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import static org.junit.jupiter.api.Assertions.*;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Path;
+
+public class GraphGeneratorTest {
+
+    private final GraphGenerator generator = new GraphGenerator(42);
+
+    @Test
+    void testSameSeedGivesSameGraph() throws IOException {
+        GraphSink first = new GraphSink();
+        GraphSink second = new GraphSink();
+        generator.randomWithEdges(1, 200, 800, first);
+        new GraphGenerator(42).randomWithEdges(1, 200, 800, second);
+
+        assertEquals(first.getGraph().getEdges(), second.getGraph().getEdges());
+    }
+
+    @Test
+    void testRandomFamiliesAreConnected() throws IOException {
+        GraphSink sink = new GraphSink();
+
+        generator.randomWithEdges(1, 500, 1500, sink);
+        assertTrue(sink.getGraph().isConnected());
+
+        generator.rmat(2, 9, 2000, sink);
+        assertTrue(sink.getGraph().isConnected());
+
+        generator.geometric(3, 400, 0.08, sink);
+        assertTrue(sink.getGraph().isConnected());
+    }
+
+    @Test
+    void testGridAndCompleteEdgeCounts() throws IOException {
+        GraphSink sink = new GraphSink();
+
+        assertEquals(2 * 10 * 9, generator.grid(1, 10, 10, sink));
+        assertEquals(100, sink.getGraph().getVertices());
+
+        assertEquals(45, generator.complete(2, 10, sink));
+        assertEquals(45, sink.getGraph().getEdgesCount());
+    }
+
+    @Test
+    void testErdosRenyiTinyProbability() throws IOException {
+        GraphGenerator noBackbone = new GraphGenerator(7, WeightDistribution.UNIFORM, 100, false);
+        GraphSink sink = new GraphSink();
+
+        // log(1 - 1e-18) rounds to 0; the skip must end the graph instead of overflowing
+        long edges = noBackbone.erdosRenyi(1, 100_000, 1e-18, sink);
+
+        assertEquals(edges, sink.getGraph().getEdgesCount());
+        for (var edge : sink.getGraph().getEdges()) {
+            assertTrue(edge.getFrom() >= 0 && edge.getTo() < 100_000 && edge.getFrom() < edge.getTo());
+        }
+        assertTrue(edges <= 1);
+    }
+
+    @Test
+    void testErdosRenyiNearExpectedDensity() throws IOException {
+        GraphGenerator noBackbone = new GraphGenerator(7, WeightDistribution.UNIFORM, 100, false);
+        GraphSink sink = new GraphSink();
+
+        long edges = noBackbone.erdosRenyi(1, 2000, 0.01, sink);
+        double expected = 0.01 * 2000 * 1999 / 2;
+
+        assertEquals(expected, edges, expected * 0.05);
+        for (var edge : sink.getGraph().getEdges()) {
+            assertNotEquals(edge.getFrom(), edge.getTo());
+        }
+    }
+
+    @Test
+    void testBinaryRoundTrip(@TempDir Path tempDir) throws IOException {
+        File file = tempDir.resolve("graphs.bin").toFile();
+        GraphSink original = new GraphSink();
+
+        try (BinaryGraphWriter writer = new BinaryGraphWriter(file)) {
+            generator.rmat(1, 8, 1000, writer);
+            generator.grid(2, 5, 7, writer);
+        }
+        generator.grid(2, 5, 7, original);
+
+        GraphSink reread = new GraphSink();
+        assertEquals(2, BinaryGraphReader.read(file, reread));
+
+        Graph graph = reread.getGraph();
+        assertEquals(35, graph.getVertices());
+        assertEquals(original.getGraph().getEdges(), graph.getEdges());
+        assertFalse(new KruskalsAlgorithm().findMST(graph).isEmpty());
+    }
+}
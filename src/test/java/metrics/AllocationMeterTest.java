@@ -0,0 +1,32 @@
+package metrics;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+public class AllocationMeterTest {
+
+    private static volatile Object sink;
+
+    @Test
+    void testMeasuresAllocatedBytes() {
+        assumeTrue(AllocationMeter.isAllocationSupported());
+        AllocationMeter meter = new AllocationMeter();
+
+        for (int run = 0; run < 3; run++) {
+            meter.start();
+            sink = new long[1 << 17]; // 1 MiB
+            meter.stop();
+        }
+
+        assertEquals(3, meter.getRuns());
+        assertTrue(meter.getMedianAllocatedBytes() >= 8 << 17);
+        assertTrue(meter.getTotalAllocatedBytes() >= 3L * (8 << 17));
+        assertTrue(meter.getGcCount() >= 0);
+    }
+
+    @Test
+    void testStopWithoutStart() {
+        assertThrows(IllegalStateException.class, () -> new AllocationMeter().stop());
+    }
+}
@@ -0,0 +1,136 @@
+package metrics;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class BenchmarkHistoryTest {
+
+    @TempDir
+    File tempDir;
+
+    @Test
+    void testAppendAndQueryAcrossReopen() throws Exception {
+        File log = new File(tempDir, "history.bin");
+        try (BenchmarkHistory history = new BenchmarkHistory(log)) {
+            history.append(run(3_000, "abc123", "-Xmx1g", 1, "Prim", 500));
+            history.append(run(1_000, "abc123", "-Xmx1g", 1, "Kruskal", 700));
+            history.append(run(2_000, "def456", "-XX:+UseZGC", 2, "Prim", 900));
+            history.append(run(4_000, "def456", "-XX:+UseZGC", 1, "Prim", 450));
+        }
+
+        try (BenchmarkHistory history = new BenchmarkHistory(log)) {
+            assertEquals(4, history.size());
+            assertEquals(List.of("Prim", "Kruskal"), history.getAlgorithms());
+            assertEquals(new TreeSet<>(List.of(1, 2)), history.getGraphIds());
+
+            List<BenchmarkHistory.Run> prim = history.query("Prim", 1);
+            assertEquals(2, prim.size());
+            assertEquals(3_000, prim.get(0).timestampMs);
+            assertEquals(500.0, prim.get(0).medianNs);
+            assertEquals(4_000, prim.get(1).timestampMs);
+            assertEquals("def456", prim.get(1).revision);
+            assertEquals("-XX:+UseZGC", prim.get(1).jvmFlags);
+            assertEquals(45, prim.get(1).comparisons);
+
+            assertEquals(3, history.query("Prim", -1).size());
+            assertEquals(4, history.query(null, -1).size());
+            assertEquals(2, history.query(null, -1, 2_000, 3_000).size());
+            assertTrue(history.query("Boruvka", -1).isEmpty());
+
+            // Appending after reopening keeps the interned strings consistent
+            history.append(run(5_000, "abc123", "-Xmx1g", 2, "Kruskal", 800));
+            assertEquals("abc123", history.query("Kruskal", 2).get(0).revision);
+        }
+    }
+
+    @Test
+    void testIndexIsRebuiltFromLog() throws Exception {
+        File log = new File(tempDir, "history.bin");
+        try (BenchmarkHistory history = new BenchmarkHistory(log)) {
+            history.append(run(1_000, "abc123", "", 1, "Prim", 500));
+            history.append(run(2_000, "abc123", "", 1, "Kruskal", 600));
+        }
+        Files.delete(BenchmarkHistory.indexFile(log).toPath());
+
+        try (BenchmarkHistory history = new BenchmarkHistory(log)) {
+            assertEquals(2, history.size());
+            assertEquals(600.0, history.query("Kruskal", 1).get(0).medianNs);
+        }
+    }
+
+    @Test
+    void testTornAppendIsDropped() throws Exception {
+        File log = new File(tempDir, "history.bin");
+        try (BenchmarkHistory history = new BenchmarkHistory(log)) {
+            history.append(run(1_000, "abc123", "", 1, "Prim", 500));
+            history.append(run(2_000, "abc123", "", 1, "Prim", 600));
+        }
+        long intact;
+        try (RandomAccessFile file = new RandomAccessFile(log, "rw")) {
+            intact = file.length();
+            // Half of the last run record made it to disk
+            file.setLength(intact - BenchmarkHistory.RUN_BYTES / 2);
+        }
+
+        try (BenchmarkHistory history = new BenchmarkHistory(log)) {
+            assertEquals(1, history.size());
+            history.append(run(3_000, "abc123", "", 1, "Prim", 700));
+            assertEquals(List.of(500.0, 700.0),
+                    history.query("Prim", 1).stream().map(run -> run.medianNs).toList());
+        }
+        assertEquals(intact, log.length());
+    }
+
+    @Test
+    void testReaderLeavesUnfinishedAppendAlone() throws Exception {
+        File log = new File(tempDir, "history.bin");
+        File index = BenchmarkHistory.indexFile(log);
+        try (BenchmarkHistory history = new BenchmarkHistory(log)) {
+            history.append(run(1_000, "abc123", "", 1, "Prim", 500));
+            history.append(run(2_000, "abc123", "", 1, "Prim", 600));
+        }
+        try (RandomAccessFile file = new RandomAccessFile(log, "rw")) {
+            // The writer is halfway through the last run record; the index still covers the full log
+            file.setLength(file.length() - BenchmarkHistory.RUN_BYTES / 2);
+        }
+        byte[] logBytes = Files.readAllBytes(log.toPath());
+        byte[] indexBytes = Files.readAllBytes(index.toPath());
+
+        try (BenchmarkHistory history = new BenchmarkHistory(log, true)) {
+            assertEquals(1, history.size());
+            assertEquals(500.0, history.query("Prim", 1).get(0).medianNs);
+            assertThrows(IllegalStateException.class, () -> history.append(run(3_000, "abc123", "", 1, "Prim", 700)));
+        }
+        assertArrayEquals(logBytes, Files.readAllBytes(log.toPath()));
+        assertArrayEquals(indexBytes, Files.readAllBytes(index.toPath()));
+
+        File missing = new File(tempDir, "typo.bin");
+        assertThrows(FileNotFoundException.class, () -> new BenchmarkHistory(missing, true));
+        assertFalse(missing.exists());
+        assertFalse(BenchmarkHistory.indexFile(missing).exists());
+    }
+
+    @Test
+    void testRejectsForeignFile() throws Exception {
+        File log = new File(tempDir, "history.bin");
+        Files.writeString(log.toPath(), "not a history file");
+
+        assertThrows(IOException.class, () -> new BenchmarkHistory(log));
+    }
+
+    private static BenchmarkHistory.Run run(long timestampMs, String revision, String flags, int graphId,
+                                            String algorithm, double medianNs) {
+        return new BenchmarkHistory.Run(timestampMs, revision, "Test VM 17", flags, graphId, algorithm, 10, 20, 99,
+                5, medianNs, medianNs + 10, medianNs * 2, medianNs - 5, medianNs + 5, (long) medianNs / 10,
+                9, 4096, 0, 0);
+    }
+}
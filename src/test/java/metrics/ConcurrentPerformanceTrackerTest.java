@@ -0,0 +1,74 @@
+package metrics;
+
+import algorithms.Graph;
+import algorithms.KruskalsAlgorithm;
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+import java.util.concurrent.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ConcurrentPerformanceTrackerTest {
+
+    @Test
+    void testNoLostUpdates() throws Exception {
+        ConcurrentPerformanceTracker tracker = new ConcurrentPerformanceTracker();
+        int threads = 8;
+        int perThread = 100_000;
+
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            int threadIndex = t;
+            futures.add(executor.submit(() -> {
+                start.await();
+                for (int i = 0; i < perThread; i++) {
+                    tracker.onComparison();
+                    tracker.onArrayAccess(2);
+                    tracker.onHeapPush(threadIndex * perThread + i);
+                    tracker.onFind(i % 5);
+                }
+                return null;
+            }));
+        }
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        executor.shutdown();
+
+        PerformanceTracker snapshot = tracker.snapshot();
+        long total = (long) threads * perThread;
+        assertEquals(total, snapshot.getComparisons());
+        assertEquals(2 * total, snapshot.getArrayAccesses());
+        assertEquals(total, snapshot.getHeapPushes());
+        assertEquals(total - 1, snapshot.getPeakHeapSize());
+        assertEquals(total, snapshot.getFinds());
+        assertEquals(4, snapshot.getMaxFindPathLength());
+    }
+
+    @Test
+    void testMatchesSingleThreadedTracker() {
+        Graph graph = new Graph(4);
+        graph.addEdge(0, 1, 1);
+        graph.addEdge(1, 2, 2);
+        graph.addEdge(2, 3, 3);
+        graph.addEdge(0, 3, 4);
+        graph.addEdge(0, 2, 5);
+
+        PerformanceTracker plain = new PerformanceTracker();
+        ConcurrentPerformanceTracker concurrent = new ConcurrentPerformanceTracker();
+        KruskalsAlgorithm kruskals = new KruskalsAlgorithm();
+        kruskals.findMST(graph, plain);
+        kruskals.findMST(graph, concurrent);
+
+        assertEquals(plain.getCounters(), concurrent.getCounters());
+        assertEquals(plain.toCsv(), concurrent.toCsv());
+        assertEquals(plain.toString(), concurrent.toString());
+
+        concurrent.reset();
+        assertEquals(new PerformanceTracker().toCsv(), concurrent.toCsv());
+    }
+}
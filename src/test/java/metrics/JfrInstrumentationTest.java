@@ -0,0 +1,57 @@
+package metrics;
+
+import algorithms.Edge;
+import algorithms.Graph;
+import algorithms.KruskalsAlgorithm;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class JfrInstrumentationTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void testEmitsSolveSortAndValidationEvents() throws Exception {
+        Graph graph = new Graph(4);
+        graph.addEdge(0, 1, 1);
+        graph.addEdge(1, 2, 2);
+        graph.addEdge(2, 3, 3);
+        graph.addEdge(0, 3, 4);
+        KruskalsAlgorithm kruskals = new KruskalsAlgorithm();
+        JfrInstrumentation jfr = new JfrInstrumentation(7, 4, 4, "Kruskal");
+
+        Path file = tempDir.resolve("mst.jfr");
+        try (Recording recording = new Recording()) {
+            recording.enable("mst.Solve").withThreshold(Duration.ZERO);
+            recording.enable("mst.Sort").withThreshold(Duration.ZERO);
+            recording.enable("mst.Validation").withThreshold(Duration.ZERO);
+            recording.start();
+
+            List<Edge> mst = jfr.solve(instrumentation -> kruskals.findMST(graph, instrumentation));
+            assertEquals(3, mst.size());
+            assertTrue(jfr.validate(() -> kruskals.isValidMST(graph, mst)));
+
+            recording.stop();
+            recording.dump(file);
+        }
+
+        Map<String, RecordedEvent> events = new HashMap<>();
+        for (RecordedEvent event : RecordingFile.readAllEvents(file)) {
+            events.put(event.getEventType().getName(), event);
+        }
+        assertTrue(events.keySet().containsAll(List.of("mst.Solve", "mst.Sort", "mst.Validation")));
+        assertEquals(7, events.get("mst.Solve").getInt("graphId"));
+        assertEquals("Kruskal", events.get("mst.Sort").getString("algorithm"));
+        assertTrue(events.get("mst.Validation").getBoolean("valid"));
+    }
+}
@@ -0,0 +1,57 @@
+package metrics;
+
+import org.HdrHistogram.Histogram;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class LatencyRecorderTest {
+
+    @TempDir
+    File tempDir;
+
+    @Test
+    void testSizeClasses() {
+        assertEquals("<10", LatencyRecorder.sizeClass(0));
+        assertEquals("<10", LatencyRecorder.sizeClass(9));
+        assertEquals("<100", LatencyRecorder.sizeClass(10));
+        assertEquals("<1k", LatencyRecorder.sizeClass(999));
+        assertEquals("<1M", LatencyRecorder.sizeClass(100_000));
+        assertEquals("Prim/<10k", LatencyRecorder.key("Prim", 5000));
+    }
+
+    @Test
+    void testPercentilesInMicroseconds() {
+        LatencyRecorder recorder = new LatencyRecorder();
+        for (int i = 1; i <= 1000; i++) {
+            recorder.recordNanos("Kruskal", 50, i * 1000L);
+        }
+
+        Histogram histogram = recorder.getHistogram("Kruskal", 50);
+        assertEquals(1000, histogram.getTotalCount());
+        assertEquals(500, histogram.getValueAtPercentile(50));
+        assertEquals(990, histogram.getValueAtPercentile(99));
+        assertEquals(999, histogram.getValueAtPercentile(99.9));
+        assertNull(recorder.getHistogram("Prim", 50));
+    }
+
+    @Test
+    void testLogRoundTrip() throws Exception {
+        LatencyRecorder recorder = new LatencyRecorder();
+        assertEquals("done", recorder.record("Prim", 20, () -> "done"));
+        recorder.recordNanos("Prim", 2000, 1_500_000);
+        recorder.recordNanos("Kruskal", 2000, 2_500_000);
+
+        File log = new File(tempDir, "latency.hlog");
+        recorder.writeLog(log);
+        Map<String, Histogram> read = LatencyRecorder.readLog(log);
+
+        assertEquals(Set.of("Prim/<100", "Prim/<10k", "Kruskal/<10k"), read.keySet());
+        assertEquals(1, read.get("Prim/<10k").getTotalCount());
+        assertEquals(2500, read.get("Kruskal/<10k").getMaxValue(), 2.5);
+    }
+}
@@ -0,0 +1,72 @@
+package metrics;
+
+import algorithms.Graph;
+import algorithms.KruskalsAlgorithm;
+import algorithms.PrimsAlgorithm;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PerformanceTrackerTest {
+
+    private Graph graph;
+
+    @BeforeEach
+    void setUp() {
+        // 5 vertices, 7 edges
+        graph = new Graph(5);
+        graph.addEdge(0, 1, 2);
+        graph.addEdge(0, 3, 6);
+        graph.addEdge(1, 2, 3);
+        graph.addEdge(1, 3, 8);
+        graph.addEdge(1, 4, 5);
+        graph.addEdge(2, 4, 7);
+        graph.addEdge(3, 4, 9);
+    }
+
+    @Test
+    void testKruskalCounters() {
+        PerformanceTracker tracker = new PerformanceTracker();
+        new KruskalsAlgorithm().findMSTWithTracking(graph, tracker);
+
+        assertEquals(4, tracker.getUnions());
+        assertEquals(2 * tracker.getEdgesScanned(), tracker.getFinds());
+        assertTrue(tracker.getEdgesScanned() >= 4 && tracker.getEdgesScanned() <= 7);
+        assertTrue(tracker.getSortComparisons() >= 6);
+        assertEquals(tracker.getSortComparisons(), tracker.getComparisons());
+        assertEquals(0, tracker.getHeapPushes());
+    }
+
+    @Test
+    void testPrimCounters() {
+        PerformanceTracker tracker = new PerformanceTracker();
+        new PrimsAlgorithm().findMSTWithTracking(graph, tracker);
+
+        // Every pop either adds a tree edge or is a stale entry
+        assertEquals(4, tracker.getHeapPops() - tracker.getStaleEntries());
+        assertTrue(tracker.getHeapPushes() >= tracker.getHeapPops());
+        assertTrue(tracker.getPeakHeapSize() >= 1 && tracker.getPeakHeapSize() <= tracker.getHeapPushes());
+        // Each undirected edge is seen once from each endpoint at most
+        assertTrue(tracker.getEdgesScanned() <= 14);
+        assertTrue(tracker.getComparisons() > 0);
+        assertEquals(0, tracker.getSortComparisons());
+        assertEquals(0, tracker.getUnions());
+    }
+
+    @Test
+    void testResetAndCsv() {
+        PerformanceTracker tracker = new PerformanceTracker();
+        tracker.onFind(3);
+        tracker.onFind(1);
+        tracker.onHeapPush(7);
+        tracker.onHeapPush(2);
+
+        assertEquals(2.0, tracker.getAverageFindPathLength(), 1e-9);
+        assertEquals(3, tracker.getMaxFindPathLength());
+        assertEquals(7, tracker.getPeakHeapSize());
+        assertEquals(PerformanceTracker.csvHeader().split(",").length, tracker.toCsv().split(",").length);
+
+        tracker.reset();
+        assertTrue(tracker.getCounters().values().stream().allMatch(value -> value == 0));
+    }
+}
@@ -0,0 +1,43 @@
+package metrics;
+
+import algorithms.Graph;
+import algorithms.KruskalsAlgorithm;
+import algorithms.PrimsAlgorithm;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PhaseTimerTest {
+
+    @Test
+    void testSolversReportTheirPhases() {
+        Graph graph = new Graph(4);
+        graph.addEdge(0, 1, 1);
+        graph.addEdge(1, 2, 2);
+        graph.addEdge(2, 3, 3);
+        graph.addEdge(0, 3, 4);
+
+        PhaseTimer timer = new PhaseTimer();
+        new PrimsAlgorithm().findMST(graph, timer);
+        new KruskalsAlgorithm().findMST(graph, timer);
+
+        assertEquals(2, timer.getSampleCount(Phase.CONNECTIVITY));
+        assertEquals(2, timer.getSampleCount(Phase.PREPARATION));
+        assertEquals(2, timer.getSampleCount(Phase.MAIN_LOOP));
+        // Reported by the caller, not the solvers
+        assertEquals(0, timer.getSampleCount(Phase.GRAPH_CONSTRUCTION));
+        assertEquals(0, timer.getSampleCount(Phase.VALIDATION));
+    }
+
+    @Test
+    void testMedianOfRecordedSamples() {
+        PhaseTimer timer = new PhaseTimer();
+        timer.record(Phase.VALIDATION, 30);
+        timer.record(Phase.VALIDATION, 10);
+        timer.record(Phase.VALIDATION, 20);
+
+        assertEquals(20, timer.getMedianNanos(Phase.VALIDATION));
+        assertEquals(0, timer.getMedianNanos(Phase.MAIN_LOOP));
+        assertEquals(20L, timer.getMedians().get("validationNs"));
+        assertEquals(Phase.values().length, timer.getMedians().size());
+    }
+}
@@ -0,0 +1,46 @@
+package metrics;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TimingStatisticsTest {
+
+    @Test
+    void testBasicStatistics() {
+        TimingStatistics stats = new TimingStatistics(new long[]{5, 1, 4, 2, 3});
+
+        assertEquals(5, stats.getCount());
+        assertEquals(1, stats.getMin());
+        assertEquals(5, stats.getMax());
+        assertEquals(3.0, stats.getMedian(), 1e-9);
+        assertEquals(3.0, stats.getMean(), 1e-9);
+        assertEquals(Math.sqrt(2.5), stats.getStddev(), 1e-9);
+        assertEquals(4.6, stats.getP90(), 1e-9);
+        // t(4) = 2.776
+        assertEquals(2.776 * Math.sqrt(2.5) / Math.sqrt(5), stats.getConfidenceHalfWidth(), 1e-9);
+        assertEquals(0, stats.getOutlierCount());
+    }
+
+    @Test
+    void testOutlierFlags() {
+        TimingStatistics stats = new TimingStatistics(new long[]{100, 101, 99, 100, 102, 98, 100, 5000});
+
+        assertEquals(1, stats.getOutlierCount());
+        assertTrue(stats.isOutlier(7));
+        assertFalse(stats.isOutlier(0));
+    }
+
+    @Test
+    void testSingleSampleAndOverlap() {
+        TimingStatistics single = new TimingStatistics(new long[]{42});
+        assertEquals(42.0, single.getP99(), 1e-9);
+        assertEquals(0.0, single.getConfidenceHalfWidth(), 1e-9);
+
+        TimingStatistics fast = new TimingStatistics(new long[]{10, 11, 10, 11, 10});
+        TimingStatistics slow = new TimingStatistics(new long[]{50, 51, 50, 51, 50});
+        assertFalse(fast.overlaps(slow));
+        assertTrue(fast.overlaps(fast));
+
+        assertThrows(IllegalArgumentException.class, () -> new TimingStatistics(new long[0]));
+    }
+}
@@ -0,0 +1,123 @@
+package visualization;
+
+import algorithms.Edge;
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ForceDirectedLayoutTest {
+
+    @Test
+    void testBarnesHutWithZeroThetaIsExact() {
+        double[][] points = randomPoints(300, 1);
+        ForceDirectedLayout layout = new ForceDirectedLayout(300, List.of(), 0, 42);
+        layout.setPositions(points[0], points[1]);
+
+        for (int v = 0; v < 300; v += 37) {
+            double[] approximate = repulsion(layout, v);
+            double[] exact = exactRepulsion(points, v);
+            assertEquals(exact[0], approximate[0], 1e-9 * Math.max(1, Math.abs(exact[0])));
+            assertEquals(exact[1], approximate[1], 1e-9 * Math.max(1, Math.abs(exact[1])));
+        }
+    }
+
+    @Test
+    void testBarnesHutApproximationIsClose() {
+        double[][] points = randomPoints(3000, 2);
+        ForceDirectedLayout layout = new ForceDirectedLayout(3000, List.of(), 0.7, 42);
+        layout.setPositions(points[0], points[1]);
+
+        double error = 0;
+        double magnitude = 0;
+        for (int v = 0; v < 3000; v += 11) {
+            double[] approximate = repulsion(layout, v);
+            double[] exact = exactRepulsion(points, v);
+            error += Math.hypot(approximate[0] - exact[0], approximate[1] - exact[1]);
+            magnitude += Math.hypot(exact[0], exact[1]);
+        }
+        assertTrue(error / magnitude < 0.05, "relative error " + error / magnitude);
+    }
+
+    @Test
+    void testTreeLayoutKeepsNeighboursClose() {
+        int vertices = 500;
+        Random random = new Random(3);
+        List<Edge> tree = new ArrayList<>();
+        for (int v = 1; v < vertices; v++) {
+            tree.add(new Edge(v, random.nextInt(v), 1));
+        }
+
+        float[][] positions = new ForceDirectedLayout(vertices, tree).compute(50);
+        float[][] again = new ForceDirectedLayout(vertices, tree).compute(50);
+
+        assertArrayEquals(positions[0], again[0]);
+        assertArrayEquals(positions[1], again[1]);
+        for (int v = 0; v < vertices; v++) {
+            assertTrue(positions[0][v] >= 0 && positions[0][v] <= 1 && positions[1][v] >= 0 && positions[1][v] <= 1);
+        }
+
+        double edgeLength = 0;
+        for (Edge edge : tree) {
+            edgeLength += distance(positions, edge.getFrom(), edge.getTo());
+        }
+        double pairDistance = 0;
+        for (int i = 0; i < tree.size(); i++) {
+            pairDistance += distance(positions, random.nextInt(vertices), random.nextInt(vertices));
+        }
+        assertTrue(edgeLength * 5 < pairDistance, "tree edges " + edgeLength + ", random pairs " + pairDistance);
+    }
+
+    @Test
+    void testCoincidentVerticesStayFinite() {
+        List<Edge> star = new ArrayList<>();
+        for (int v = 1; v < 50; v++) {
+            star.add(new Edge(0, v, 1));
+        }
+        ForceDirectedLayout layout = new ForceDirectedLayout(50, star, 0.7, 42);
+        layout.setPositions(new double[50], new double[50]);
+
+        double[] force = repulsion(layout, 7);
+        assertTrue(Double.isFinite(force[0]) && Double.isFinite(force[1]));
+
+        float[][] positions = layout.compute(20);
+        for (int v = 0; v < 50; v++) {
+            assertTrue(Float.isFinite(positions[0][v]) && Float.isFinite(positions[1][v]));
+        }
+    }
+
+    private static double[] repulsion(ForceDirectedLayout layout, int v) {
+        double[] force = new double[2];
+        layout.repulsion(v, force, new int[512]);
+        return force;
+    }
+
+    // Same force law as the layout: k² / d with k = 1, softened by 0.01
+    private static double[] exactRepulsion(double[][] points, int v) {
+        double[] force = new double[2];
+        for (int u = 0; u < points[0].length; u++) {
+            if (u == v) continue;
+            double dx = points[0][v] - points[0][u];
+            double dy = points[1][v] - points[1][u];
+            double strength = 1 / (dx * dx + dy * dy + 0.01);
+            force[0] += dx * strength;
+            force[1] += dy * strength;
+        }
+        return force;
+    }
+
+    private static double[][] randomPoints(int count, long seed) {
+        Random random = new Random(seed);
+        double[][] points = new double[2][count];
+        for (int i = 0; i < count; i++) {
+            points[0][i] = random.nextDouble() * 50;
+            points[1][i] = random.nextDouble() * 50;
+        }
+        return points;
+    }
+
+    private static double distance(float[][] positions, int a, int b) {
+        return Math.hypot(positions[0][a] - positions[0][b], positions[1][a] - positions[1][b]);
+    }
+}
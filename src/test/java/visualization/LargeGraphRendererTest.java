@@ -0,0 +1,94 @@
+package visualization;
+
+import algorithms.Edge;
+import algorithms.Graph;
+import algorithms.PrimsAlgorithm;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class LargeGraphRendererTest {
+
+    @TempDir
+    File tempDir;
+
+    @Test
+    void testLineIsClippedToTileAndContinuesAcrossTiles() {
+        int[] left = new int[10 * 10];
+        int[] right = new int[10 * 10];
+        // One horizontal line from canvas x=2 to x=17 on row 5, split over two 10-pixel tiles
+        new LargeGraphRenderer.Tile(left, 10, 10, 10, 0, 0).line(2, 5, 17, 5, 1, 0xFFFFFF, 1);
+        new LargeGraphRenderer.Tile(right, 10, 10, 10, 10, 0).line(2, 5, 17, 5, 1, 0xFFFFFF, 1);
+
+        for (int x = 0; x < 10; x++) {
+            assertEquals(x >= 2 ? 0xFFFFFF : 0, left[5 * 10 + x], "left x=" + x);
+            assertEquals(x <= 7 ? 0xFFFFFF : 0, right[5 * 10 + x], "right x=" + x);
+        }
+        assertEquals(0, left[4 * 10 + 5]);
+        assertEquals(0, right[6 * 10 + 5]);
+    }
+
+    @Test
+    void testAlphaBlending() {
+        int[] pixels = new int[1];
+        LargeGraphRenderer.Tile tile = new LargeGraphRenderer.Tile(pixels, 1, 1, 1, 0, 0);
+        tile.plot(0, 0, 0xC86432, 0.5);
+        assertEquals(0x643219, pixels[0]);
+        tile.plot(5, 5, 0xFFFFFF, 1);
+        assertEquals(0x643219, pixels[0]);
+    }
+
+    @Test
+    void testDetailDropsLabelsAndOtherEdgesAsDensityGrows() throws Exception {
+        Graph small = randomGraph(20, 40, 1);
+        Graph large = randomGraph(20_000, 80_000, 2);
+
+        LargeGraphRenderer.Result sparse = new LargeGraphRenderer(1200, 1200, 2048)
+                .render(small, new PrimsAlgorithm().findMST(small), LargeGraphRenderer.circularLayout(20), 1, tempDir);
+        LargeGraphRenderer.Result dense = new LargeGraphRenderer(1200, 1200, 2048)
+                .render(large, new PrimsAlgorithm().findMST(large), LargeGraphRenderer.circularLayout(20_000), 2, tempDir);
+
+        assertTrue(sparse.detail.labels);
+        assertTrue(sparse.detail.nonMstEdges);
+        assertFalse(dense.detail.labels);
+        assertFalse(dense.detail.nonMstEdges);
+        assertEquals(1, dense.detail.mstThickness);
+        assertEquals(List.of(new File(tempDir, "graph_1_mst_network.png")), sparse.files);
+    }
+
+    @Test
+    void testCanvasIsSplitIntoTiles() throws Exception {
+        Graph graph = randomGraph(200, 400, 3);
+        List<Edge> mst = new PrimsAlgorithm().findMST(graph);
+
+        LargeGraphRenderer.Result result = new LargeGraphRenderer(300, 200, 128)
+                .render(graph, mst, LargeGraphRenderer.circularLayout(200), 7, tempDir);
+
+        assertEquals(6, result.files.size());
+        BufferedImage corner = ImageIO.read(new File(tempDir, "graph_7_mst_tile_1_2.png"));
+        assertEquals(300 - 256, corner.getWidth());
+        assertEquals(200 - 128, corner.getHeight());
+    }
+
+    private static Graph randomGraph(int vertices, int extraEdges, long seed) {
+        Random random = new Random(seed);
+        Graph graph = new Graph(vertices);
+        for (int v = 1; v < vertices; v++) {
+            graph.addEdge(v, random.nextInt(v), 1 + random.nextInt(100));
+        }
+        for (int i = 0; i < extraEdges; i++) {
+            int from = random.nextInt(vertices);
+            int to = random.nextInt(vertices);
+            if (from != to) {
+                graph.addEdge(from, to, 1 + random.nextInt(100));
+            }
+        }
+        return graph;
+    }
+}